@@ -8,7 +8,9 @@ import com.github.thiagotgm.separate_but_unequal.resource.Choice;
 
 /**
  * Manages the displaying of a list of choices (and what the currently selected one
- * is) to a TextArea.
+ * is) to a TextArea.<br>
+ * The options are only written to the TextArea once. Changing the selection just rewrites the markers in front of
+ * the previously and newly selected options.
  *
  * @version 1.0
  * @author ThiagoTGM
@@ -16,10 +18,12 @@ import com.github.thiagotgm.separate_but_unequal.resource.Choice;
  */
 public class ChoiceDisplayer {
     
-    private static final char SELECTOR = '>';
+    private static final String SELECTED = " > ";
+    private static final String UNSELECTED = "   ";
     
     private final JTextArea optionDisplay;
     private List<Choice> options;
+    private int[] offsets; // Where the marker of each option starts.
     private int current;
 
     /**
@@ -42,7 +46,21 @@ public class ChoiceDisplayer {
     public void showOptions( List<Choice> options ) {
         
         this.options = options;
-        setSelected( 0 );
+        this.offsets = new int[options.size()];
+        this.current = 0;
+        StringBuilder builder = new StringBuilder();
+        for ( int i = 0; i < options.size(); i++ ) {
+            
+            if ( i != 0 ) { // If not first option, add a line of padding on top.
+                builder.append( '\n' );
+            }
+            offsets[i] = builder.length();
+            builder.append( ( i == current ) ? SELECTED : UNSELECTED ); // Current option has a selector
+            builder.append( options.get( i ) );                         // indicating it.
+            builder.append( '\n' );
+            
+        }
+        optionDisplay.setText( builder.toString() );
         
     }
     
@@ -53,19 +71,26 @@ public class ChoiceDisplayer {
      */
     public void setSelected( int selected ) {
         
-        this.current = selected;
-        StringBuilder builder = new StringBuilder();
-        for ( int i = 0; i < options.size(); i++ ) {
-            
-            if ( i != 0 ) { // If not first option, add a line of padding on top.
-                builder.append( '\n' );
-            }
-            builder.append( ( i == selected ) ? " " + SELECTOR + " " : "   " ); // Current option has a selector
-            builder.append( options.get( i ) );                                 // indicating it.
-            builder.append( '\n' );
-            
+        if ( ( offsets == null ) || ( selected == current ) ) {
+            return; // Nothing displayed or nothing to change.
         }
-        optionDisplay.setText( builder.toString() );
+        mark( current, UNSELECTED );
+        mark( selected, SELECTED );
+        this.current = selected;
+        
+    }
+    
+    /**
+     * Replaces the marker in front of an option. Both markers have the same length, so the offsets of the options
+     * do not change.
+     *
+     * @param option Index of the option.
+     * @param marker The new marker.
+     */
+    private void mark( int option, String marker ) {
+        
+        int offset = offsets[option];
+        optionDisplay.replaceRange( marker, offset, offset + marker.length() );
         
     }
     
@@ -74,6 +99,7 @@ public class ChoiceDisplayer {
      */
     public void clear() {
         
+        offsets = null;
         optionDisplay.setText( null );
         
     }
@@ -1,6 +1,6 @@
 package com.github.thiagotgm.separate_but_unequal;
 
-import java.util.Map;
+import java.util.Arrays;
 
 import com.github.thiagotgm.separate_but_unequal.resource.EndScene;
 import com.github.thiagotgm.separate_but_unequal.resource.ResourceManager;
@@ -8,6 +8,9 @@ import com.github.thiagotgm.separate_but_unequal.resource.Story;
 
 /**
  * Class that keeps track of the player's progress throughout the game.<br>
+ * The endings reached in each story are kept in a bitset, one bit per end code, that grows as higher end codes are
+ * reached.<br>
+ * Can be used from multiple threads.<br>
  * Follows the Singleton pattern.
  *
  * @version 1.0
@@ -16,7 +19,9 @@ import com.github.thiagotgm.separate_but_unequal.resource.Story;
  */
 public class CompletionManager {
     
-    private Map<Character, Long> endings;
+    private static final long[] EMPTY = new long[0];
+    
+    private final long[][] endings; // Indexed by story code.
 
     private static CompletionManager instance;
     
@@ -25,7 +30,13 @@ public class CompletionManager {
      */
     private CompletionManager() {
         
-        endings = ResourceManager.getInstance().getEndingTrackers();
+        endings = new long[Story.MAX_CODE - Story.MIN_CODE + 1][];
+        ResourceManager manager = ResourceManager.getInstance();
+        for ( int i = 0; i < endings.length; i++ ) {
+            
+            endings[i] = manager.getEndingTracker( (char) ( Story.MIN_CODE + i ) );
+            
+        }
         
     }
     
@@ -34,7 +45,7 @@ public class CompletionManager {
      * 
      * @return An instance of this class.
      */
-    public static CompletionManager getInstance() {
+    public static synchronized CompletionManager getInstance() {
         
         if ( instance == null ) {
             instance = new CompletionManager();
@@ -44,16 +55,13 @@ public class CompletionManager {
     }
     
     /**
-     * Determines if a certain ending in a certain story was already reached by the player.<br>
-     * The story code must be in the range {@value Story#MIN_CODE} to {@value Story#MAX_CODE} (inclusive), and the end
-     * code must be in the range {@value EndScene#MIN_CODE} to {@value EndScene#MAX_CODE} (inclusive).
+     * Checks that the given story and end codes are within the acceptable ranges.
      * 
-     * @param storyCode The code of the story to be checked.
-     * @param endCode The code of the ending in that story to be checked.
-     * @return true if the player reached that ending before, false otherwise.
+     * @param storyCode The story code.
+     * @param endCode The end code.
      * @throws IllegalArgumentException If the story or end code are out of the acceptable range.
      */
-    public boolean isReached( char storyCode, int endCode ) throws IllegalArgumentException {
+    private static void checkCodes( char storyCode, int endCode ) throws IllegalArgumentException {
         
         if ( ( storyCode < Story.MIN_CODE ) || ( storyCode > Story.MAX_CODE ) ) {
             throw new IllegalArgumentException( Story.CODE_OOB );
@@ -62,9 +70,26 @@ public class CompletionManager {
             throw new IllegalArgumentException( EndScene.CODE_OOB_ERROR );
         }
         
-        long tracker = endings.get( storyCode );
-        long mask = 0x1 << ( endCode - EndScene.MIN_CODE );
-        return ( tracker & mask ) != 0;
+    }
+    
+    /**
+     * Determines if a certain ending in a certain story was already reached by the player.<br>
+     * The story code must be in the range {@value Story#MIN_CODE} to {@value Story#MAX_CODE} (inclusive), and the end
+     * code must be in the range {@value EndScene#MIN_CODE} to {@value EndScene#MAX_CODE} (inclusive).
+     * 
+     * @param storyCode The code of the story to be checked.
+     * @param endCode The code of the ending in that story to be checked.
+     * @return true if the player reached that ending before, false otherwise.
+     * @throws IllegalArgumentException If the story or end code are out of the acceptable range.
+     */
+    public synchronized boolean isReached( char storyCode, int endCode ) throws IllegalArgumentException {
+        
+        checkCodes( storyCode, endCode );
+        
+        long[] tracker = endings[storyCode - Story.MIN_CODE];
+        int bit = endCode - EndScene.MIN_CODE;
+        int word = bit / Long.SIZE;
+        return ( word < tracker.length ) && ( ( tracker[word] & ( 1L << bit ) ) != 0 );
         
     }
     
@@ -77,19 +102,19 @@ public class CompletionManager {
      * @param endCode The code of the ending in that story to be set.
      * @throws IllegalArgumentException If the story or end code are out of the acceptable range.
      */
-    public void setReached( char storyCode, int endCode ) throws IllegalArgumentException {
+    public synchronized void setReached( char storyCode, int endCode ) throws IllegalArgumentException {
         
-        if ( ( storyCode < Story.MIN_CODE ) || ( storyCode > Story.MAX_CODE ) ) {
-            throw new IllegalArgumentException( Story.CODE_OOB );
-        }
-        if ( ( endCode < EndScene.MIN_CODE ) || ( endCode > EndScene.MAX_CODE ) ) {
-            throw new IllegalArgumentException( EndScene.CODE_OOB_ERROR );
-        }
+        checkCodes( storyCode, endCode );
         
-        long tracker = endings.get( storyCode );
-        long mask = 0x1 << ( endCode - EndScene.MIN_CODE );
-        tracker |= mask;
-        endings.put( storyCode, tracker );
+        int story = storyCode - Story.MIN_CODE;
+        long[] tracker = endings[story];
+        int bit = endCode - EndScene.MIN_CODE;
+        int word = bit / Long.SIZE;
+        if ( word >= tracker.length ) { // Grows to fit the new ending.
+            tracker = Arrays.copyOf( tracker, word + 1 );
+            endings[story] = tracker;
+        }
+        tracker[word] |= 1L << bit; // Shift distance is taken modulo 64.
         ResourceManager.getInstance().saveEndingTracker( storyCode, tracker );
         
     }
@@ -97,27 +122,40 @@ public class CompletionManager {
     /**
      * Resets all trackers to be empty, reseting all progress.
      */
-    public void clearProgress() {
+    public synchronized void clearProgress() {
         
         ResourceManager manager = ResourceManager.getInstance();
-        for ( char key : endings.keySet() ) { // Reset each tracker.
+        for ( int i = 0; i < endings.length; i++ ) { // Reset each tracker.
             
-            endings.put( key, 0x0L );
-            manager.removeEndingTracker( key ); // Delete save of the tracker.
+            endings[i] = EMPTY;
+            manager.removeEndingTracker( (char) ( Story.MIN_CODE + i ) ); // Delete save of the tracker.
             
         }
         
     }
     
     /**
-     * Retrieves whether the player has reached any of the endings of a given storyline.
+     * Retrieves whether the player has reached any of the endings of a given storyline.<br>
+     * The story code must be in the range {@value Story#MIN_CODE} to {@value Story#MAX_CODE} (inclusive).
      * 
      * @param storyCode Code of the storyline to be checked.
      * @return true if any of the endings of that storyline were reached, false otherwise.
+     * @throws IllegalArgumentException If the story code is out of the acceptable range.
      */
-    public boolean isPlayed( char storyCode ) {
+    public synchronized boolean isPlayed( char storyCode ) throws IllegalArgumentException {
         
-        return endings.get( storyCode ) != 0;
+        if ( ( storyCode < Story.MIN_CODE ) || ( storyCode > Story.MAX_CODE ) ) {
+            throw new IllegalArgumentException( Story.CODE_OOB );
+        }
+        
+        for ( long word : endings[storyCode - Story.MIN_CODE] ) {
+            
+            if ( word != 0 ) {
+                return true;
+            }
+            
+        }
+        return false;
         
     }
 
@@ -0,0 +1,311 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.thiagotgm.separate_but_unequal.resource.Achievement;
+import com.github.thiagotgm.separate_but_unequal.resource.Choice;
+import com.github.thiagotgm.separate_but_unequal.resource.ChoiceScene;
+import com.github.thiagotgm.separate_but_unequal.resource.EndScene;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceManager;
+import com.github.thiagotgm.separate_but_unequal.resource.SaveSlot;
+import com.github.thiagotgm.separate_but_unequal.resource.Scene;
+
+/**
+ * Plays a story without any user interface: keeps track of the current Scene and the path taken to it, follows the
+ * options chosen, and records the endings reached.<br>
+ * The game window drives an engine, and stories can also be played through it directly (such as in tests).
+ * Can be used from multiple threads.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+public class GameEngine {
+
+    private static final Logger log = LoggerFactory.getLogger( GameEngine.class );
+
+    private final Function<String, Resource> resources;
+    private final Function<Choice, Scene> targets;
+    private final boolean recordEndings;
+
+    private final List<String> path; // IDs of the scenes shown in this story so far.
+    private Scene current;
+    private char storyCode;
+    private int endCode;
+    private boolean newEnding;
+    private Achievement achievement;
+
+    /**
+     * Creates an engine that plays the stories in the resource library, and records the endings reached.
+     */
+    public GameEngine() {
+
+        this( ResourceManager.getInstance()::getResource, ResourceManager.getInstance()::getTarget, true );
+
+    }
+
+    /**
+     * Creates an engine that plays the stories in the given resources.
+     *
+     * @param resources Function that obtains the Resource with a given ID (or null if there is none).
+     * @param targets Function that obtains the Scene a choice leads to (or null if it is not valid).
+     * @param recordEndings Whether endings reached are recorded as completed (and the achievements for them looked
+     *                      up). If false, the player's progress is not touched.
+     */
+    public GameEngine( Function<String, Resource> resources, Function<Choice, Scene> targets,
+            boolean recordEndings ) {
+
+        this.resources = resources;
+        this.targets = targets;
+        this.recordEndings = recordEndings;
+        this.path = new ArrayList<>();
+
+    }
+
+    /**
+     * Starts a story on the given Scene.
+     *
+     * @param sceneID The Resource ID of the first scene to be shown.
+     * @param storyCode Code of the story being started.
+     * @return The first Scene.
+     * @throws IllegalArgumentException if the given Resource ID is not valid or does not correspond to a Scene.
+     */
+    public Scene start( String sceneID, char storyCode ) throws IllegalArgumentException {
+
+        return start( sceneID, storyCode, Collections.emptyList() );
+
+    }
+
+    /**
+     * Starts a story on the given Scene, after the given Scenes were already shown.
+     *
+     * @param sceneID The Resource ID of the first scene to be shown.
+     * @param storyCode Code of the story being started.
+     * @param previous The IDs of the scenes that were shown before the first scene.
+     * @return The first Scene.
+     * @throws IllegalArgumentException if the given Resource ID is not valid or does not correspond to a Scene.
+     */
+    public synchronized Scene start( String sceneID, char storyCode, List<String> previous )
+            throws IllegalArgumentException {
+
+        Resource res = resources.apply( sceneID );
+        if ( res == null ) {
+            throw new IllegalArgumentException( "Given starting ID does not correspond to an existing ResourceID." );
+        }
+        if ( !( res instanceof Scene ) ) {
+            throw new IllegalArgumentException( "Given starting ID does not correspond to a Scene Resource." );
+        }
+        this.storyCode = storyCode;
+        path.clear();
+        path.addAll( previous );
+        enter( (Scene) res );
+        log.debug( "Started story '" + storyCode + "' on Scene '" + sceneID + "'." );
+        return current;
+
+    }
+
+    /**
+     * Continues a saved game.
+     *
+     * @param save The saved game.
+     * @return The saved Scene.
+     * @throws IllegalArgumentException if the saved Scene ID is not valid or does not correspond to a Scene.
+     */
+    public Scene load( SaveSlot save ) throws IllegalArgumentException {
+
+        List<String> previous = save.getPath();
+        if ( !previous.isEmpty() && previous.get( previous.size() - 1 ).equals( save.getSceneID() ) ) {
+            previous = previous.subList( 0, previous.size() - 1 ); // The saved scene is added when entered.
+        }
+        return start( save.getSceneID(), save.getStoryCode(), previous );
+
+    }
+
+    /**
+     * Records the current state of the game, so that it can be continued later.
+     *
+     * @return The saved game.
+     * @throws IllegalStateException if no story was started.
+     */
+    public synchronized SaveSlot save() throws IllegalStateException {
+
+        checkStarted();
+        return new SaveSlot( storyCode, current.getID(), System.currentTimeMillis(), new ArrayList<>( path ) );
+
+    }
+
+    /**
+     * Follows one of the options of the current Scene.
+     *
+     * @param option The index of the option.
+     * @return The Scene the option leads to, which is now the current Scene.
+     * @throws IllegalStateException if no story was started, or the current Scene has no options.
+     * @throws IndexOutOfBoundsException if there is no option with the given index.
+     * @throws IllegalArgumentException if the target of the option is not a valid Scene.
+     */
+    public synchronized Scene choose( int option )
+            throws IllegalStateException, IndexOutOfBoundsException, IllegalArgumentException {
+
+        checkStarted();
+        if ( !( current instanceof ChoiceScene ) ) {
+            throw new IllegalStateException( "The current Scene has no options." );
+        }
+        Choice choice = ( (ChoiceScene) current ).getOptions().get( option );
+        Scene target = targets.apply( choice );
+        if ( target == null ) {
+            throw new IllegalArgumentException( "Invalid target: " + choice.getTarget() );
+        }
+        enter( target );
+        return target;
+
+    }
+
+    /**
+     * Makes the given Scene the current one, and records the ending if it is an ending.
+     *
+     * @param scene The Scene.
+     */
+    private void enter( Scene scene ) {
+
+        current = scene;
+        path.add( scene.getID() );
+        newEnding = false;
+        achievement = null;
+        if ( !( scene instanceof EndScene ) ) {
+            endCode = 0;
+            return;
+        }
+        endCode = ( (EndScene) scene ).getCode(); // Ending reached.
+        if ( recordEndings && !CompletionManager.getInstance().isReached( storyCode, endCode ) ) {
+            log.debug( "Previously unreached ending " + storyCode + "-" + endCode + " reached." );
+            newEnding = true;
+            achievement = ResourceManager.getInstance().getAchievement( storyCode, endCode );
+            CompletionManager.getInstance().setReached( storyCode, endCode ); // Records ending reached.
+        }
+
+    }
+
+    /**
+     * Ensures that a story was started.
+     *
+     * @throws IllegalStateException if no story was started.
+     */
+    private void checkStarted() throws IllegalStateException {
+
+        if ( current == null ) {
+            throw new IllegalStateException( "No story was started." );
+        }
+
+    }
+
+    /**
+     * Retrieves the Scene the game is currently on.
+     *
+     * @return The current Scene, or null if no story was started.
+     */
+    public synchronized Scene getScene() {
+
+        return current;
+
+    }
+
+    /**
+     * Retrieves the options of the current Scene.
+     *
+     * @return The options, or an empty list if the current Scene has none (or no story was started).
+     */
+    public synchronized List<Choice> getOptions() {
+
+        return ( current instanceof ChoiceScene ) ? ( (ChoiceScene) current ).getOptions()
+                : Collections.emptyList();
+
+    }
+
+    /**
+     * Retrieves the Scene that one of the options of the current Scene leads to, without following it.
+     *
+     * @param option The index of the option.
+     * @return The target Scene, or null if the target of the option is not a valid Scene.
+     * @throws IndexOutOfBoundsException if there is no option with the given index.
+     */
+    public synchronized Scene getTarget( int option ) throws IndexOutOfBoundsException {
+
+        return targets.apply( getOptions().get( option ) );
+
+    }
+
+    /**
+     * Retrieves the code of the story being played.
+     *
+     * @return The story code.
+     */
+    public synchronized char getStoryCode() {
+
+        return storyCode;
+
+    }
+
+    /**
+     * Retrieves the IDs of the Scenes shown in this story so far, including the current one.
+     *
+     * @return The path taken. The list is a copy.
+     */
+    public synchronized List<String> getPath() {
+
+        return new ArrayList<>( path );
+
+    }
+
+    /**
+     * Identifies whether the current Scene is an ending.
+     *
+     * @return true if an ending was reached, false otherwise.
+     */
+    public synchronized boolean isEnded() {
+
+        return endCode != 0;
+
+    }
+
+    /**
+     * Retrieves the code of the ending reached.
+     *
+     * @return The end code, or 0 if the current Scene is not an ending.
+     */
+    public synchronized int getEndCode() {
+
+        return endCode;
+
+    }
+
+    /**
+     * Identifies whether the ending reached had never been reached before.<br>
+     * Always false if endings are not recorded.
+     *
+     * @return true if the ending was reached for the first time, false otherwise.
+     */
+    public synchronized boolean isNewEnding() {
+
+        return newEnding;
+
+    }
+
+    /**
+     * Retrieves the achievement unlocked by reaching the current ending for the first time.
+     *
+     * @return The achievement, or null if none was unlocked.
+     */
+    public synchronized Achievement getAchievement() {
+
+        return achievement;
+
+    }
+
+}
@@ -2,12 +2,18 @@ package com.github.thiagotgm.separate_but_unequal;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.io.InputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,14 +22,16 @@ import com.github.thiagotgm.separate_but_unequal.gui.GamePanel;
 import com.github.thiagotgm.separate_but_unequal.resource.Achievement;
 import com.github.thiagotgm.separate_but_unequal.resource.Choice;
 import com.github.thiagotgm.separate_but_unequal.resource.ResourceManager;
+import com.github.thiagotgm.separate_but_unequal.resource.SaveSlot;
+import com.github.thiagotgm.separate_but_unequal.resource.SaveStore;
 import com.github.thiagotgm.separate_but_unequal.resource.Scene;
 import com.github.thiagotgm.separate_but_unequal.resource.ChoiceScene;
-import com.github.thiagotgm.separate_but_unequal.resource.EndScene;
-import com.github.thiagotgm.separate_but_unequal.resource.Resource;
 import com.github.thiagotgm.separate_but_unequal.resource.Resource.ResourceType;
 
 /**
- * Manages the game flow during normal gameplay.
+ * Manages the game flow during normal gameplay.<br>
+ * The story itself is played by a {@link GameEngine}; this manager displays it on the game panel, and loads the
+ * scenes ahead of time.
  *
  * @version 1.0
  * @author Thiago
@@ -36,21 +44,25 @@ public class GameManager implements ActionListener, Runnable {
     /** Thread name to be used for objects of this type. */
     public static final String THREAD_NAME = "Game Manager";
     
+    private static final int PREFETCH_THREADS = 2;
+    
     private final MenuManager menuManager;
     private final GamePanel panel;
     private final SceneDisplayer sceneDisplayer;
     private final ChoiceDisplayer choiceDisplayer;
+    private final SceneCache cache;
+    private final ScenePrefetcher prefetcher;
+    private final int prefetchDepth;
+    
+    private final ExecutorService sceneScheduler;
     
-    private List<Choice> currentOptions;
-    private Loader buffer;
-    private Thread textThread;
-    private Thread bufferThread;
+    private final GameEngine engine;
     
-    private int endCode;
-    private char storyCode;
+    private volatile List<Choice> currentOptions;
+    private volatile int generation; // Changes whenever the scene on display is stopped.
     
-    private LoadedScene nextScene;
-    private Thread managerThread;
+    private volatile LoadedScene nextScene;
+    private volatile Future<?> managerTask;
 
     /**
      * Starts a new Manager that displays the game on the given panel.
@@ -64,6 +76,16 @@ public class GameManager implements ActionListener, Runnable {
         this.panel = panel;
         sceneDisplayer = new SceneDisplayer( panel.getSceneArea() );
         choiceDisplayer = new ChoiceDisplayer( panel.getOptionsArea() );
+        cache = new SceneCache( ResourceManager.getInstance().getSceneCacheSize() * 1024L );
+        sceneScheduler = Executors.newSingleThreadExecutor( new NamedThreadFactory( THREAD_NAME ) );
+        prefetcher = new ScenePrefetcher( PREFETCH_THREADS, ResourceManager.getInstance()::getTarget,
+                this::loadScene );
+        prefetchDepth = ResourceManager.getInstance().getPrefetchDepth();
+        engine = new GameEngine();
+        ResourceManager.getInstance().addReloadListener( ids -> { // Changed Scenes are loaded again.
+            cache.remove( ids );
+            prefetcher.forget( ids );
+        } );
         panel.addActionListener( this );
         
     }
@@ -82,7 +104,7 @@ public class GameManager implements ActionListener, Runnable {
         switch ( command ) {
             
             case GamePanel.SKIP_COMMAND: // Skip text displaying process (just print full text).
-                textThread.interrupt();
+                sceneDisplayer.stop();
                 sceneDisplayer.skip();
                 break;
                 
@@ -102,30 +124,25 @@ public class GameManager implements ActionListener, Runnable {
                 
             case GamePanel.SELECT_COMMAND: // Select current choice.
                 current = choiceDisplayer.getSelected();
-                try {
-                    bufferThread.join();
-                } catch ( InterruptedException e1 ) {
-                    log.warn( "Buffer thread was interrupted." );
-                }
-                LoadedScene next = buffer.getLoadedScenes().get( current );
-                if ( next != null ) {
-                    nextScene = next;
-                    runNext();
+                Scene target = engine.getTarget( current );
+                if ( target != null ) {
+                    runNext( current, prefetcher.get( target ) ); // Does not wait for the load here.
                 } else {
-                    JOptionPane.showMessageDialog( panel, "The target specified by this option is invalid.",
-                            "Target Error", JOptionPane.ERROR_MESSAGE );
+                    showTargetError();
                 }
                 break;
                 
             case GamePanel.MENU_COMMAND: // Back to main menu.
                 stop();
+                prefetcher.cancelAll();
                 clear();
-                menuManager.gameEnd( endCode );
+                menuManager.gameEnd( engine.getEndCode() );
                 break;
                 
             case GamePanel.SAVE_COMMAND: // Save game.
-                save();
-                panel.setLoadButtonEnabled( true );
+                if ( save() ) {
+                    panel.setLoadButtonEnabled( true );
+                }
                 break;
                 
             case GamePanel.LOAD_COMMAND: // Load game.
@@ -155,129 +172,267 @@ public class GameManager implements ActionListener, Runnable {
      */
     public void start( String startSceneID, char storyCode ) throws IllegalArgumentException {
         
-        Resource res = ResourceManager.getInstance().getResource( startSceneID );
-        if ( res == null ) {
-            throw new IllegalArgumentException( "Given starting ID does not correspond to an existing ResourceID." );
-        }
-        if ( !( res instanceof Scene ) ) {
-            throw new IllegalArgumentException( "Given starting ID does not correspond to a Scene Resource." );
-        }
-        Scene target = (Scene) res;
-        nextScene = new Loader().load( target );
-        endCode = 0;
-        this.storyCode = storyCode;
-        runNext();
+        show( engine.start( startSceneID, storyCode ) );
         log.debug( "Started game with Scene ID '" + startSceneID + "', code '" + storyCode + "'." );
         
     }
     
     /**
-     * Runs the next scene on a separate thread.<br>
-     * Cleans up any old threads beforehand.
+     * Shows the given Scene, that the engine was just moved to.
+     * 
+     * @param scene The Scene.
+     */
+    private void show( Scene scene ) {
+        
+        nextScene = loadScene( scene );
+        runNext();
+        
+    }
+    
+    /**
+     * Runs the next scene on the scene scheduler.<br>
+     * Cancels anything still running for the previous scene beforehand.
      */
     public void runNext() {
         
         stop();
         clear();
-        managerThread = new Thread( this, THREAD_NAME );
-        managerThread.start();
+        int shown = generation;
+        managerTask = sceneScheduler.submit( () -> run( shown ) );
+        
+    }
+    
+    /**
+     * Follows an option once the scene it leads to finishes loading, and runs that scene on the scene scheduler.<br>
+     * The current scene stays on display (with the options disabled) until then. If the load fails, the options are
+     * enabled again and an error is shown.
+     * 
+     * @param option The index of the option chosen.
+     * @param load The load of the scene the option leads to.
+     */
+    private void runNext( int option, Future<LoadedScene> load ) {
+        
+        stop();
+        panel.setOptionButtonsEnabled( false );
+        int shown = generation;
+        managerTask = sceneScheduler.submit( () -> {
+            
+            LoadedScene next;
+            try {
+                next = load.get();
+            } catch ( InterruptedException e ) {
+                return; // This task was cancelled.
+            } catch ( ExecutionException | CancellationException e ) {
+                log.error( "Failed to load the next scene.", e );
+                display( shown, () -> {
+                    
+                    panel.setOptionButtonsEnabled( true );
+                    showTargetError();
+                    
+                } );
+                return;
+            }
+            engine.choose( option );
+            nextScene = next;
+            display( shown, this::clear );
+            run( shown );
+            
+        } );
+        
+    }
+    
+    /**
+     * Shows an error message indicating that the selected option could not be followed.
+     */
+    private void showTargetError() {
+        
+        JOptionPane.showMessageDialog( panel, "The target specified by this option is invalid.", "Target Error",
+                JOptionPane.ERROR_MESSAGE );
         
     }
     
     /**
      * Runs the next scene.<br>
      * Includes displaying the text+graphic, buffering the next scenes, and starting the user choice process.<br>
-     * Don't run this manually, call {@link #runNext()} instead as it performs cleanup for old threads that might be
-     * still running.
+     * Don't run this manually, call {@link #runNext()} instead as it cancels the tasks of the previous scene that might
+     * be still running.
      */
     @Override
     public void run() {
 
+        run( generation );
+
+    }
+
+    /**
+     * Runs the next scene, as scheduled by {@link #runNext()}.
+     * 
+     * @param shown The generation of the scene. Once it is stopped, the display is no longer updated for it.
+     */
+    private void run( int shown ) {
+
         LoadedScene scene = nextScene;
         log.debug( "Running Scene '" + scene.getScene().getID() + "'." );
+        log.debug( "Scene cache: " + cache + "." );
         /* Display scene */
-        panel.setOptionButtonsEnabled( false );
-        panel.setSkipButtonEnabled( true );
-        choiceDisplayer.clear();
-        sceneDisplayer.showScene( scene.getText() );
-        textThread = new Thread( sceneDisplayer, SceneDisplayer.THREAD_NAME );
-        textThread.start();
+        CompletableFuture<Future<?>> typing = new CompletableFuture<>();
+        display( shown, () -> {
+            
+            panel.setOptionButtonsEnabled( false );
+            panel.setSkipButtonEnabled( true );
+            choiceDisplayer.clear();
+            sceneDisplayer.showScene( scene.getText() );
+            typing.complete( sceneDisplayer.start() ); // Started here, so stopping the scene always stops it.
+            
+        } );
         if ( scene.getScene().getType() == ResourceType.CHOICE_SCENE ) {
             currentOptions = ( (ChoiceScene) scene.getScene() ).getOptions();
-            bufferNextScenes();
+            bufferNextScenes( scene.getScene() );
         }
         try {
-            textThread.join();
+            typing.get().get(); // Never started if the scene was stopped first, but then this task is cancelled.
         } catch ( InterruptedException e ) {
-            return; // This thread was instructed to stop.
+            return; // This task was cancelled.
+        } catch ( CancellationException e ) {
+            // Text display was skipped.
+        } catch ( ExecutionException e ) {
+            log.error( "Failed to display scene text.", e.getCause() );
         }
         
         /* Scene displayed. */
-        panel.setSkipButtonEnabled( false );
         if ( scene.getScene().getType() == ResourceType.CHOICE_SCENE ) {
-            panel.setOptionButtonsEnabled( true );
-            choiceDisplayer.showOptions( currentOptions ); // Get next player choice.
+            List<Choice> options = currentOptions;
+            display( shown, () -> {
+                
+                panel.setSkipButtonEnabled( false );
+                panel.setOptionButtonsEnabled( true );
+                choiceDisplayer.showOptions( options ); // Get next player choice.
+                
+            } );
         } else {
-            endCode = ( (EndScene) scene.getScene() ).getCode(); // Ending reached.
-            String endText = "You reached ending " + storyCode + "-" + endCode + "!\n";
-            if ( !CompletionManager.getInstance().isReached( storyCode, endCode ) ) { // Reached ending for the first
-                log.debug( "Previously unreached ending " + storyCode + "-" + endCode + " reached." ); // time.
-                Achievement achievement = ResourceManager.getInstance().getAchievement( storyCode, endCode );
-                if ( achievement != null ) { // Reaching this ending has an achievement.
-                    log.debug( "Found achievement ResID '" + achievement.getID() + "'." );
-                    endText += "You unlocked the achievement '" + achievement.getTitle() + "'!\n";
-                } else { // Reaching this ending has no achievement.
-                    log.debug( "No achievement found." );
-                }
-                CompletionManager.getInstance().setReached( storyCode, endCode ); // Records ending reached.
+            String endText = "You reached ending " + engine.getStoryCode() + "-" + engine.getEndCode() + "!\n";
+            Achievement achievement = engine.getAchievement();
+            if ( achievement != null ) { // Reached an ending with an achievement for the first time.
+                log.debug( "Found achievement ResID '" + achievement.getID() + "'." );
+                endText += "You unlocked the achievement '" + achievement.getTitle() + "'!\n";
             }
-            endText += "Press the 'Menu' button to go back to the menu.";
-            panel.getOptionsArea().setText( endText );
+            String message = endText + "Press the 'Menu' button to go back to the menu.";
+            display( shown, () -> {
+                
+                panel.setSkipButtonEnabled( false );
+                panel.getOptionsArea().setText( message );
+                
+            } );
         }
         
-        /* End of thread */
-        managerThread = null;
+    }
+    
+    /**
+     * Updates the display on the event dispatch thread, unless the scene it is for was stopped by then.
+     * 
+     * @param shown The generation of the scene the update is for.
+     * @param update The display update.
+     */
+    private void display( int shown, Runnable update ) {
+        
+        SwingUtilities.invokeLater( () -> {
+            
+            if ( shown == generation ) {
+                update.run();
+            }
+            
+        } );
         
     }
     
     /**
-     * Stops all currently running threads.
+     * Cancels all currently running tasks. Must be called on the event dispatch thread.
      */
     private void stop() {
         
-        if ( managerThread != null ) {
-            managerThread.interrupt();
+        generation++; // Updates still queued for the old scene are dropped.
+        if ( managerTask != null ) {
+            managerTask.cancel( true );
         }
-        if ( textThread != null ) {
-            textThread.interrupt();
+        sceneDisplayer.stop();
+        
+    }
+    
+    /**
+     * Asks the player to choose a save slot.
+     * 
+     * @param title The title of the dialog.
+     * @param used Whether only slots that have a saved game can be chosen.
+     * @return The chosen slot, or -1 if none was chosen.
+     */
+    private int chooseSlot( String title, boolean used ) {
+        
+        SaveStore saves = ResourceManager.getInstance().getSaves();
+        List<String> options = new ArrayList<>( SaveStore.SLOTS );
+        List<Integer> slots = new ArrayList<>( SaveStore.SLOTS );
+        for ( int i = 0; i < SaveStore.SLOTS; i++ ) { // Lists the slots that can be chosen.
+            
+            SaveSlot save = saves.get( i );
+            if ( ( save != null ) || !used ) {
+                options.add( "Slot " + ( i + 1 ) + " - " + ( ( save != null ) ? save : "Empty" ) );
+                slots.add( i );
+            }
+            
         }
-        if ( bufferThread != null ) {
-            bufferThread.interrupt();
+        if ( options.isEmpty() ) {
+            JOptionPane.showMessageDialog( panel, "There are no saved games.", title,
+                    JOptionPane.INFORMATION_MESSAGE );
+            return -1;
         }
+        Object choice = JOptionPane.showInputDialog( panel, "Choose a save slot:", title, JOptionPane.PLAIN_MESSAGE,
+                null, options.toArray(), options.get( 0 ) );
+        return ( choice == null ) ? -1 : slots.get( options.indexOf( choice ) );
         
     }
     
     /**
-     * Saves the Scene that the game is currently on.
+     * Saves the Scene that the game is currently on, in a slot chosen by the player.
+     * 
+     * @return true if the game was saved, false if it was cancelled or failed.
      */
-    private void save() {
+    private boolean save() {
         
-        String current = nextScene.getScene().getID();
-        ResourceManager.getInstance().setSave( storyCode + current );
-        log.info( "Saved game at Scene '" + current + "', story code '" + storyCode + "'." );
+        int slot = chooseSlot( "Save Game", false );
+        if ( slot < 0 ) {
+            return false; // Cancelled.
+        }
+        SaveSlot save = engine.save();
+        try {
+            ResourceManager.getInstance().getSaves().write( slot, save );
+        } catch ( IOException e ) {
+            log.error( "Could not save game.", e );
+            JOptionPane.showMessageDialog( panel, "The game could not be saved.", "Save Error",
+                    JOptionPane.ERROR_MESSAGE );
+            return false;
+        }
+        log.info( "Saved game at Scene '" + save.getSceneID() + "', story code '" + save.getStoryCode()
+                + "', in slot " + slot + "." );
+        return true;
         
     }
     
     /**
-     * Restarts the game from a previously saved Scene.
+     * Restarts the game from a previously saved Scene, in a slot chosen by the player.
+     * 
+     * @return true if a game was loaded, false if it was cancelled.
+     * @throws IllegalArgumentException if the saved Scene ID is not valid or does not correspond to a Scene.
      */
-    public void load() {
+    public boolean load() throws IllegalArgumentException {
         
-        String save = ResourceManager.getInstance().getSave();
-        char code = save.charAt( 0 );
-        save = save.substring( 1 );
-        log.info( "Loading game from Scene '" + save + "', story code '" + code + "'." );
-        start( save, code );
+        int slot = chooseSlot( "Load Game", true );
+        if ( slot < 0 ) {
+            return false; // Cancelled.
+        }
+        SaveSlot save = ResourceManager.getInstance().getSaves().get( slot );
+        log.info( "Loading game from Scene '" + save.getSceneID() + "', story code '" + save.getStoryCode()
+                + "', slot " + slot + "." );
+        show( engine.load( save ) );
+        return true;
         
     }
     
@@ -288,199 +443,55 @@ public class GameManager implements ActionListener, Runnable {
      */
     public char getStoryCode() {
         
-        return storyCode;
+        return engine.getStoryCode();
         
     }
     
     /**
-     * Starts loading the next possible scenes from disk.
+     * Starts loading the next possible scenes from disk, looking ahead up to the configured amount of choices.<br>
+     * Scenes that can no longer be reached from the given Scene stop being loaded.
      * 
-     * @param choices The list of choices that marks the next possible scenes.
+     * @param scene The Scene being displayed.
      */
-    private void bufferNextScenes() {
+    private void bufferNextScenes( Scene scene ) {
         
-        List<Choice> choices = currentOptions;
-        List<Scene> targets = new ArrayList<>( choices.size() );
-        ResourceManager resources = ResourceManager.getInstance();
-        for ( Choice possible : choices ) {
-            
-            Scene target = ( Scene ) resources.getResource( possible.getTarget() );
-            if ( target == null ) {
-                log.warn( "Invalid target: " + possible.getTarget() );
-            }
-            targets.add( target );
-            
-        }
-        buffer = new Loader( targets );
-        bufferThread = new Thread( buffer, Loader.THREAD_NAME );
-        bufferThread.start();
+        prefetcher.prefetch( scene, prefetchDepth );
 
     }
-    
+
     /**
-     * Class that loads a specified list of Scenes from disk, with the possibility of being used in a separate thread.<br>
-     * Can also load a single Scene (without using other threads) if the {@link #load(Scene) load()} method is used.
-     *
-     * @version 1.0
-     * @author Thiago
-     * @since 2017-05-25
+     * Loads the resources of a single scene, or takes them from the cache if they were loaded recently.
+     * 
+     * @param target Scene to load.
+     * @return Scene and its resources loaded into memory.
      */
-    private class Loader implements Runnable {
-        
-        private static final String THREAD_NAME = "Scene Resource Loader";
-        
-        private final List<Scene> targets;
-        private List<LoadedScene> product;
-        
-        /**
-         * Constructs a loader with no target.
-         */
-        public Loader() {
-            
-            targets = new ArrayList<Scene>();
-            
-        }
-        
-        /**
-         * Constructs a Loader to load the specified Scene.
-         * 
-         * @param scene The Scene to load onto memory.
-         */
-        public Loader( List<Scene> scenes ) {
-            
-            this.targets = scenes;
-            
-        }
-
-        @Override
-        public void run() {
-            
-            List<LoadedScene> product = new ArrayList<>( targets.size() );
-            for ( Scene target : targets ) { // Loads each target.
-                
-                if ( target == null ) {
-                    product.add( null );
-                } else {
-                    product.add( load( target ) );
-                }
-                
-            }
-            this.product = product; // Stores finished result.
-            log.debug( "Done buffering files." );
-            
-        }
-        
-        
-        /**
-         * Retrieves the loaded Scenes once they are fully loaded.<br>
-         * If this Loader was given no targets, returns the empty list.
-         * 
-         * @return All the Scenes with all associated resources loaded.
-         * @throws IllegalStateException if used before the loading process completed.
-         */
-        public List<LoadedScene> getLoadedScenes() throws IllegalStateException {
-            
-            if ( product != null ) {
-                return product;
-            } else {
-                throw new IllegalStateException( "Attempted to retrieve loaded Scene before the Loader finished"
-                        + " loading it." );
+    private LoadedScene loadScene( Scene target ) {
+        
+        LoadedScene loaded = cache.get( target );
+        if ( loaded == null ) { // Not cached, load from disk.
+            CharSequence text = loadSceneText( target );
+            loaded = new LoadedScene( target, text );
+            if ( text != null ) { // Failures are tried again next time.
+                cache.put( loaded );
             }
-            
         }
-
-        /**
-         * Loads the resources of a single scene.
-         * 
-         * @param target Scene to load.
-         * @return Scene and its resources loaded into memory.
-         */
-        public LoadedScene load( Scene target ) {
-            
-            String text = loadSceneText( target );
-            return new LoadedScene( target, text );
-            
-        }
-        
-        
-        /**
-         * Loads the Scene's text from disk.
-         * 
-         * @param scene The scene to load.
-         * @return The text of that scene.
-         */
-        private String loadSceneText( Scene scene ) {
-            
-            StringBuilder builder = new StringBuilder();
-            InputStream in = scene.getPath().getInputStream();
-            if ( in == null ) {
-                return null; // Couldn't load file.
-            }
-            Scanner reader = new Scanner( in );
-            while ( reader.hasNext() ) { // Read every line from the file.
-                
-                builder.append( reader.nextLine() );
-                builder.append( '\n' );
-                
-            }
-            reader.close();
-            return builder.toString().trim(); // Finished reading file.
-            
-        }
-        
-        // Load graphic
-        // Load audio
+        return loaded;
         
     }
     
     /**
-     * Class that encapsulates a Scene and the associated Resources, after loading them from disk.
-     *
-     * @version 1.0
-     * @author Thiago
-     * @since 2017-05-25
+     * Loads the Scene's text.
+     * 
+     * @param scene The scene to load.
+     * @return The text of that scene.
      */
-    private class LoadedScene {
-        
-        private final Scene scene;
-        private final String text;
-        // Graphic
-        // Audio
-        
-        /**
-         * Records a Scene and associated loaded resources.
-         * 
-         * @param scene Scene to be loaded.
-         */
-        public LoadedScene( Scene scene, String text ) {
-            
-            this.scene = scene;
-            this.text = text;
-            
-        }
+    private CharSequence loadSceneText( Scene scene ) {
         
-        /**
-         * Retrieves the Scene represented by this object.
-         * 
-         * @return The Scene that this represents.
-         */
-        public Scene getScene() {
-            
-            return scene;
-            
-        }
-        
-        /**
-         * The text to be displayed for this scene (already loaded).
-         * 
-         * @return The scene text.
-         */
-        public String getText() {
-            
-            return text;
-            
-        }
+        return ResourceManager.getInstance().getSceneText( scene );
         
     }
+    
+    // Load graphic
+    // Load audio
 
 }
@@ -0,0 +1,82 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import java.nio.Buffer;
+
+import com.github.thiagotgm.separate_but_unequal.resource.Scene;
+
+/**
+ * Class that encapsulates a Scene and the associated Resources, after loading them from disk.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2017-05-25
+ */
+class LoadedScene {
+
+    private static final int OVERHEAD = 64; // Approximate size of the objects themselves, in bytes.
+
+    private final Scene scene;
+    private final CharSequence text;
+    // Graphic
+    // Audio
+
+    /**
+     * Records a Scene and associated loaded resources.
+     *
+     * @param scene Scene to be loaded.
+     * @param text The text of the Scene.
+     */
+    public LoadedScene( Scene scene, CharSequence text ) {
+
+        this.scene = scene;
+        this.text = text;
+
+    }
+
+    /**
+     * Retrieves the Scene represented by this object.
+     *
+     * @return The Scene that this represents.
+     */
+    public Scene getScene() {
+
+        return scene;
+
+    }
+
+    /**
+     * The text to be displayed for this scene (already loaded).
+     *
+     * @return The scene text.
+     */
+    public CharSequence getText() {
+
+        return text;
+
+    }
+
+    /**
+     * Determines whether the loaded resources are held in memory.<br>
+     * Text taken from the scene text store is a view of a mapped file instead, so keeping it does not spare
+     * reading it again.
+     *
+     * @return true if the resources are in memory, false if they are views of a mapped file.
+     */
+    public boolean isInMemory() {
+
+        return !( ( text instanceof Buffer ) && ( (Buffer) text ).isDirect() );
+
+    }
+
+    /**
+     * Estimates the memory taken by the loaded resources.
+     *
+     * @return The approximate size, in bytes.
+     */
+    public int getSize() {
+
+        return OVERHEAD + ( ( text == null ) ? 0 : text.length() * Character.BYTES );
+
+    }
+
+}
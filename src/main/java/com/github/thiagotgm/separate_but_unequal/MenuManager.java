@@ -17,6 +17,7 @@ import com.github.thiagotgm.separate_but_unequal.gui.MainMenuPanel;
 import com.github.thiagotgm.separate_but_unequal.gui.SettingsPanel;
 import com.github.thiagotgm.separate_but_unequal.gui.StorySelector;
 import com.github.thiagotgm.separate_but_unequal.gui.TextPanel;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceManager;
 import com.github.thiagotgm.separate_but_unequal.resource.Story;
 
 /**
@@ -119,8 +120,9 @@ public class MenuManager implements ActionListener {
                 break;
                 
             case MainMenuPanel.LOAD_COMMAND: // Load from previous save.
-                setWindow( game );
-                gameManager.load();
+                if ( gameManager.load() ) {
+                    setWindow( game );
+                }
                 break;
                 
             case StorySelector.SELECT_STORY_COMMAND: // A story was selected.
@@ -141,8 +143,8 @@ public class MenuManager implements ActionListener {
                 }
                 break;
                 
-            case GamePanel.SAVE_COMMAND: // The game was saved.
-                menu.setLoadButtonEnabled( true );
+            case GamePanel.SAVE_COMMAND: // The game may have been saved.
+                menu.setLoadButtonEnabled( ResourceManager.getInstance().hasSave() );
                 break;
                 
             case SettingsPanel.CLEAR_SAVE_COMMAND:
@@ -0,0 +1,40 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factory that creates daemon threads with a given name, followed by the number of the thread.<br>
+ * Being daemons, threads created by this factory do not keep the program running once the window is closed.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+public class NamedThreadFactory implements ThreadFactory {
+
+    private final String name;
+    private final AtomicInteger count;
+
+    /**
+     * Creates a new factory that names threads with the given name.
+     *
+     * @param name Thread name to be used for the threads.
+     */
+    public NamedThreadFactory( String name ) {
+
+        this.name = name;
+        this.count = new AtomicInteger();
+
+    }
+
+    @Override
+    public Thread newThread( Runnable r ) {
+
+        Thread thread = new Thread( r, name + " " + count.incrementAndGet() );
+        thread.setDaemon( true );
+        return thread;
+
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.thiagotgm.separate_but_unequal.resource.Scene;
+
+/**
+ * Cache of loaded Scenes, keyed by Scene ID, that holds up to a given amount of memory.<br>
+ * When the memory budget is exceeded, the Scenes that were used the longest time ago are evicted first. Scenes
+ * whose text is a view of a mapped file are not cached, since taking the text again costs about as much as a cache
+ * lookup.<br>
+ * Can be used from multiple threads.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+class SceneCache {
+
+    private static final Logger log = LoggerFactory.getLogger( SceneCache.class );
+
+    private final long budget;
+    private final LinkedHashMap<String, LoadedScene> scenes;
+    private long size;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a new cache with the given memory budget.
+     *
+     * @param budget The maximum amount of memory to be used by the cached Scenes, in bytes. If 0, nothing is cached.
+     * @throws IllegalArgumentException if the budget is negative.
+     */
+    public SceneCache( long budget ) throws IllegalArgumentException {
+
+        if ( budget < 0 ) {
+            throw new IllegalArgumentException( "Cache budget cannot be negative." );
+        }
+        this.budget = budget;
+        this.scenes = new LinkedHashMap<>( 16, 0.75f, true ); // Iterates from least to most recently used.
+
+    }
+
+    /**
+     * Retrieves the loaded version of the given Scene, if it is in the cache.<br>
+     * A cached Scene is only returned if it is the same Scene object given (so Scenes that were reloaded since
+     * being cached are not used).
+     *
+     * @param scene The Scene to be retrieved.
+     * @return The loaded Scene, or null if it is not in the cache.
+     */
+    public synchronized LoadedScene get( Scene scene ) {
+
+        LoadedScene loaded = scenes.get( scene.getID() );
+        if ( ( loaded != null ) && ( loaded.getScene() == scene ) ) {
+            hits++;
+            return loaded;
+        }
+        misses++;
+        return null;
+
+    }
+
+    /**
+     * Places a loaded Scene in the cache, replacing any previous version of it and evicting the least recently used
+     * Scenes as needed to stay within the budget.<br>
+     * Scenes larger than the whole budget, or that are not held in memory, are not cached.
+     *
+     * @param loaded The loaded Scene.
+     * @see LoadedScene#isInMemory()
+     */
+    public synchronized void put( LoadedScene loaded ) {
+
+        int sceneSize = loaded.getSize();
+        if ( ( sceneSize > budget ) || !loaded.isInMemory() ) {
+            return; // Would evict everything and still not fit, or would not spare reading it again.
+        }
+        LoadedScene previous = scenes.put( loaded.getScene().getID(), loaded );
+        size += sceneSize - ( ( previous == null ) ? 0 : previous.getSize() );
+        for ( Iterator<LoadedScene> it = scenes.values().iterator(); size > budget; ) { // Evicts until it fits.
+
+            LoadedScene evicted = it.next();
+            size -= evicted.getSize();
+            it.remove();
+            evictions++;
+            log.trace( "Evicted Scene '" + evicted.getScene().getID() + "' from cache." );
+
+        }
+
+    }
+
+    /**
+     * Removes the Scenes with the given IDs from the cache, if they are in it.
+     *
+     * @param ids The IDs of the Scenes.
+     */
+    public synchronized void remove( Collection<String> ids ) {
+
+        for ( String id : ids ) {
+
+            LoadedScene removed = scenes.remove( id );
+            if ( removed != null ) {
+                size -= removed.getSize();
+            }
+
+        }
+
+    }
+
+    /**
+     * Removes all Scenes from the cache.
+     */
+    public synchronized void clear() {
+
+        scenes.clear();
+        size = 0;
+
+    }
+
+    /**
+     * Retrieves the amount of Scenes in the cache.
+     *
+     * @return The amount of Scenes.
+     */
+    public synchronized int getCount() {
+
+        return scenes.size();
+
+    }
+
+    /**
+     * Retrieves the approximate memory used by the Scenes in the cache.
+     *
+     * @return The memory used, in bytes.
+     */
+    public synchronized long getSize() {
+
+        return size;
+
+    }
+
+    /**
+     * Retrieves the amount of times a requested Scene was in the cache.
+     *
+     * @return The amount of hits.
+     */
+    public synchronized long getHits() {
+
+        return hits;
+
+    }
+
+    /**
+     * Retrieves the amount of times a requested Scene was not in the cache.
+     *
+     * @return The amount of misses.
+     */
+    public synchronized long getMisses() {
+
+        return misses;
+
+    }
+
+    /**
+     * Retrieves the amount of Scenes that were removed from the cache to stay within the budget.
+     *
+     * @return The amount of evictions.
+     */
+    public synchronized long getEvictions() {
+
+        return evictions;
+
+    }
+
+    @Override
+    public synchronized String toString() {
+
+        return scenes.size() + " scenes (" + size + "/" + budget + " bytes), " + hits + " hits, " + misses
+                + " misses, " + evictions + " evictions";
+
+    }
+
+}
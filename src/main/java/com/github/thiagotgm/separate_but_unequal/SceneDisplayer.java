@@ -1,30 +1,42 @@
 package com.github.thiagotgm.separate_but_unequal;
 
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
 import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 
 import com.github.thiagotgm.separate_but_unequal.resource.ResourceManager;
 
 /**
- * Manages the displaying of a scene text into a JTextArea.
+ * Manages the displaying of a scene text into a JTextArea.<br>
+ * The text is typed out by a Swing timer, so the text area is only changed on the event dispatch thread. Each tick
+ * of the timer appends, at once, all the characters that became due since the previous tick.
  *
  * @version 1.0
  * @author Thiago
  * @since 2017-05-25
  */
-public class SceneDisplayer implements Runnable {
+public class SceneDisplayer implements ActionListener {
     
     private static final long DEFAULT_DELAY = 50;
     private static final long SENTENCE_DELAY_MULTIPLIER = 10;
     private static final long LINE_BREAK_DELAY_MULTIPLIER = 20;
+    private static final int FRAME_DELAY = 16; // Time between display updates, in milliseconds.
     
-    /** Thread name to be used for objects of this type. */
-    public static final String THREAD_NAME = "Scene Text Updater";
     private static final String ERROR = "Could not load Scene text";
     
     private final JTextArea sceneDisplay;
+    private final Timer timer;
     
-    private String sceneText;
-    private long delay;
+    private volatile CharSequence sceneText;
+    private volatile long delay;
+    private CompletableFuture<Void> display;
+    private int position;
+    private long nextDue;
 
     /**
      * Intializes a new Displayer that displays a scene onto a given text area.
@@ -34,6 +46,7 @@ public class SceneDisplayer implements Runnable {
     public SceneDisplayer( JTextArea sceneDisplay ) {
 
         this.sceneDisplay = sceneDisplay;
+        this.timer = new Timer( FRAME_DELAY, this );
         
     }
     
@@ -42,74 +55,152 @@ public class SceneDisplayer implements Runnable {
      *
      * @param text Text of the scene.
      */
-    public void showScene( String text ) {
+    public void showScene( CharSequence text ) {
     
         this.sceneText = text;
-        sceneDisplay.setText( null );
         delay = DEFAULT_DELAY / ResourceManager.getInstance().getTextSpeedMultiplier();
         
     }
     
     /**
-     * Skips the slow text insertion phase, displaying the full scene text at once.<br>
-     * If the scene text is null, shows an error message instead.
+     * Starts displaying the scene text, one character at a time.<br>
+     * There is a delay between each character, and larger delays after a sentence and after a newline.<br>
+     * If the scene text is null, shows an error message instead.<br>
+     * Can be called from any thread. On the event dispatch thread, the display starts right away, so that a
+     * following {@link #stop()} always stops it.
+     * 
+     * @return A Future that completes once the whole text is displayed. Cancelling it stops the display.
      */
-    public void skip() {
+    public Future<?> start() {
         
-        sceneDisplay.setText( ( sceneText == null ) ? ERROR : sceneText );
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        onEventThread( () -> begin( done ) );
+        return done;
         
     }
     
     /**
-     * Clears the text display area.
+     * Stops the display of the scene text, if it is still being displayed. The text displayed so far is kept.<br>
+     * Must be called on the event dispatch thread.
      */
-    public void clear() {
+    public void stop() {
         
-        sceneDisplay.setText( null );
+        if ( display != null ) {
+            display.cancel( true );
+        }
+        timer.stop();
         
     }
-
+    
     /**
-     * Displays the scene text, one character at a time.<br>
-     * There is a delay between each character, and larger delays after a sentence and after a newline.<br>
-     * If the scene text is null, shows an error message instead.
+     * Starts a display. Must be called on the event dispatch thread.
+     * 
+     * @param done The Future of the display.
      */
-    @Override
-    public void run() {
-
+    private void begin( CompletableFuture<Void> done ) {
+        
+        if ( done.isDone() ) {
+            return; // Cancelled before starting.
+        }
+        display = done;
+        sceneDisplay.setText( null );
         if ( sceneText == null ) { // No scene text.
             skip();
+            done.complete( null );
             return;
         }
-        try { 
-            Thread.sleep( delay ); // Delay before the first character.
-        } catch ( InterruptedException e ) {
-            return; // Stop displaying.
+        position = 0;
+        nextDue = System.currentTimeMillis() + delay; // Delay before the first character.
+        timer.restart();
+        
+    }
+    
+    /**
+     * Appends the characters that are due to be displayed.
+     * 
+     * @param e The timer tick.
+     */
+    @Override
+    public void actionPerformed( ActionEvent e ) {
+        
+        if ( ( display == null ) || display.isDone() ) {
+            timer.stop(); // Skipped or cancelled.
+            return;
         }
-        for ( int i = 0; i < sceneText.length(); i++ ) { // Prints each character of the text.
+        CharSequence text = sceneText;
+        long now = System.currentTimeMillis();
+        int start = position;
+        while ( ( position < text.length() ) && ( nextDue <= now ) ) { // Takes every character that is due.
+            
+            nextDue += delayAfter( text.charAt( position++ ) );
             
-            char curChar = sceneText.charAt( i );
-            sceneDisplay.append( String.valueOf( curChar ) );
-            try {
-                switch ( curChar ) { // Decide delay before next char.
-                    
-                    case '.': // End of sentence.
-                    case '!':
-                    case '?':
-                    case ':':
-                        Thread.sleep( delay * SENTENCE_DELAY_MULTIPLIER );
-                        break;
-                    case '\n': // End of line.
-                        Thread.sleep( delay * LINE_BREAK_DELAY_MULTIPLIER );
-                        break;
-                    default: // Normal character.
-                        Thread.sleep( delay );
-                        
-                }
-            } catch ( InterruptedException e ) {
-                return; // Stop displaying.
-            }
+        }
+        if ( position > start ) {
+            sceneDisplay.append( text.subSequence( start, position ).toString() );
+        }
+        if ( position == text.length() ) { // Finished.
+            timer.stop();
+            display.complete( null );
+        }
+        
+    }
+    
+    /**
+     * Determines the delay to wait after displaying a character.
+     * 
+     * @param c The character.
+     * @return The delay, in milliseconds.
+     */
+    private long delayAfter( char c ) {
+        
+        switch ( c ) {
             
+            case '.': // End of sentence.
+            case '!':
+            case '?':
+            case ':':
+                return delay * SENTENCE_DELAY_MULTIPLIER;
+            case '\n': // End of line.
+                return delay * LINE_BREAK_DELAY_MULTIPLIER;
+            default: // Normal character.
+                return delay;
+                
+        }
+        
+    }
+    
+    /**
+     * Skips the slow text insertion phase, displaying the full scene text at once.<br>
+     * If the scene text is null, shows an error message instead.<br>
+     * Can be called from any thread.
+     */
+    public void skip() {
+        
+        onEventThread( () -> sceneDisplay.setText( ( sceneText == null ) ? ERROR : sceneText.toString() ) );
+        
+    }
+    
+    /**
+     * Clears the text display area.<br>
+     * Can be called from any thread.
+     */
+    public void clear() {
+        
+        onEventThread( () -> sceneDisplay.setText( null ) );
+        
+    }
+    
+    /**
+     * Runs a change to the text area on the event dispatch thread. If already on it, runs the change right away.
+     * 
+     * @param change The change.
+     */
+    private static void onEventThread( Runnable change ) {
+        
+        if ( SwingUtilities.isEventDispatchThread() ) {
+            change.run();
+        } else {
+            SwingUtilities.invokeLater( change );
         }
         
     }
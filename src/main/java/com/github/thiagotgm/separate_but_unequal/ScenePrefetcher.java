@@ -0,0 +1,194 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.thiagotgm.separate_but_unequal.resource.Choice;
+import com.github.thiagotgm.separate_but_unequal.resource.ChoiceScene;
+import com.github.thiagotgm.separate_but_unequal.resource.Scene;
+
+/**
+ * Loads the Scenes that can be reached from the current Scene ahead of time, on a pool of worker threads.<p>
+ * The choice graph is walked breadth-first from the current Scene, so the Scenes that are fewer choices away are
+ * queued to be loaded first. Whenever a new Scene becomes the current one, the loads of Scenes that can no longer be
+ * reached within the lookahead depth are cancelled.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+class ScenePrefetcher {
+
+    private static final Logger log = LoggerFactory.getLogger( ScenePrefetcher.class );
+
+    /** Thread name to be used for the worker threads. */
+    public static final String THREAD_NAME = "Scene Resource Loader";
+
+    private final ExecutorService pool;
+    private final Function<Choice, Scene> resolver;
+    private final Function<Scene, LoadedScene> loader;
+    private final Map<Scene, Future<LoadedScene>> loads; // Scenes are only equal to themselves.
+
+    /**
+     * Creates a new prefetcher.
+     *
+     * @param threads The amount of worker threads to load Scenes with.
+     * @param resolver Function that obtains the Scene a choice leads to (or null if it is not valid).
+     * @param loader Function that loads a Scene.
+     */
+    public ScenePrefetcher( int threads, Function<Choice, Scene> resolver, Function<Scene, LoadedScene> loader ) {
+
+        this.pool = Executors.newFixedThreadPool( threads, new NamedThreadFactory( THREAD_NAME ) );
+        this.resolver = resolver;
+        this.loader = loader;
+        this.loads = new HashMap<>();
+
+    }
+
+    /**
+     * Starts loading every Scene that can be reached from the given Scene in up to the given amount of choices,
+     * and cancels the loads of any other Scenes.<br>
+     * Invalid choice targets are skipped.
+     *
+     * @param from The current Scene.
+     * @param depth The maximum amount of choices to look ahead. If 0, nothing is loaded ahead of time.
+     */
+    public synchronized void prefetch( Scene from, int depth ) {
+
+        List<Scene> reachable = findReachable( from, depth );
+        Set<Scene> keep = new HashSet<>( reachable );
+        int cancelled = 0;
+        for ( Iterator<Map.Entry<Scene, Future<LoadedScene>>> it = loads.entrySet().iterator(); it.hasNext(); ) {
+
+            Map.Entry<Scene, Future<LoadedScene>> load = it.next();
+            if ( !keep.contains( load.getKey() ) ) { // Can't be reached anymore.
+                if ( load.getValue().cancel( true ) ) {
+                    cancelled++;
+                }
+                it.remove();
+            }
+
+        }
+        int started = 0;
+        for ( Scene scene : reachable ) { // Nearest Scenes are queued first.
+
+            if ( !loads.containsKey( scene ) ) {
+                loads.put( scene, submit( scene ) );
+                started++;
+            }
+
+        }
+        log.debug( "Prefetching " + reachable.size() + " scenes from '" + from.getID() + "' (" + started
+                + " new, " + cancelled + " cancelled)." );
+
+    }
+
+    /**
+     * Retrieves the load of the given Scene, starting it if the Scene is not already being loaded.
+     *
+     * @param scene The Scene.
+     * @return The load of the Scene.
+     */
+    public synchronized Future<LoadedScene> get( Scene scene ) {
+
+        Future<LoadedScene> load = loads.get( scene );
+        if ( ( load == null ) || load.isCancelled() ) {
+            load = submit( scene );
+            loads.put( scene, load );
+        }
+        return load;
+
+    }
+
+    /**
+     * Forgets the loads of the Scenes with the given IDs, so they are loaded again when next needed. Loads that
+     * already started are not cancelled, as they may be awaited.
+     *
+     * @param ids The IDs of the Scenes.
+     */
+    public synchronized void forget( Collection<String> ids ) {
+
+        loads.keySet().removeIf( scene -> ids.contains( scene.getID() ) );
+
+    }
+
+    /**
+     * Cancels all loads.
+     */
+    public synchronized void cancelAll() {
+
+        for ( Future<LoadedScene> load : loads.values() ) {
+
+            load.cancel( true );
+
+        }
+        loads.clear();
+
+    }
+
+    /**
+     * Starts loading a Scene.
+     *
+     * @param scene The Scene.
+     * @return The load of the Scene.
+     */
+    private Future<LoadedScene> submit( Scene scene ) {
+
+        return pool.submit( () -> loader.apply( scene ) );
+
+    }
+
+    /**
+     * Finds the Scenes that can be reached from the given Scene in up to the given amount of choices.
+     *
+     * @param from The starting Scene.
+     * @param depth The maximum amount of choices.
+     * @return The Scenes found, in breadth-first order. Does not include the starting Scene.
+     */
+    private List<Scene> findReachable( Scene from, int depth ) {
+
+        List<Scene> found = new ArrayList<>();
+        Set<Scene> seen = new HashSet<>();
+        seen.add( from );
+        List<Scene> level = new ArrayList<>();
+        level.add( from );
+        for ( int i = 0; ( i < depth ) && !level.isEmpty(); i++ ) { // Goes one choice further each time.
+
+            List<Scene> next = new ArrayList<>();
+            for ( Scene scene : level ) {
+
+                if ( !( scene instanceof ChoiceScene ) ) {
+                    continue; // No choices.
+                }
+                for ( Choice option : ( (ChoiceScene) scene ).getOptions() ) {
+
+                    Scene target = resolver.apply( option );
+                    if ( ( target != null ) && seen.add( target ) ) {
+                        next.add( target );
+                    }
+
+                }
+
+            }
+            found.addAll( next );
+            level = next;
+
+        }
+        return found;
+
+    }
+
+}
@@ -197,10 +197,10 @@ public class SettingsPanel extends ButtonPanel implements ActionListener {
             case CLEAR_SAVE_COMMAND: // Clear game save.
                 log.debug( "Clear save selected." );
                 int choice = ( bypassConfirm ) ? JOptionPane.YES_OPTION : JOptionPane.showConfirmDialog( this,
-                        "This will delete your currently saved game. Are you sure?", "Clear Save",
+                        "This will delete all your saved games. Are you sure?", "Clear Save",
                         JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE ); // Ask to confirm unless clear
                 if ( choice == JOptionPane.YES_OPTION ) {                         // progress was the command.
-                    ResourceManager.getInstance().setSave( null );
+                    ResourceManager.getInstance().getSaves().clear();
                     clearSaveButton.setEnabled( false );
                     log.info( "Save cleared." );
                     listener.actionPerformed( e );
@@ -0,0 +1,87 @@
+package com.github.thiagotgm.separate_but_unequal.resource;
+
+import java.util.Collection;
+
+/**
+ * Table of Achievements, indexed by story code and end code.<br>
+ * There is one row per story code, which is only allocated if the story has Achievements, and which is as long as
+ * the largest end code of those Achievements. Looking an Achievement up takes constant time and does not allocate.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+public class AchievementIndex {
+
+    private final Achievement[][] achievements;
+    private final int count;
+
+    /**
+     * Builds an index of the given Achievements.<br>
+     * If more than one Achievement has the same story and end codes, the last one is kept.
+     *
+     * @param achievements The Achievements to be indexed.
+     */
+    public AchievementIndex( Collection<Achievement> achievements ) {
+
+        int[] lengths = new int[Story.MAX_CODE - Story.MIN_CODE + 1];
+        for ( Achievement achievement : achievements ) { // Finds the size of each row.
+
+            int row = achievement.getStoryCode() - Story.MIN_CODE;
+            lengths[row] = Math.max( lengths[row], achievement.getEndCode() - EndScene.MIN_CODE + 1 );
+
+        }
+        this.achievements = new Achievement[lengths.length][];
+        for ( int i = 0; i < lengths.length; i++ ) {
+
+            if ( lengths[i] > 0 ) {
+                this.achievements[i] = new Achievement[lengths[i]];
+            }
+
+        }
+        for ( Achievement achievement : achievements ) {
+
+            this.achievements[achievement.getStoryCode() - Story.MIN_CODE][achievement.getEndCode()
+                    - EndScene.MIN_CODE] = achievement;
+
+        }
+        this.count = achievements.size();
+
+    }
+
+    /**
+     * Retrieves the Achievement that corresponds to the given story and end codes.
+     *
+     * @param storyCode Story code of the Achievement. Must be in the range {@value Story#MIN_CODE} to
+     *                  {@value Story#MAX_CODE} (inclusive).
+     * @param endCode End code of the Achievement. Must be in the range {@value EndScene#MIN_CODE} to
+     *                {@value EndScene#MAX_CODE} (inclusive).
+     * @return The Achievement, or null if there is no such Achievement.
+     * @throws IllegalArgumentException if either code is not within the acceptable range.
+     */
+    public Achievement get( char storyCode, int endCode ) throws IllegalArgumentException {
+
+        if ( ( storyCode < Story.MIN_CODE ) || ( storyCode > Story.MAX_CODE ) ) {
+            throw new IllegalArgumentException( Story.CODE_OOB );
+        }
+        if ( ( endCode < EndScene.MIN_CODE ) || ( endCode > EndScene.MAX_CODE ) ) {
+            throw new IllegalArgumentException( EndScene.CODE_OOB_ERROR );
+        }
+        Achievement[] row = achievements[storyCode - Story.MIN_CODE];
+        int column = endCode - EndScene.MIN_CODE;
+        return ( ( row != null ) && ( column < row.length ) ) ? row[column] : null;
+
+    }
+
+    /**
+     * Retrieves the amount of Achievements given to this index.
+     *
+     * @return The amount of Achievements.
+     */
+    public int size() {
+
+        return count;
+
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.github.thiagotgm.separate_but_unequal.resource;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Utility for replacing files with new versions written to a temporary file first.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+final class AtomicFiles {
+
+    private AtomicFiles() {}
+
+    /**
+     * Replaces a file with the given temporary file.<br>
+     * The temporary file is renamed over the target atomically when the file system supports it. Otherwise, it
+     * is moved with a plain replace.
+     *
+     * @param temp The temporary file with the new contents. Must be on the same file system as the target.
+     * @param file The file to be replaced.
+     * @throws IOException if the file could not be replaced.
+     */
+    static void replace( Path temp, Path file ) throws IOException {
+
+        try {
+            Files.move( temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+        } catch ( AtomicMoveNotSupportedException e ) {
+            Files.move( temp, file, StandardCopyOption.REPLACE_EXISTING );
+        }
+
+    }
+
+}
@@ -1,7 +1,8 @@
 package com.github.thiagotgm.separate_but_unequal.resource;
 
 /**
- * Class that encapsulates an option within a set of choices.
+ * Class that encapsulates an option within a set of choices.<br>
+ * Once the resource library is loaded, each Choice is linked to the Scene its target ID identifies.
  *
  * @version 1.0
  * @author ThiagoTGM
@@ -11,6 +12,8 @@ public class Choice {
     
     private final String text;
     private final String target;
+    private volatile Scene targetScene;
+    private volatile boolean linked;
     
     /**
      * Instantiates a new Choice with a given text and target.
@@ -48,6 +51,41 @@ public class Choice {
         
     }
     
+    /**
+     * Retrieves the Scene that the target ID of this choice identifies, as found when the choice was linked.
+     *
+     * @return The target Scene, or null if the target is not a valid Scene or the choice was not linked.
+     * @see #isLinked()
+     */
+    public Scene getTargetScene() {
+        
+        return targetScene;
+        
+    }
+    
+    /**
+     * Retrieves whether this choice was linked to its target.
+     *
+     * @return true if the target was resolved, false otherwise.
+     */
+    public boolean isLinked() {
+        
+        return linked;
+        
+    }
+    
+    /**
+     * Links this choice to its target.
+     *
+     * @param targetScene The Scene that the target ID identifies, or null if it does not identify a Scene.
+     */
+    void link( Scene targetScene ) {
+        
+        this.targetScene = targetScene;
+        this.linked = true;
+        
+    }
+    
     /**
      * Checks if this Choice is equal to a given object.<br>
      * They will be equal if o is also an instance of Choice (or a subclass of it), and both have the same
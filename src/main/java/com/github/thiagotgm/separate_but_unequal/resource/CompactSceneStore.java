@@ -0,0 +1,623 @@
+package com.github.thiagotgm.separate_but_unequal.resource;
+
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+
+/**
+ * Compact, read-only store of Scenes for very large story packs.<p>
+ * Instead of keeping an object graph per Scene, the data of all Scenes is kept in primitive arrays (one per field),
+ * and every string (IDs, file names, option texts) is kept once in a shared character pool, referred to by number.
+ * Each choice refers to its target by the number of the target Scene, so the targets are resolved when the store
+ * is built. The store can be built from a collection of Scenes, or by adding each Scene to a {@link Builder} as soon
+ * as it is read, so the whole object graph never has to be in memory at once.<p>
+ * Scenes are only created from the arrays the first time they are retrieved, and the same Scene object is returned
+ * from then on. Memory use therefore scales with the amount of Scenes that were played rather than with the size of
+ * the pack. Can be used from multiple threads.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+public class CompactSceneStore {
+
+    private static final byte SCENE = 0;
+    private static final byte CHOICE_SCENE = 1;
+    private static final byte END_SCENE = 2;
+    private static final byte KIND = 3; // Bits of the flags that hold the kind of Scene.
+    private static final byte IN_JAR = 4;
+
+    private final char[] chars;
+    private final int[] starts; // String i is chars[starts[i]] to chars[starts[i + 1]] (exclusive).
+
+    private final int[] ids;
+    private final byte[] flags;
+    private final int[] parents; // Folder that contains the folder of the text file, -1 if none.
+    private final int[] folders; // Folder of the text file, -1 if none.
+    private final int[] files;
+    private final int[] graphics; // -1 if none.
+    private final int[] audios; // -1 if none.
+    private final int[] codes; // End code of end scenes.
+    private final int[] firstOptions; // Options of Scene i are firstOptions[i] to firstOptions[i + 1] (exclusive).
+
+    private final int[] optionTexts;
+    private final int[] optionTargets; // Target Scene, or -(string + 1) if the target is not a Scene.
+
+    private final int[] table; // Open addressing hash table of Scene + 1 by ID, 0 where empty.
+    private final FileSystem fileSystem;
+    private final JarResources jar;
+    private final AtomicReferenceArray<Scene> scenes;
+
+    /**
+     * Builds a store with the given Scenes.<br>
+     * The choice targets that are not among the given Scenes are kept, but lead to no Scene.
+     *
+     * @param scenes The Scenes to be stored. Their IDs must be unique.
+     * @throws IllegalArgumentException if more than one Scene has the same ID.
+     */
+    public CompactSceneStore( Collection<? extends Scene> scenes ) throws IllegalArgumentException {
+
+        this( builder( scenes ) );
+
+    }
+
+    /**
+     * Builds a store with the Scenes added to the given builder.
+     *
+     * @param builder The builder.
+     */
+    private CompactSceneStore( Builder builder ) {
+
+        int count = builder.count;
+        ids = Arrays.copyOf( builder.ids, count );
+        flags = Arrays.copyOf( builder.flags, count );
+        parents = Arrays.copyOf( builder.parents, count );
+        folders = Arrays.copyOf( builder.folders, count );
+        files = Arrays.copyOf( builder.files, count );
+        graphics = Arrays.copyOf( builder.graphics, count );
+        audios = Arrays.copyOf( builder.audios, count );
+        codes = Arrays.copyOf( builder.codes, count );
+
+        List<String> strings = builder.strings;
+        starts = new int[strings.size() + 1];
+        int length = 0;
+        for ( int i = 0; i < strings.size(); i++ ) {
+
+            starts[i] = length;
+            length += strings.get( i ).length();
+
+        }
+        starts[strings.size()] = length;
+        chars = new char[length];
+        for ( int i = 0; i < strings.size(); i++ ) {
+
+            strings.get( i ).getChars( 0, strings.get( i ).length(), chars, starts[i] );
+
+        }
+
+        int optionCount = 0;
+        for ( int i = 0; i < count; i++ ) {
+
+            optionCount += builder.optionCounts[i];
+
+        }
+        firstOptions = new int[count + 1];
+        optionTexts = new int[optionCount];
+        optionTargets = new int[optionCount];
+        int option = 0;
+        for ( int i = 0; i < count; i++ ) { // Places the options in Scene order, now that every Scene has a number.
+
+            firstOptions[i] = option;
+            int end = builder.optionStarts[i] + builder.optionCounts[i];
+            for ( int added = builder.optionStarts[i]; added < end; added++ ) {
+
+                int targetID = builder.optionTargets[added];
+                Integer target = builder.numbers.get( strings.get( targetID ) );
+                optionTexts[option] = builder.optionTexts[added];
+                optionTargets[option++] = ( target != null ) ? target : -( targetID + 1 );
+
+            }
+
+        }
+        firstOptions[count] = option;
+
+        table = new int[Integer.highestOneBit( Math.max( count, 1 ) ) * 4]; // Kept at most half full.
+        for ( int i = 0; i < count; i++ ) { // Indexes the IDs.
+
+            int slot = slot( strings.get( ids[i] ).hashCode() );
+            while ( table[slot] != 0 ) {
+
+                slot = ( slot + 1 ) & ( table.length - 1 );
+
+            }
+            table[slot] = i + 1;
+
+        }
+        this.fileSystem = builder.fileSystem;
+        this.jar = builder.jar;
+        this.scenes = new AtomicReferenceArray<>( count );
+
+    }
+
+    /**
+     * Adds the given Scenes to a new builder.
+     *
+     * @param scenes The Scenes. Their IDs must be unique.
+     * @return The builder.
+     * @throws IllegalArgumentException if more than one Scene has the same ID.
+     */
+    private static Builder builder( Collection<? extends Scene> scenes ) throws IllegalArgumentException {
+
+        Builder builder = new Builder();
+        for ( Scene scene : scenes ) {
+
+            if ( builder.add( scene ) ) {
+                throw new IllegalArgumentException( "More than one Scene with ID '" + scene.getID() + "'." );
+            }
+
+        }
+        return builder;
+
+    }
+
+    /**
+     * Finds the table slot where the search for a hash code starts.
+     *
+     * @param hash The hash code.
+     * @return The slot.
+     */
+    private int slot( int hash ) {
+
+        return ( hash ^ ( hash >>> 16 ) ) & ( table.length - 1 );
+
+    }
+
+    /**
+     * Retrieves a string from the pool.
+     *
+     * @param number The number of the string.
+     * @return The string, or null if the number is -1.
+     */
+    private String string( int number ) {
+
+        return ( number < 0 ) ? null : new String( chars, starts[number], starts[number + 1] - starts[number] );
+
+    }
+
+    /**
+     * Checks if a string in the pool is equal to a given string, without copying it out of the pool.
+     *
+     * @param number The number of the string in the pool.
+     * @param string The string to compare to.
+     * @return true if they are equal, false otherwise.
+     */
+    private boolean matches( int number, String string ) {
+
+        int start = starts[number];
+        if ( starts[number + 1] - start != string.length() ) {
+            return false;
+        }
+        for ( int i = 0; i < string.length(); i++ ) {
+
+            if ( chars[start + i] != string.charAt( i ) ) {
+                return false;
+            }
+
+        }
+        return true;
+
+    }
+
+    /**
+     * Finds the number of the Scene with the given ID.
+     *
+     * @param id The ID.
+     * @return The number of the Scene, or -1 if there is no Scene with that ID.
+     */
+    private int find( String id ) {
+
+        for ( int slot = slot( id.hashCode() ); table[slot] != 0; slot = ( slot + 1 ) & ( table.length - 1 ) ) {
+
+            if ( matches( ids[table[slot] - 1], id ) ) {
+                return table[slot] - 1;
+            }
+
+        }
+        return -1;
+
+    }
+
+    /**
+     * Retrieves the Scene with the given ID.
+     *
+     * @param id The ID of the Scene.
+     * @return The Scene, or null if there is no Scene with that ID in the store.
+     */
+    public Scene get( String id ) {
+
+        int number = find( id );
+        return ( number < 0 ) ? null : scene( number );
+
+    }
+
+    /**
+     * Identifies whether there is a Scene with the given ID in the store.
+     *
+     * @param id The ID.
+     * @return true if there is such a Scene, false otherwise.
+     */
+    public boolean contains( String id ) {
+
+        return find( id ) >= 0;
+
+    }
+
+    /**
+     * Retrieves the amount of Scenes in the store.
+     *
+     * @return The amount of Scenes.
+     */
+    public int size() {
+
+        return ids.length;
+
+    }
+
+    /**
+     * Retrieves the amount of Scenes that were created from the store so far.
+     *
+     * @return The amount of Scenes.
+     */
+    public int getCreatedCount() {
+
+        int created = 0;
+        for ( int i = 0; i < scenes.length(); i++ ) {
+
+            if ( scenes.get( i ) != null ) {
+                created++;
+            }
+
+        }
+        return created;
+
+    }
+
+    /**
+     * Estimates the memory used by the arrays of the store, not counting the Scenes created from it.
+     *
+     * @return The amount of memory, in bytes.
+     */
+    public long getFootprint() {
+
+        long ints = (long) starts.length + ids.length * 8L + 1 + optionTexts.length * 2L + table.length;
+        return chars.length * 2L + ints * 4L + flags.length + scenes.length() * 4L;
+
+    }
+
+    /**
+     * Retrieves a view of the Scenes in the store.<br>
+     * Unlike {@link #get(String)}, each Scene is created anew every time it is retrieved from the view, and is not
+     * kept by the store. This allows going through all the Scenes (for example, to pack their text) without keeping
+     * all of them in memory.
+     *
+     * @return The Scenes in the store, in the order they were added.
+     */
+    public List<Scene> getScenes() {
+
+        return new AbstractList<Scene>() {
+
+            @Override
+            public Scene get( int index ) {
+
+                if ( ( index < 0 ) || ( index >= ids.length ) ) {
+                    throw new IndexOutOfBoundsException( "Index: " + index + ", Size: " + ids.length );
+                }
+                return create( index );
+
+            }
+
+            @Override
+            public int size() {
+
+                return ids.length;
+
+            }
+
+        };
+
+    }
+
+    /**
+     * Performs an action on each choice whose target is not a Scene in the store, without creating any Scene.
+     *
+     * @param action The action, that takes the ID of the Scene with the choice and the ID of the target.
+     */
+    public void forEachUnlinked( BiConsumer<String, String> action ) {
+
+        for ( int i = 0; i < ids.length; i++ ) {
+
+            for ( int option = firstOptions[i]; option < firstOptions[i + 1]; option++ ) {
+
+                if ( optionTargets[option] < 0 ) {
+                    action.accept( string( ids[i] ), string( -optionTargets[option] - 1 ) );
+                }
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Retrieves the Scene with the given number, creating it if it was not created yet.
+     *
+     * @param number The number of the Scene.
+     * @return The Scene.
+     */
+    private Scene scene( int number ) {
+
+        Scene scene = scenes.get( number );
+        if ( scene == null ) {
+            scene = create( number );
+            if ( !scenes.compareAndSet( number, null, scene ) ) { // Created by another thread meanwhile.
+                scene = scenes.get( number );
+            }
+        }
+        return scene;
+
+    }
+
+    /**
+     * Creates the Scene with the given number from the arrays.
+     *
+     * @param number The number of the Scene.
+     * @return The Scene.
+     */
+    private Scene create( int number ) {
+
+        String id = string( ids[number] );
+        Path text = fileSystem.getPath( string( files[number] ) );
+        if ( folders[number] >= 0 ) {
+            text = fileSystem.getPath( string( folders[number] ) ).resolve( text );
+        }
+        if ( parents[number] >= 0 ) {
+            text = fileSystem.getPath( string( parents[number] ) ).resolve( text );
+        }
+        ResourcePath path = ( ( flags[number] & IN_JAR ) == 0 ) ? new ResourcePath( text, false )
+                : ( ( jar != null ) ? new ResourcePath( text, jar ) : new ResourcePath( text, true ) );
+        String graphic = string( graphics[number] );
+        String audio = string( audios[number] );
+        switch ( flags[number] & KIND ) {
+
+            case CHOICE_SCENE:
+                Choice[] options = new Choice[firstOptions[number + 1] - firstOptions[number]];
+                for ( int i = 0; i < options.length; i++ ) {
+
+                    int option = firstOptions[number] + i;
+                    int target = optionTargets[option];
+                    options[i] = new StoredChoice( string( optionTexts[option] ),
+                            string( ( target >= 0 ) ? ids[target] : -target - 1 ), target );
+
+                }
+                return new ChoiceScene( id, path, graphic, audio, Arrays.asList( options ) );
+
+            case END_SCENE:
+                return new EndScene( id, path, graphic, audio, codes[number] );
+
+            default:
+                return new Scene( id, path, graphic, audio );
+
+        }
+
+    }
+
+    /**
+     * Builder that adds Scenes to a store one at a time, so that the Scenes can be discarded as soon as they are
+     * added instead of all being kept in memory until the store is built.
+     *
+     * @version 1.0
+     * @author Thiago
+     * @since 2026-10-17
+     */
+    public static class Builder {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, Integer> pool = new HashMap<>(); // Number of each string in the list.
+        private final Map<String, Integer> numbers = new HashMap<>(); // Number of each Scene, by ID.
+
+        private int count;
+        private int[] ids = new int[INITIAL_CAPACITY];
+        private byte[] flags = new byte[INITIAL_CAPACITY];
+        private int[] parents = new int[INITIAL_CAPACITY];
+        private int[] folders = new int[INITIAL_CAPACITY];
+        private int[] files = new int[INITIAL_CAPACITY];
+        private int[] graphics = new int[INITIAL_CAPACITY];
+        private int[] audios = new int[INITIAL_CAPACITY];
+        private int[] codes = new int[INITIAL_CAPACITY];
+        private int[] optionStarts = new int[INITIAL_CAPACITY]; // Options of Scene i, in the order they were added.
+        private int[] optionCounts = new int[INITIAL_CAPACITY];
+
+        private int optionCount;
+        private int[] optionTexts = new int[INITIAL_CAPACITY];
+        private int[] optionTargets = new int[INITIAL_CAPACITY]; // Target ID, resolved once all Scenes are added.
+
+        private FileSystem fileSystem = FileSystems.getDefault();
+        private JarResources jar;
+
+        /**
+         * Adds a Scene.<br>
+         * If a Scene with the same ID was already added, it is replaced.
+         *
+         * @param scene The Scene to be added.
+         * @return true if a Scene with the same ID was replaced, false otherwise.
+         */
+        public boolean add( Scene scene ) {
+
+            Integer added = numbers.get( scene.getID() );
+            int i = ( added != null ) ? added : count;
+            if ( added == null ) {
+                if ( count == ids.length ) {
+                    grow();
+                }
+                numbers.put( scene.getID(), count++ );
+            }
+
+            ids[i] = intern( scene.getID() );
+            Path path = scene.getPath().getPath();
+            Path folder = path.getParent(); // Split so that folders shared by many Scenes are only stored once.
+            Path parent = ( folder == null ) ? null : folder.getParent();
+            Path folderName = ( folder == null ) ? null : folder.getFileName();
+            parents[i] = intern( ( parent == null ) ? null : parent.toString() );
+            folders[i] = intern( ( folder == null ) ? null // A root folder has no name of its own.
+                    : ( ( folderName == null ) ? folder : folderName ).toString() );
+            files[i] = intern( path.getFileName().toString() );
+            graphics[i] = intern( scene.getGraphic() );
+            audios[i] = intern( scene.getAudio() );
+            byte flag = scene.getPath().inJar() ? IN_JAR : 0;
+            codes[i] = 0;
+            optionStarts[i] = optionCount;
+            optionCounts[i] = 0;
+            if ( scene instanceof ChoiceScene ) {
+                flag |= CHOICE_SCENE;
+                for ( Choice choice : ( (ChoiceScene) scene ).getOptions() ) {
+
+                    if ( optionCount == optionTexts.length ) {
+                        optionTexts = Arrays.copyOf( optionTexts, optionCount * 2 );
+                        optionTargets = Arrays.copyOf( optionTargets, optionCount * 2 );
+                    }
+                    optionTexts[optionCount] = intern( choice.toString() );
+                    optionTargets[optionCount++] = intern( choice.getTarget() );
+                    optionCounts[i]++;
+
+                }
+            } else if ( scene instanceof EndScene ) {
+                flag |= END_SCENE;
+                codes[i] = ( (EndScene) scene ).getCode();
+            }
+            flags[i] = flag;
+            fileSystem = path.getFileSystem();
+            jar = scene.getPath().getJar(); // Resources all come from the same place.
+            return added != null;
+
+        }
+
+        /**
+         * Identifies whether a Scene with the given ID was added.
+         *
+         * @param id The ID.
+         * @return true if there is such a Scene, false otherwise.
+         */
+        public boolean contains( String id ) {
+
+            return numbers.containsKey( id );
+
+        }
+
+        /**
+         * Builds a store with the Scenes added so far.<br>
+         * The choice targets that are not among the added Scenes are kept, but lead to no Scene.
+         *
+         * @return The store.
+         */
+        public CompactSceneStore build() {
+
+            return new CompactSceneStore( this );
+
+        }
+
+        /**
+         * Doubles the capacity of the arrays of Scene fields.
+         */
+        private void grow() {
+
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf( ids, capacity );
+            flags = Arrays.copyOf( flags, capacity );
+            parents = Arrays.copyOf( parents, capacity );
+            folders = Arrays.copyOf( folders, capacity );
+            files = Arrays.copyOf( files, capacity );
+            graphics = Arrays.copyOf( graphics, capacity );
+            audios = Arrays.copyOf( audios, capacity );
+            codes = Arrays.copyOf( codes, capacity );
+            optionStarts = Arrays.copyOf( optionStarts, capacity );
+            optionCounts = Arrays.copyOf( optionCounts, capacity );
+
+        }
+
+        /**
+         * Places a string in the pool, unless it is already there.
+         *
+         * @param string The string. May be null.
+         * @return The number of the string, or -1 if it is null.
+         */
+        private int intern( String string ) {
+
+            if ( string == null ) {
+                return -1;
+            }
+            Integer number = pool.get( string );
+            if ( number == null ) {
+                number = strings.size();
+                pool.put( string, number );
+                strings.add( string );
+            }
+            return number;
+
+        }
+
+    }
+
+    /**
+     * Choice of a Scene in the store, that obtains its target Scene from the store (so target Scenes are only
+     * created when needed).
+     *
+     * @version 1.0
+     * @author Thiago
+     * @since 2026-10-17
+     */
+    private class StoredChoice extends Choice {
+
+        private final int target;
+
+        /**
+         * Creates a new choice.
+         *
+         * @param text Text to be displayed for this choice.
+         * @param targetID ID of the target of this choice.
+         * @param target Number of the target Scene, or negative if the target is not a Scene.
+         */
+        public StoredChoice( String text, String targetID, int target ) {
+
+            super( text, targetID );
+            this.target = target;
+
+        }
+
+        @Override
+        public Scene getTargetScene() {
+
+            return ( target >= 0 ) ? scene( target ) : null;
+
+        }
+
+        @Override
+        public boolean isLinked() {
+
+            return true;
+
+        }
+
+    }
+
+}
@@ -11,7 +11,7 @@ public class EndScene extends Scene {
     
     public static final String CODE_OOB_ERROR = "End code out of acceptable range.";
     
-    public static final int MAX_CODE = 64;
+    public static final int MAX_CODE = 1024;
     public static final int MIN_CODE = 1;
     
     private final int endCode;
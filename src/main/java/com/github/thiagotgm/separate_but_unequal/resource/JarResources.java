@@ -0,0 +1,195 @@
+package com.github.thiagotgm.separate_but_unequal.resource;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Provides the resource files inside a jar.<p>
+ * The jar is opened once and kept open for the rest of the session, with an index of all its entries built when it
+ * is opened, so opening a file only takes a lookup in the index. Opening the same jar again gives the same
+ * instance.<p>
+ * Paths of files in the jar are relative paths with the same names as the entries (such as
+ * <code>resources/Story/resource.xml</code>). Can be used from multiple threads.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+public class JarResources implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger( JarResources.class );
+
+    private static final String SEPARATOR = "!/"; // Separates the jar from the entry in a jar URI.
+    private static final Map<Path, JarResources> opened = new HashMap<>();
+
+    private final Path file;
+    private final ZipFile zip;
+    private final Map<String, ZipEntry> entries;
+
+    /**
+     * Opens a jar and indexes its entries.
+     *
+     * @param file The jar file.
+     * @throws IOException if the jar could not be opened.
+     */
+    private JarResources( Path file ) throws IOException {
+
+        this.file = file;
+        this.zip = new ZipFile( file.toFile() );
+        Map<String, ZipEntry> entries = new LinkedHashMap<>(); // Keeps the order of the jar.
+        for ( Enumeration<? extends ZipEntry> it = zip.entries(); it.hasMoreElements(); ) {
+
+            ZipEntry entry = it.nextElement();
+            if ( !entry.isDirectory() ) {
+                entries.put( entry.getName(), entry );
+            }
+
+        }
+        this.entries = Collections.unmodifiableMap( entries );
+        log.debug( "Opened jar '" + file + "' with " + entries.size() + " files." );
+
+    }
+
+    /**
+     * Opens the given jar, or retrieves it if it is already open.
+     *
+     * @param file The jar file.
+     * @return The opened jar.
+     * @throws IOException if the jar could not be opened.
+     */
+    public static synchronized JarResources open( Path file ) throws IOException {
+
+        Path key = file.toAbsolutePath().normalize();
+        JarResources jar = opened.get( key );
+        if ( jar == null ) {
+            jar = new JarResources( key );
+            opened.put( key, jar );
+        }
+        return jar;
+
+    }
+
+    /**
+     * Opens the jar that contains the given location, or retrieves it if it is already open.
+     *
+     * @param location A location inside a jar, as a URI with the <code>jar</code> scheme (such as
+     *                 <code>jar:file:/game.jar!/resources</code>).
+     * @return The opened jar.
+     * @throws IOException if the jar could not be opened.
+     * @throws IllegalArgumentException if the URI is not a location inside a jar.
+     */
+    public static JarResources open( URI location ) throws IOException, IllegalArgumentException {
+
+        String spec = location.getRawSchemeSpecificPart();
+        int separator = spec.indexOf( SEPARATOR );
+        if ( !"jar".equals( location.getScheme() ) || ( separator < 0 ) ) {
+            throw new IllegalArgumentException( "Not a location inside a jar: " + location );
+        }
+        return open( Paths.get( URI.create( spec.substring( 0, separator ) ) ) );
+
+    }
+
+    /**
+     * Obtains the name of the jar entry that corresponds to a path.
+     *
+     * @param path The path of a file in a jar.
+     * @return The entry name.
+     */
+    public static String entryName( Path path ) {
+
+        String name = path.toString().replace( File.separatorChar, '/' );
+        return name.startsWith( "/" ) ? name.substring( 1 ) : name;
+
+    }
+
+    /**
+     * Retrieves the names of all the files in the jar.
+     *
+     * @return The names of the files, in the order they are in the jar. The collection is unmodifiable.
+     */
+    public Collection<String> getNames() {
+
+        return entries.keySet();
+
+    }
+
+    /**
+     * Identifies whether the given file exists in the jar.
+     *
+     * @param path The path of the file.
+     * @return true if the file exists, false otherwise.
+     */
+    public boolean exists( Path path ) {
+
+        return entries.containsKey( entryName( path ) );
+
+    }
+
+    /**
+     * Retrieves the time that the given file was last modified.
+     *
+     * @param path The path of the file.
+     * @return The modification time, in milliseconds since the epoch, or 0 if the file does not exist or the time
+     *         is unknown.
+     */
+    public long getLastModified( Path path ) {
+
+        ZipEntry entry = entries.get( entryName( path ) );
+        return ( entry == null ) ? 0 : Math.max( entry.getTime(), 0 );
+
+    }
+
+    /**
+     * Opens a file in the jar.
+     *
+     * @param path The path of the file.
+     * @return The contents of the file, or null if it does not exist or could not be opened.
+     */
+    public InputStream getInputStream( Path path ) {
+
+        ZipEntry entry = entries.get( entryName( path ) );
+        if ( entry == null ) {
+            log.warn( "File '" + path + "' not found in jar '" + file + "'." );
+            return null;
+        }
+        try {
+            return zip.getInputStream( entry );
+        } catch ( IOException e ) {
+            log.warn( "Could not obtain stream for file '" + path + "' in jar '" + file + "'.", e );
+            return null;
+        }
+
+    }
+
+    /**
+     * Closes the jar. Opening it again afterwards opens a new instance.
+     *
+     * @throws IOException if an error occurred while closing the jar.
+     */
+    @Override
+    public void close() throws IOException {
+
+        synchronized ( JarResources.class ) {
+            opened.remove( file );
+        }
+        zip.close();
+
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.github.thiagotgm.separate_but_unequal.resource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.thiagotgm.separate_but_unequal.resource.Resource.ResourceType;
+import com.github.thiagotgm.separate_but_unequal.resource.reader.ResourceReader;
+
+/**
+ * Resource library that only knows the ID and type of each resource until it is requested.<p>
+ * Each resource file is read in full the first time the Resource it describes is retrieved, and the Resource is
+ * kept from then on. If reading the file fails, the Resource is treated as non-existent from then on.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ * @see ResourceLoader#catalog(java.util.Collection)
+ */
+public class ResourceCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger( ResourceCatalog.class );
+
+    private final Map<String, ResourcePath> files;
+    private final Map<String, ResourceType> types;
+    private final Map<String, Resource> loaded;
+    private final Set<String> failed;
+
+    /**
+     * Creates a catalog of the given resource files.
+     *
+     * @param files The resource file of each Resource, keyed by Resource ID.
+     * @param types The type of each Resource, keyed by Resource ID.
+     */
+    ResourceCatalog( Map<String, ResourcePath> files, Map<String, ResourceType> types ) {
+
+        this.files = files;
+        this.types = types;
+        this.loaded = new ConcurrentHashMap<>();
+        this.failed = Collections.newSetFromMap( new ConcurrentHashMap<String, Boolean>() );
+
+    }
+
+    /**
+     * Retrieves the Resource with the given ID, reading its file if it was not read yet.
+     *
+     * @param id The ID of the Resource.
+     * @return The Resource, or null if there is no Resource with that ID or its file could not be read.
+     */
+    public Resource get( String id ) {
+
+        Resource res = loaded.get( id );
+        if ( res != null ) {
+            return res;
+        }
+        ResourcePath file = files.get( id );
+        if ( ( file == null ) || failed.contains( id ) ) {
+            return null;
+        }
+        try {
+            res = ResourceReader.readResource( file );
+        } catch ( XMLStreamException e ) {
+            log.error( "Failed to load file '" + file.getPath() + "'.", e );
+            failed.add( id );
+            return null;
+        }
+        log.debug( "Loaded resource '" + id + "' on demand." );
+        Resource previous = loaded.putIfAbsent( id, res ); // Another thread may have read it at the same time.
+        return ( previous != null ) ? previous : res;
+
+    }
+
+    /**
+     * Determines whether there is a Resource with the given ID.<br>
+     * Resources whose files were not read yet are assumed to be valid.
+     *
+     * @param id The ID to be checked.
+     * @return true if there is a Resource with that ID, false otherwise.
+     */
+    public boolean contains( String id ) {
+
+        return files.containsKey( id ) && !failed.contains( id );
+
+    }
+
+    /**
+     * Retrieves the IDs of all Resources of the given type, without reading their files.
+     *
+     * @param type The type of Resource.
+     * @return The IDs of the Resources of that type.
+     */
+    public List<String> getIDs( ResourceType type ) {
+
+        List<String> ids = new ArrayList<>();
+        for ( Map.Entry<String, ResourceType> entry : types.entrySet() ) {
+
+            if ( entry.getValue() == type ) {
+                ids.add( entry.getKey() );
+            }
+
+        }
+        return ids;
+
+    }
+
+    /**
+     * Retrieves the amount of Resources in the catalog.
+     *
+     * @return The amount of Resources.
+     */
+    public int size() {
+
+        return files.size();
+
+    }
+
+    /**
+     * Retrieves the amount of Resources that were already read.
+     *
+     * @return The amount of Resources read.
+     */
+    public int getLoadedCount() {
+
+        return loaded.size();
+
+    }
+
+}
@@ -0,0 +1,456 @@
+package com.github.thiagotgm.separate_but_unequal.resource;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.thiagotgm.separate_but_unequal.resource.Resource.ResourceType;
+
+/**
+ * Compact binary snapshot of a resource library, used to skip parsing the resource files on startup.<p>
+ * Each entry in the index is keyed by the path of the resource file it was built from, and records the modification
+ * time that file had when it was read. An entry is only used while the file still has that same modification time,
+ * so any file that was edited since the index was written gets read from its XML again.<p>
+ * The whole index is read with a single sequential read, and each Resource is only decoded once it is
+ * requested.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+public class ResourceIndex {
+
+    private static final Logger log = LoggerFactory.getLogger( ResourceIndex.class );
+
+    private static final int MAGIC = 0x53425545; // "SBUE"
+    private static final int VERSION = 2;
+
+    private final byte[] data;
+    private final Map<String, Integer> offsets;
+    private final Map<String, Long> modified;
+
+    /**
+     * Creates an index over the given encoded data.
+     *
+     * @param data The encoded entries.
+     * @param offsets The offset in the data where each entry starts, keyed by source path.
+     * @param modified The modification time recorded for each entry, keyed by source path.
+     */
+    private ResourceIndex( byte[] data, Map<String, Integer> offsets, Map<String, Long> modified ) {
+
+        this.data = data;
+        this.offsets = offsets;
+        this.modified = modified;
+
+    }
+
+    /**
+     * Reads the index stored in the given file.
+     *
+     * @param file The index file.
+     * @return The index stored in the file.
+     * @throws IOException if the file could not be read or is not a valid index.
+     */
+    public static ResourceIndex read( Path file ) throws IOException {
+
+        byte[] data = Files.readAllBytes( file );
+        Map<String, Integer> offsets = new HashMap<>();
+        Map<String, Long> modified = new HashMap<>();
+        try {
+            DataInputStream in = new DataInputStream( new ByteArrayInputStream( data ) );
+            if ( ( in.readInt() != MAGIC ) || ( in.readInt() != VERSION ) ) {
+                throw new IOException( "Unrecognized resource index format." );
+            }
+            int count = in.readInt();
+            for ( int i = 0; i < count; i++ ) { // Reads the header of each entry.
+
+                String source = readString( in );
+                modified.put( source, in.readLong() );
+                int length = in.readInt();
+                offsets.put( source, data.length - in.available() );
+                if ( in.skipBytes( length ) != length ) {
+                    throw new IOException( "Resource index is truncated." );
+                }
+
+            }
+        } catch ( RuntimeException e ) {
+            throw new IOException( "Resource index is corrupted.", e );
+        }
+        return new ResourceIndex( data, offsets, modified );
+
+    }
+
+    /**
+     * Retrieves the amount of entries in this index.
+     *
+     * @return The amount of entries.
+     */
+    public int size() {
+
+        return offsets.size();
+
+    }
+
+    /**
+     * Identifies whether the index has an entry for the given resource file that is up to date.
+     *
+     * @param source The resource file.
+     * @param lastModified The current modification time of the resource file.
+     * @return true if the file is in the index and was not modified since the index was written, false otherwise.
+     */
+    public boolean isCurrent( ResourcePath source, long lastModified ) {
+
+        Long recorded = modified.get( source.getPath().toString() );
+        return ( recorded != null ) && ( recorded == lastModified );
+
+    }
+
+    /**
+     * Retrieves the Resource that was built from the given resource file, as long as the file was not modified since
+     * the index was written.
+     *
+     * @param source The resource file.
+     * @param lastModified The current modification time of the resource file.
+     * @return The Resource described by the file, or null if the file is not in the index, if the index entry is out
+     *         of date, or if the entry could not be decoded.
+     */
+    public Resource get( ResourcePath source, long lastModified ) {
+
+        if ( !isCurrent( source, lastModified ) ) {
+            return null; // Not indexed or out of date.
+        }
+        String key = source.getPath().toString();
+        DataInputStream in = new DataInputStream( new ByteArrayInputStream( data, offsets.get( key ),
+                data.length - offsets.get( key ) ) );
+        try {
+            return readResource( in, source );
+        } catch ( IOException | RuntimeException e ) {
+            log.warn( "Could not decode index entry for '" + key + "'.", e );
+            return null;
+        }
+
+    }
+
+    /**
+     * Writes an index of the given resources to a file.<br>
+     * The index is first written to a temporary file that then replaces the given file, so an interrupted write
+     * never leaves a partial index behind.
+     *
+     * @param file The file to write the index to.
+     * @param resources The resources to be indexed, keyed by the resource file they were built from.
+     * @param lastModified The modification time of each resource file.
+     * @throws IOException if the index could not be written.
+     */
+    public static void write( Path file, Map<ResourcePath, Resource> resources, Map<ResourcePath, Long> lastModified )
+            throws IOException {
+
+        Writer writer = new Writer();
+        for ( Map.Entry<ResourcePath, Resource> res : resources.entrySet() ) {
+
+            writer.add( res.getKey(), res.getValue(), lastModified.get( res.getKey() ) );
+
+        }
+        writer.write( file );
+
+    }
+
+    /**
+     * Encodes a Resource.
+     *
+     * @param out Stream to write the Resource to.
+     * @param source The resource file the Resource was built from.
+     * @param res The Resource to be written.
+     * @throws IOException if an error occurred while writing.
+     */
+    private static void writeResource( DataOutputStream out, ResourcePath source, Resource res ) throws IOException {
+
+        out.writeByte( res.getType().ordinal() );
+        writeString( out, res.getID() );
+        switch ( res.getType() ) {
+
+            case SCENE:
+            case CHOICE_SCENE:
+            case END_SCENE:
+                Scene scene = (Scene) res;
+                Path text = source.getPath().getParent().relativize( scene.getPath().getPath() );
+                writeString( out, text.toString() );
+                writeNullable( out, scene.getGraphic() );
+                writeNullable( out, scene.getAudio() );
+                if ( res.getType() == ResourceType.CHOICE_SCENE ) {
+                    List<Choice> options = ( (ChoiceScene) res ).getOptions();
+                    out.writeInt( options.size() );
+                    for ( Choice option : options ) {
+
+                        writeString( out, option.toString() );
+                        writeString( out, option.getTarget() );
+
+                    }
+                } else if ( res.getType() == ResourceType.END_SCENE ) {
+                    out.writeInt( ( (EndScene) res ).getCode() );
+                }
+                break;
+
+            case STORY:
+                Story story = (Story) res;
+                out.writeChar( story.getCode() );
+                writeString( out, story.getName() );
+                writeString( out, story.getDescription() );
+                writeString( out, story.getStart() );
+                writeNullable( out, story.getGraphic() );
+                break;
+
+            case ACHIEVEMENT:
+                Achievement achievement = (Achievement) res;
+                out.writeChar( achievement.getStoryCode() );
+                out.writeInt( achievement.getEndCode() );
+                writeString( out, achievement.getTitle() );
+                writeString( out, achievement.getText() );
+                writeNullable( out, achievement.getGraphic() );
+                break;
+
+            default:
+                throw new IOException( "Resource type " + res.getType() + " cannot be indexed." );
+
+        }
+
+    }
+
+    /**
+     * Decodes a Resource.
+     *
+     * @param in Stream to read the Resource from.
+     * @param source The resource file the Resource was built from.
+     * @return The decoded Resource.
+     * @throws IOException if an error occurred while reading.
+     */
+    private static Resource readResource( DataInputStream in, ResourcePath source ) throws IOException {
+
+        ResourceType type = ResourceType.values()[in.readByte()];
+        ResourceFactory factory = ResourceFactory.newInstance( type, readString( in ) );
+        switch ( type ) {
+
+            case SCENE:
+            case CHOICE_SCENE:
+            case END_SCENE:
+                ( (SceneFactory) factory ).withPath( source.resolveSibling( readString( in ) ) )
+                        .withGraphic( readNullable( in ) ).withAudio( readNullable( in ) );
+                if ( type == ResourceType.CHOICE_SCENE ) {
+                    int count = in.readInt();
+                    List<Choice> options = new ArrayList<>( count );
+                    for ( int i = 0; i < count; i++ ) {
+
+                        options.add( new Choice( readString( in ), readString( in ) ) );
+
+                    }
+                    ( (ChoiceSceneFactory) factory ).withOptions( options );
+                } else if ( type == ResourceType.END_SCENE ) {
+                    ( (EndSceneFactory) factory ).withCode( in.readInt() );
+                }
+                break;
+
+            case STORY:
+                ( (StoryFactory) factory ).withCode( in.readChar() ).withName( readString( in ) )
+                        .withDescription( readString( in ) ).withStart( readString( in ) )
+                        .withGraphic( readNullable( in ) );
+                break;
+
+            case ACHIEVEMENT:
+                ( (AchievementFactory) factory ).withStoryCode( in.readChar() ).withEndCode( in.readInt() )
+                        .withTitle( readString( in ) ).withText( readString( in ) )
+                        .withGraphic( readNullable( in ) );
+                break;
+
+            default:
+                throw new IOException( "Resource type " + type + " cannot be indexed." );
+
+        }
+        return factory.build();
+
+    }
+
+    /**
+     * Writer that builds an index one entry at a time, so the Resources do not need to be kept in memory until the
+     * index is written.<br>
+     * Entries are encoded as they are added, and entries that are still up to date can be copied straight from an
+     * existing index, without decoding them.
+     *
+     * @version 1.0
+     * @author Thiago
+     * @since 2026-10-17
+     */
+    public static class Writer {
+
+        private final ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream( entries );
+        private int count;
+
+        /**
+         * Adds an entry for a Resource.
+         *
+         * @param source The resource file the Resource was built from.
+         * @param res The Resource.
+         * @param lastModified The modification time of the resource file.
+         * @throws IOException if the Resource could not be encoded.
+         */
+        public void add( ResourcePath source, Resource res, long lastModified ) throws IOException {
+
+            ByteArrayOutputStream entry = new ByteArrayOutputStream();
+            writeResource( new DataOutputStream( entry ), source, res );
+            writeString( out, source.getPath().toString() );
+            out.writeLong( lastModified );
+            out.writeInt( entry.size() );
+            entry.writeTo( out );
+            count++;
+
+        }
+
+        /**
+         * Copies the entry for a resource file from an existing index, as is.
+         *
+         * @param index The existing index.
+         * @param source The resource file.
+         * @return true if the entry was copied, false if the index has no entry for the file.
+         * @throws IOException if the entry could not be copied.
+         */
+        public boolean copy( ResourceIndex index, ResourcePath source ) throws IOException {
+
+            String key = source.getPath().toString();
+            Integer offset = index.offsets.get( key );
+            if ( offset == null ) {
+                return false;
+            }
+            DataInputStream in = new DataInputStream( new ByteArrayInputStream( index.data, offset - Integer.BYTES,
+                    Integer.BYTES ) );
+            writeString( out, key );
+            out.writeLong( index.modified.get( key ) );
+            int length = in.readInt();
+            out.writeInt( length );
+            out.write( index.data, offset, length );
+            count++;
+            return true;
+
+        }
+
+        /**
+         * Retrieves the amount of entries added so far.
+         *
+         * @return The amount of entries.
+         */
+        public int size() {
+
+            return count;
+
+        }
+
+        /**
+         * Writes the index to a file.<br>
+         * The index is first written to a temporary file that then replaces the given file, so an interrupted write
+         * never leaves a partial index behind.
+         *
+         * @param file The file to write the index to.
+         * @throws IOException if the index could not be written.
+         */
+        public void write( Path file ) throws IOException {
+
+            Path absolute = file.toAbsolutePath();
+            Path temp = Files.createTempFile( absolute.getParent(), absolute.getFileName().toString(), ".tmp" );
+            try {
+                try ( OutputStream stream = new BufferedOutputStream( Files.newOutputStream( temp ) ) ) {
+
+                    DataOutputStream header = new DataOutputStream( stream );
+                    header.writeInt( MAGIC );
+                    header.writeInt( VERSION );
+                    header.writeInt( count );
+                    header.flush();
+                    entries.writeTo( stream );
+
+                }
+                AtomicFiles.replace( temp, file );
+            } finally {
+                Files.deleteIfExists( temp );
+            }
+
+        }
+
+    }
+
+    /**
+     * Writes a String as its length in bytes followed by its UTF-8 encoding.<br>
+     * Unlike {@link DataOutputStream#writeUTF(String)}, there is no limit of 65535 bytes, so long texts can be
+     * indexed too.
+     *
+     * @param out Stream to write to.
+     * @param value The String to write.
+     * @throws IOException if an error occurred while writing.
+     */
+    private static void writeString( DataOutputStream out, String value ) throws IOException {
+
+        byte[] bytes = value.getBytes( StandardCharsets.UTF_8 );
+        out.writeInt( bytes.length );
+        out.write( bytes );
+
+    }
+
+    /**
+     * Reads a String written by {@link #writeString(DataOutputStream, String)}.
+     *
+     * @param in Stream to read from.
+     * @return The String read.
+     * @throws IOException if an error occurred while reading.
+     */
+    private static String readString( DataInputStream in ) throws IOException {
+
+        int length = in.readInt();
+        if ( ( length < 0 ) || ( length > in.available() ) ) {
+            throw new IOException( "Invalid string length: " + length );
+        }
+        byte[] bytes = new byte[ length ];
+        in.readFully( bytes );
+        return new String( bytes, StandardCharsets.UTF_8 );
+
+    }
+
+    /**
+     * Writes a String that may be null.
+     *
+     * @param out Stream to write to.
+     * @param value The String to write.
+     * @throws IOException if an error occurred while writing.
+     */
+    private static void writeNullable( DataOutputStream out, String value ) throws IOException {
+
+        out.writeBoolean( value != null );
+        if ( value != null ) {
+            writeString( out, value );
+        }
+
+    }
+
+    /**
+     * Reads a String that may be null.
+     *
+     * @param in Stream to read from.
+     * @return The String read.
+     * @throws IOException if an error occurred while reading.
+     */
+    private static String readNullable( DataInputStream in ) throws IOException {
+
+        return in.readBoolean() ? readString( in ) : null;
+
+    }
+
+}
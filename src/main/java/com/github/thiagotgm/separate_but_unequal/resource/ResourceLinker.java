@@ -0,0 +1,168 @@
+package com.github.thiagotgm.separate_but_unequal.resource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import com.github.thiagotgm.separate_but_unequal.resource.Resource.ResourceType;
+
+/**
+ * Links the choices of each ChoiceScene in a resource library to the Scenes they lead to, so navigating does not
+ * need to look targets up by ID, and reports the targets that could not be linked.<br>
+ * The starting Scene of each Story is checked as well.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+public final class ResourceLinker {
+
+    /**
+     * Prevents instantiation.
+     */
+    private ResourceLinker() {}
+
+    /**
+     * Links every choice in the given Resources to its target.
+     *
+     * @param resources The Resources to link.
+     * @param lookup Function that obtains the Resource with a given ID (or null if there is none).
+     * @return The targets that do not identify a Scene. Empty if every target is valid.
+     */
+    public static List<Problem> link( Collection<Resource> resources, Function<String, Resource> lookup ) {
+
+        List<Problem> problems = new ArrayList<>();
+        for ( Resource res : resources ) {
+
+            if ( res instanceof ChoiceScene ) {
+                for ( Choice option : ( (ChoiceScene) res ).getOptions() ) {
+
+                    Resource target = lookup.apply( option.getTarget() );
+                    option.link( ( target instanceof Scene ) ? (Scene) target : null );
+                    check( res.getID(), option.getTarget(), target, problems );
+
+                }
+            } else if ( res instanceof Story ) {
+                String start = ( (Story) res ).getStart();
+                check( res.getID(), start, lookup.apply( start ), problems );
+            }
+
+        }
+        return problems;
+
+    }
+
+    /**
+     * Reports the choice targets in the given compact scene store that could not be linked.<br>
+     * The choices in the store are linked when it is built, so only the targets that are not Scenes in the store are
+     * looked up.
+     *
+     * @param store The store to check.
+     * @param lookup Function that obtains the Resource (outside the store) with a given ID (or null if there is
+     *               none).
+     * @return The targets that do not identify a Scene. Empty if every target is valid.
+     */
+    public static List<Problem> check( CompactSceneStore store, Function<String, Resource> lookup ) {
+
+        List<Problem> problems = new ArrayList<>();
+        store.forEachUnlinked( ( source, target ) -> check( source, target, lookup.apply( target ), problems ) );
+        return problems;
+
+    }
+
+    /**
+     * Records a problem if the given target is not a Scene.
+     *
+     * @param source The ID of the Resource that refers to the target.
+     * @param targetID The ID of the target.
+     * @param target The target found, or null if there was none.
+     * @param problems The list to record the problem in.
+     */
+    private static void check( String source, String targetID, Resource target, List<Problem> problems ) {
+
+        if ( target == null ) {
+            problems.add( new Problem( source, targetID, null ) );
+        } else if ( !( target instanceof Scene ) ) {
+            problems.add( new Problem( source, targetID, target.getType() ) );
+        }
+
+    }
+
+    /**
+     * A reference to a target that is not a Scene.
+     *
+     * @version 1.0
+     * @author Thiago
+     * @since 2026-10-17
+     */
+    public static class Problem {
+
+        private final String source;
+        private final String target;
+        private final ResourceType targetType;
+
+        /**
+         * Creates a new problem.
+         *
+         * @param source The ID of the Resource that refers to the target.
+         * @param target The ID of the target.
+         * @param targetType The type of the target, or null if it does not exist.
+         */
+        private Problem( String source, String target, ResourceType targetType ) {
+
+            this.source = source;
+            this.target = target;
+            this.targetType = targetType;
+
+        }
+
+        /**
+         * Retrieves the ID of the Resource that refers to the target.
+         *
+         * @return The ID of the Scene or Story.
+         */
+        public String getSource() {
+
+            return source;
+
+        }
+
+        /**
+         * Retrieves the ID of the target.
+         *
+         * @return The target ID.
+         */
+        public String getTarget() {
+
+            return target;
+
+        }
+
+        /**
+         * Retrieves the type of the target.
+         *
+         * @return The type of the Resource that the target identifies, or null if there is no such Resource.
+         */
+        public ResourceType getTargetType() {
+
+            return targetType;
+
+        }
+
+        /**
+         * Describes this problem.
+         *
+         * @return A description of the problem.
+         */
+        @Override
+        public String toString() {
+
+            return "'" + source + "' leads to '" + target + "', which " + ( ( targetType == null )
+                    ? "does not exist." : "is not a scene (" + targetType + ")." );
+
+        }
+
+    }
+
+}
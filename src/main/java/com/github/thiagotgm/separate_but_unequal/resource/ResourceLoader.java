@@ -0,0 +1,522 @@
+package com.github.thiagotgm.separate_but_unequal.resource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.thiagotgm.separate_but_unequal.NamedThreadFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource.ResourceType;
+import com.github.thiagotgm.separate_but_unequal.resource.reader.ResourceReader;
+
+/**
+ * Class that finds the resource files in a resource file tree and reads them into Resource objects, or catalogs them
+ * to be read on demand.<br>
+ * Files can be read one after another on the calling thread, or spread across a pool of worker threads. The Resources
+ * can also be handed over one at a time as they are read, so that a caller that packs them some other way never has
+ * to keep all of them in memory.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+public class ResourceLoader {
+
+    private static final Logger log = LoggerFactory.getLogger( ResourceLoader.class );
+
+    /** Name of the file that describes a resource. */
+    public static final String RESOURCE_IDENTIFIER = "resource.xml";
+    /** Thread name to be used for the worker threads. */
+    public static final String THREAD_NAME = "Resource Loader";
+
+    private static final int MAX_DEPTH = Integer.MAX_VALUE;
+    private static final int BATCH_SIZE = 256; // Files read at a time when handing Resources over as they are read.
+
+    private final int threads;
+
+    /**
+     * Creates a new loader that uses the given amount of threads to read resource files.<br>
+     * If the amount is 1, all files are read on the calling thread. If it is 0, one thread is used for each
+     * processor available.
+     *
+     * @param threads Amount of threads to read files with.
+     * @throws IllegalArgumentException if the amount of threads is negative.
+     */
+    public ResourceLoader( int threads ) throws IllegalArgumentException {
+
+        if ( threads < 0 ) {
+            throw new IllegalArgumentException( "Amount of loader threads cannot be negative." );
+        }
+        this.threads = ( threads == 0 ) ? Runtime.getRuntime().availableProcessors() : threads;
+
+    }
+
+    /**
+     * Retrieves the amount of threads used by this loader.
+     *
+     * @return The amount of threads.
+     */
+    public int getThreads() {
+
+        return threads;
+
+    }
+
+    /**
+     * Finds and reads all the resource files in the resource file tree with the given root.
+     *
+     * @param root URI of the root folder of the resource file tree.
+     * @return The resources read, keyed by their IDs.
+     * @throws IOException if an error was encountered while identifying the resource files.
+     * @see #findResourceFiles(URI)
+     * @see #readResources(Collection)
+     */
+    public Map<String, Resource> load( URI root ) throws IOException {
+
+        return readResources( findResourceFiles( root ).keySet() );
+
+    }
+
+    /**
+     * Finds all the resource files in the resource file tree with the given root, and obtains the Resources they
+     * describe from the given index file.<br>
+     * Only the files that are not in the index, or that were modified after the index was written, are read from
+     * their XML. If any file had to be read (or the index had entries for files that no longer exist), the index is
+     * rewritten to match the current resource files.<br>
+     * If the index file does not exist or is invalid, all files are read and a new index is written.
+     *
+     * @param root URI of the root folder of the resource file tree.
+     * @param indexFile Path of the index file.
+     * @return The resources read, keyed by their IDs.
+     * @throws IOException if an error was encountered while identifying the resource files.
+     * @see ResourceIndex
+     */
+    public Map<String, Resource> load( URI root, Path indexFile ) throws IOException {
+
+        return load( findResourceFiles( root ), indexFile );
+
+    }
+
+    /**
+     * Obtains the Resources described by the given resource files from the given index file.<br>
+     * Only the files that are not in the index, or that were modified after the index was written, are read from
+     * their XML. If any file had to be read (or the index had entries for files that are not given), the index is
+     * rewritten to match the given files.<br>
+     * If the index file does not exist or is invalid, all files are read and a new index is written.
+     *
+     * @param files The resource files, mapped to the time that each was last modified.
+     * @param indexFile Path of the index file.
+     * @return The resources read, keyed by their IDs.
+     * @see #findResourceFiles(URI)
+     * @see ResourceIndex
+     */
+    public Map<String, Resource> load( Map<ResourcePath, Long> files, Path indexFile ) {
+
+        Map<ResourcePath, Resource> bySource = new ConcurrentHashMap<>();
+        load( files, indexFile, bySource::put );
+        return byID( files.keySet(), bySource );
+
+    }
+
+    /**
+     * Obtains the Resources described by the given resource files from the given index file, handing each Resource
+     * over to the given consumer as soon as it is obtained.<br>
+     * The files are processed a batch at a time, and the Resources are handed over in the order of the given files
+     * (on the calling thread), so the consumer only needs to keep what it wants of each Resource. Otherwise, works
+     * like {@link #load(Map, Path)}.
+     *
+     * @param files The resource files, mapped to the time that each was last modified.
+     * @param indexFile Path of the index file.
+     * @param consumer The consumer that takes each Resource, along with the file it was obtained from.
+     * @see ResourceIndex
+     */
+    public void load( Map<ResourcePath, Long> files, Path indexFile, BiConsumer<ResourcePath, Resource> consumer ) {
+
+        ResourceIndex index = null;
+        if ( Files.exists( indexFile ) ) {
+            try {
+                index = ResourceIndex.read( indexFile );
+                log.info( "Read resource index with " + index.size() + " entries." );
+            } catch ( IOException e ) {
+                log.warn( "Could not read resource index. Rebuilding it.", e );
+            }
+        } else {
+            log.info( "No resource index found. Building it." );
+        }
+
+        int stale = 0;
+        for ( Map.Entry<ResourcePath, Long> file : files.entrySet() ) { // Finds what is not up to date in the index.
+
+            if ( ( index == null ) || !index.isCurrent( file.getKey(), file.getValue() ) ) {
+                stale++;
+            }
+
+        }
+        int indexed = files.size() - stale;
+        log.debug( indexed + " resources to be taken from the index, " + stale + " files to be read." );
+        ResourceIndex current = index;
+        ResourceIndex.Writer writer = ( ( index == null ) || ( stale > 0 ) || ( index.size() > indexed ) )
+                ? new ResourceIndex.Writer() : null; // Index does not match the current files anymore.
+        Set<ResourcePath> undecoded = new HashSet<>();
+        readInBatches( new ArrayList<>( files.keySet() ), file -> { // Takes what is up to date from the index.
+
+            if ( ( current == null ) || !current.isCurrent( file, files.get( file ) ) ) {
+                return null;
+            }
+            Resource res = current.get( file, files.get( file ) );
+            if ( res == null ) {
+                undecoded.add( file );
+            }
+            return res;
+
+        }, ( file, res ) -> {
+
+            consumer.accept( file, res );
+            if ( writer == null ) {
+                return;
+            }
+            try {
+                if ( undecoded.contains( file ) || ( current == null )
+                        || !current.isCurrent( file, files.get( file ) ) || !writer.copy( current, file ) ) {
+                    writer.add( file, res, files.get( file ) );
+                }
+            } catch ( IOException e ) {
+                log.warn( "Could not index resource file '" + file.getPath() + "'.", e );
+            }
+
+        });
+
+        if ( writer != null ) {
+            try {
+                writer.write( indexFile );
+                log.info( "Wrote resource index with " + writer.size() + " entries." );
+            } catch ( IOException e ) {
+                log.warn( "Could not write resource index.", e );
+            }
+        } else if ( !undecoded.isEmpty() ) { // The index is otherwise current, so it is not rewritten right away.
+            try {
+                Files.deleteIfExists( indexFile );
+                log.info( "Deleted resource index with entries that could not be decoded. It will be rebuilt." );
+            } catch ( IOException e ) {
+                log.warn( "Could not delete resource index.", e );
+            }
+        }
+
+    }
+
+    /**
+     * Obtains the path to each resource file present in the resource file tree with the given root.<br>
+     * The tree may be in the normal filesystem or inside a jar.
+     *
+     * @param root URI of the root folder of the resource file tree.
+     * @return The resource paths to each resource.xml file found in the resource file tree, in the order they were
+     *         found, mapped to the time (in milliseconds since the epoch) that each file was last modified.
+     * @throws IOException if an error was encountered while identifying the resource files.
+     */
+    public Map<ResourcePath, Long> findResourceFiles( URI root ) throws IOException {
+
+        Map<ResourcePath, Long> found = new LinkedHashMap<>();
+
+        if ( root.getScheme().equals( "jar" ) ) { // Resource file tree is in a jar, kept open for the session.
+            JarResources jar = JarResources.open( root );
+            String prefix = ResourceManager.RESOURCE_ROOT + "/";
+            for ( String name : jar.getNames() ) { // Goes through the index of the jar.
+
+                if ( name.startsWith( prefix ) && ( name.equals( prefix + RESOURCE_IDENTIFIER )
+                        || name.endsWith( "/" + RESOURCE_IDENTIFIER ) ) ) {
+                    Path next = Paths.get( name );
+                    found.put( new ResourcePath( next, jar ), jar.getLastModified( next ) );
+                }
+
+            }
+            return found;
+        }
+
+        try ( Stream<Path> walk = Files.walk( Paths.get( root ), MAX_DEPTH ) ) { // Goes through all files.
+            for ( Iterator<Path> it = walk.iterator(); it.hasNext(); ){
+
+                Path next = it.next();
+                if ( next.getFileName().toString().equals( RESOURCE_IDENTIFIER ) ) {
+                    found.put( new ResourcePath( next, false ), // Adds found resource.xml to the list.
+                            Files.getLastModifiedTime( next ).toMillis() );
+                }
+
+            }
+        }
+
+        return found;
+
+    }
+
+    /**
+     * Reads each of the given resource files.<br>
+     * Files that fail to be read are logged and skipped. If more than one file has the same resource ID, the
+     * one that comes last in the given files is used.
+     *
+     * @param files The resource files to be read.
+     * @return The resources read, keyed by their IDs.
+     */
+    public Map<String, Resource> readResources( Collection<ResourcePath> files ) {
+
+        Map<ResourcePath, Resource> bySource = new ConcurrentHashMap<>();
+        readResources( files, bySource::put );
+        return byID( files, bySource );
+
+    }
+
+    /**
+     * Reads each of the given resource files, handing each Resource over to the given consumer as soon as it is
+     * read.<br>
+     * The files are read a batch at a time, and the Resources are handed over in the order of the given files (on
+     * the calling thread). Files that fail to be read are logged and skipped.
+     *
+     * @param files The resource files to be read.
+     * @param consumer The consumer that takes each Resource, along with the file it was read from.
+     */
+    public void readResources( Collection<ResourcePath> files, BiConsumer<ResourcePath, Resource> consumer ) {
+
+        readInBatches( new ArrayList<>( files ), file -> null, consumer );
+
+    }
+
+    /**
+     * Keys the Resources read from the given files by their IDs, going through the files in the given order, so
+     * that the one that comes last wins if more than one file has the same ID (no matter which thread read it
+     * first).
+     *
+     * @param files The resource files, in order.
+     * @param bySource The Resources read, keyed by the file they were read from.
+     * @return The resources, keyed by their IDs.
+     */
+    private static Map<String, Resource> byID( Collection<ResourcePath> files,
+            Map<ResourcePath, Resource> bySource ) {
+
+        Map<String, Resource> resources = new ConcurrentHashMap<>();
+        for ( ResourcePath file : files ) {
+
+            Resource res = bySource.get( file );
+            if ( ( res != null ) && ( resources.put( res.getID(), res ) != null ) ) {
+                log.warn( "More than one resource file with ID '" + res.getID() + "'. Using '" + file.getPath()
+                        + "'." );
+            }
+
+        }
+        return resources;
+
+    }
+
+    /**
+     * Obtains the Resource of each of the given resource files a batch at a time, handing them over to the given
+     * consumer in the order of the files.<br>
+     * The files of each batch that cannot be obtained some other way are read from their XML, spread across the
+     * worker threads. Files that fail to be read are logged and skipped.
+     *
+     * @param files The resource files.
+     * @param other Function that obtains the Resource of a file without reading it, or gives null if the file must
+     *              be read.
+     * @param consumer The consumer that takes each Resource, along with the file it was obtained from.
+     */
+    private void readInBatches( List<ResourcePath> files, Function<ResourcePath, Resource> other,
+            BiConsumer<ResourcePath, Resource> consumer ) {
+
+        ExecutorService pool = ( ( threads == 1 ) || ( files.size() <= 1 ) ) ? null // Not worth starting any threads.
+                : Executors.newFixedThreadPool( Math.min( threads, Math.min( files.size(), BATCH_SIZE ) ),
+                        new NamedThreadFactory( THREAD_NAME ) );
+        try {
+            for ( int start = 0; start < files.size(); start += BATCH_SIZE ) {
+
+                List<ResourcePath> batch = files.subList( start, Math.min( files.size(), start + BATCH_SIZE ) );
+                Map<ResourcePath, Resource> resources = new ConcurrentHashMap<>();
+                List<ResourcePath> unread = new ArrayList<>();
+                for ( ResourcePath file : batch ) {
+
+                    Resource res = other.apply( file );
+                    if ( res != null ) {
+                        resources.put( file, res );
+                    } else {
+                        unread.add( file );
+                    }
+
+                }
+                forEach( unread, file -> readInto( file, resources ), pool );
+                for ( ResourcePath file : batch ) { // In order, so the same file wins every time.
+
+                    Resource res = resources.get( file );
+                    if ( res != null ) {
+                        consumer.accept( file, res );
+                    }
+
+                }
+
+            }
+        } finally {
+            if ( pool != null ) {
+                pool.shutdownNow();
+            }
+        }
+
+    }
+
+    /**
+     * Reads the header of each of the given resource files, making a catalog that reads each file in full only once
+     * the Resource it describes is requested.<br>
+     * Files whose header fails to be read are logged and skipped. If more than one file has the same resource ID,
+     * the one that comes last in the given files is used.
+     *
+     * @param files The resource files to be cataloged.
+     * @return The catalog of the resources.
+     * @see ResourceReader#readHeader(ResourcePath)
+     */
+    public ResourceCatalog catalog( Collection<ResourcePath> files ) {
+
+        Map<ResourcePath, ResourceReader.Header> headers = new ConcurrentHashMap<>();
+        forEach( files, file -> {
+
+            try {
+                headers.put( file, ResourceReader.readHeader( file ) );
+            } catch ( XMLStreamException e ) {
+                log.error( "Failed to read header of file '" + file.getPath() + "'.", e );
+            }
+
+        });
+        Map<String, ResourcePath> paths = new ConcurrentHashMap<>();
+        Map<String, ResourceType> types = new ConcurrentHashMap<>();
+        for ( ResourcePath file : files ) { // In order, so the same file wins every time.
+
+            ResourceReader.Header header = headers.get( file );
+            if ( header == null ) {
+                continue;
+            }
+            if ( paths.put( header.getID(), file ) != null ) {
+                log.warn( "More than one resource file with ID '" + header.getID() + "'. Using '"
+                        + file.getPath() + "'." );
+            }
+            types.put( header.getID(), header.getType() );
+
+        }
+        log.info( "Cataloged " + paths.size() + " resources." );
+        return new ResourceCatalog( paths, types );
+
+    }
+
+    /**
+     * Performs a task on each of the given resource files, spreading the files across the worker threads.
+     *
+     * @param files The resource files.
+     * @param task The task to be performed on each file.
+     */
+    private void forEach( Collection<ResourcePath> files, Consumer<ResourcePath> task ) {
+
+        if ( ( threads == 1 ) || ( files.size() <= 1 ) ) { // Not worth starting any threads.
+            forEach( files, task, null );
+            return;
+        }
+
+        int poolSize = Math.min( threads, files.size() );
+        log.debug( "Processing " + files.size() + " resource files with " + poolSize + " threads." );
+        ExecutorService pool = Executors.newFixedThreadPool( poolSize, new NamedThreadFactory( THREAD_NAME ) );
+        try {
+            forEach( files, task, pool );
+        } finally {
+            pool.shutdownNow();
+        }
+
+    }
+
+    /**
+     * Performs a task on each of the given resource files, spreading the files across the threads of the given
+     * pool.
+     *
+     * @param files The resource files.
+     * @param task The task to be performed on each file.
+     * @param pool The pool, or null to perform the task on the calling thread.
+     */
+    private static void forEach( Collection<ResourcePath> files, Consumer<ResourcePath> task,
+            ExecutorService pool ) {
+
+        if ( ( pool == null ) || ( files.size() <= 1 ) ) {
+            for ( ResourcePath file : files ) {
+
+                task.accept( file );
+
+            }
+            return;
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>( files.size() );
+        for ( ResourcePath file : files ) { // Makes a task for each file.
+
+            tasks.add( () -> {
+
+                task.accept( file );
+                return null;
+
+            });
+
+        }
+        try {
+            for ( Future<Void> result : pool.invokeAll( tasks ) ) { // Waits until all files are read.
+
+                try {
+                    result.get();
+                } catch ( ExecutionException e ) { // Unexpected failures propagate just like in a sequential read.
+                    Throwable cause = e.getCause();
+                    if ( cause instanceof RuntimeException ) {
+                        throw (RuntimeException) cause;
+                    }
+                    throw (Error) cause;
+                }
+
+            }
+        } catch ( InterruptedException e ) {
+            log.error( "Interrupted while processing resource files.", e );
+            Thread.currentThread().interrupt();
+        }
+
+    }
+
+    /**
+     * Reads a single resource file and places the resulting Resource in the given map, keyed by the file.<br>
+     * If the file could not be read, logs the failure and leaves the map unchanged.
+     *
+     * @param file The resource file to be read.
+     * @param resources The map to place the read Resource in.
+     */
+    private static void readInto( ResourcePath file, Map<ResourcePath, Resource> resources ) {
+
+        log.debug( "***[ Loading resource file '" + file.getPath() + "' ]***" );
+        try {
+            Resource res = ResourceReader.readResource( file );
+            resources.put( file, res );
+            log.info( "Loaded resource file '" + file.getPath() + "' successfully." );
+        } catch ( XMLStreamException e ) {
+            log.error( "Failed to load file '" + file.getPath() + "'.", e );
+        }
+
+    }
+
+}
@@ -2,24 +2,26 @@ package com.github.thiagotgm.separate_but_unequal.resource;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Hashtable;
+import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import javax.xml.stream.XMLStreamException;
@@ -43,20 +45,58 @@ public class ResourceManager {
     
     private static final Logger log = LoggerFactory.getLogger( ResourceManager.class );
     
-    private static final String RESOURCE_IDENTIFIER = "resource.xml";
-    private static final String RESOURCE_ROOT = "resources";
-    private static final int MAX_DEPTH = Integer.MAX_VALUE;
+    /** Name of the root folder of the resource file tree. */
+    static final String RESOURCE_ROOT = "resources";
+    /**
+     * System property with the folder that the save file, save journal and save slots are kept in, along with the
+     * resource index and scene text store. If not set, they are kept in the working directory.
+     */
+    public static final String SAVE_FOLDER_PROPERTY = "separate_but_unequal.saveFolder";
     
     private static final String DEFAULT_SETTINGS_FILE = "defaults.txt";
     private static final String TEXT_SPEED_MULTIPLIER = "textSpeedMultiplier";
+    private static final String LOADER_THREADS = "loaderThreads";
+    private static final String RESOURCE_INDEX = "resourceIndex";
+    private static final String SCENE_TEXT_STORE = "sceneTextStore";
+    private static final String LAZY_LOADING = "lazyLoading";
+    private static final String SCENE_CACHE_SIZE = "sceneCacheSize";
+    private static final String PREFETCH_DEPTH = "prefetchDepth";
+    private static final String HOT_RELOAD = "hotReload";
+    private static final String COMPACT_SCENES = "compactScenes";
     private static final String ENDING_TRACKER = "reachedEndings";
+    private static final String TRACKER_SEPARATOR = ",";
+    private static final String TRACKER_VERSION = "reachedEndingsFormat";
+    private static final int CURRENT_TRACKER_VERSION = 2; // Trackers saved before had no version.
     private static final String SAVE = "save";
     private static final String SAVE_FILE = "save.txt";
+    private static final String JOURNAL_FILE = "save.journal";
+    private static final String SAVES_FOLDER = "saves";
+    private static final long COMPACTION_DELAY = 10000; // Changes are in the journal meanwhile.
+    private static final String INDEX_FILE = "resources.idx";
+    private static final String SCENE_TEXT_FILE = "scenes.dat";
     private static final String SAVE_FILE_COMMENT = "Settings modified by the user, and information about the user's"
             + " progress in the game.";
 
-    private final Hashtable<String, Resource> resources;
+    private final Map<String, Resource> resources;
     private final Properties settings;
+    private final Path saveFolder;
+    private final File saveFile;
+    private final SaveJournal journal;
+    private final SaveWriter saveWriter;
+    private final SaveStore saves;
+    private SceneTextStore sceneText;
+    private ResourceCatalog catalog;
+    private CompactSceneStore sceneStore;
+    private volatile List<Story> stories;
+    private volatile List<Achievement> achievements;
+    private volatile AchievementIndex achievementIndex;
+    private final Map<Path, String> sources; // ID of the Resource read from each file, when reloading.
+    private final Map<Path, Long> sourceTimes; // Modification time of each file when it was read.
+    private long watchStart; // When resources started being watched.
+    private final Set<String> staleText; // Scenes whose text changed after the scene text store was built.
+    private final List<Consumer<Set<String>>> reloadListeners;
+    private ResourceWatcher watcher;
+    private volatile List<ResourceLinker.Problem> linkProblems;
     
     private static ResourceManager instance;
     
@@ -65,7 +105,12 @@ public class ResourceManager {
      */
     protected ResourceManager() {
         
-        resources = new Hashtable<>();
+        resources = new ConcurrentHashMap<>();
+        sources = new ConcurrentHashMap<>();
+        sourceTimes = new ConcurrentHashMap<>();
+        staleText = ConcurrentHashMap.newKeySet();
+        reloadListeners = new CopyOnWriteArrayList<>();
+        linkProblems = Collections.emptyList();
         
         Properties defaultSettings = new Properties();
         log.info( "Loading default settings." );
@@ -77,6 +122,11 @@ public class ResourceManager {
             System.exit( Launcher.LOADING_ERROR_CODE );
         }
         settings = new Properties( defaultSettings );
+        saveFolder = Paths.get( System.getProperty( SAVE_FOLDER_PROPERTY, "" ) );
+        saveFile = saveFolder.resolve( SAVE_FILE ).toFile();
+        journal = new SaveJournal( saveFolder.resolve( JOURNAL_FILE ), settings );
+        saveWriter = new SaveWriter( saveFile.toPath(), journal, SAVE_FILE_COMMENT, COMPACTION_DELAY );
+        saves = new SaveStore( saveFolder.resolve( SAVES_FOLDER ) );
         
         load();
         
@@ -105,7 +155,60 @@ public class ResourceManager {
      */
     public Resource getResource( String id ) {
         
-        return resources.get( id );
+        if ( catalog != null ) {
+            return catalog.get( id );
+        }
+        Resource res = resources.get( id );
+        return ( ( res == null ) && ( sceneStore != null ) ) ? sceneStore.get( id ) : res;
+        
+    }
+    
+    /**
+     * Retrieves the text of the given Scene.<br>
+     * If the scene text store is enabled, the text is a view of the store. Otherwise, it is read from the text file
+     * of the Scene.
+     * 
+     * @param scene The Scene to get the text of.
+     * @return The text of the Scene, or null if it could not be read.
+     * @see SceneTextStore
+     */
+    public CharSequence getSceneText( Scene scene ) {
+        
+        CharSequence text = ( ( sceneText == null ) || staleText.contains( scene.getID() ) ) ? null
+                : sceneText.getText( scene.getID() );
+        return ( text != null ) ? text : SceneTextStore.readText( scene.getPath() );
+        
+    }
+    
+    /**
+     * Retrieves the Scene that the given choice leads to.<br>
+     * Once the resource library is loaded, the choice is already linked to its target, so no lookup is needed
+     * (unless Resources are loaded on demand).
+     * 
+     * @param choice The choice.
+     * @return The target Scene, or null if the target of the choice is not a valid Scene.
+     */
+    public Scene getTarget( Choice choice ) {
+        
+        if ( choice.isLinked() ) {
+            return choice.getTargetScene();
+        }
+        Resource target = getResource( choice.getTarget() );
+        return ( target instanceof Scene ) ? (Scene) target : null;
+        
+    }
+    
+    /**
+     * Retrieves the problems found when linking the resource library: choices and stories that lead to Resources
+     * that do not exist or are not Scenes.<br>
+     * Resources loaded on demand are not linked, so no problems are reported for them.
+     * 
+     * @return The problems found. The list is unmodifiable.
+     * @see ResourceLinker
+     */
+    public List<ResourceLinker.Problem> getLinkProblems() {
+        
+        return linkProblems;
         
     }
     
@@ -118,7 +221,10 @@ public class ResourceManager {
      */
     public boolean isResource( String id ) {
         
-        return resources.containsKey( id );
+        if ( catalog != null ) {
+            return catalog.contains( id );
+        }
+        return resources.containsKey( id ) || ( ( sceneStore != null ) && sceneStore.contains( id ) );
         
     }
     
@@ -127,10 +233,13 @@ public class ResourceManager {
      */
     private void load() {
         
-        if ( new File( SAVE_FILE ).exists() ) { // Load save file.
+        stories = null; // Rebuilt from the new Resources when first needed.
+        achievements = null;
+        achievementIndex = null;
+        if ( saveFile.exists() ) { // Load save file.
             log.info( "Loading save file." );
-            try {
-                settings.load( new FileInputStream( SAVE_FILE ) );
+            try ( InputStream in = new FileInputStream( saveFile ) ) {
+                settings.load( in );
                 log.info( "Save file loaded successfully." );
             } catch ( IOException e ) {
                 log.error( "Could not load save file.", e );
@@ -138,145 +247,423 @@ public class ResourceManager {
         } else {
             log.info( "No save file found." );
         }
+        try { // Recovers changes made after the save file was last written.
+            int changes = journal.replay();
+            if ( changes > 0 ) {
+                log.info( "Recovered " + changes + " changes from the save journal." );
+                saveWriter.request();
+            }
+        } catch ( IOException e ) {
+            log.error( "Could not read save journal.", e );
+        }
+        migrateSave();
+        migrateTrackers();
         
         log.info( "===================[ Loading Resource Database ]===================" );
-        List<ResourcePath> files = getResourceFiles();
-        if ( files == null ) {
+        URI root;
+        try { // Obtains the URI of the root resource folder.
+            root = ResourceManager.class.getClassLoader().getResource( RESOURCE_ROOT ).toURI();
+        } catch ( URISyntaxException e ) {
+            log.error( "Failed to obtain resource folder.", e );
             System.exit( Launcher.LOADING_ERROR_CODE );
+            return;
         }
-        for ( ResourcePath file : files ) { // Load each Resource.
-            
-            log.debug( "***[ Loading resource file '" + file.getPath() + "' ]***" );
+        ResourceLoader loader = new ResourceLoader( getLoaderThreads() );
+        Map<ResourcePath, Long> files;
+        try {
+            files = loader.findResourceFiles( root );
+        } catch ( IOException e ) {
+            log.error( "Error encountered while identifying resource files.", e );
+            System.exit( Launcher.LOADING_ERROR_CODE );
+            return;
+        }
+        if ( isLazyLoadingEnabled() ) { // Only identifies each Resource.
+            catalog = loader.catalog( files.keySet() );
+            log.info( "Resources will be loaded on demand. Resource index and scene text store are not used." );
+        } else if ( isCompactSceneStoreEnabled() ) { // Packs each Scene as soon as it is read.
+            CompactSceneStore.Builder builder = new CompactSceneStore.Builder();
+            BiConsumer<ResourcePath, Resource> sink = ( file, res ) -> {
+                
+                boolean duplicate;
+                if ( res instanceof Scene ) {
+                    duplicate = builder.add( (Scene) res ) | ( resources.remove( res.getID() ) != null );
+                } else {
+                    duplicate = ( resources.put( res.getID(), res ) != null ) || builder.contains( res.getID() );
+                }
+                if ( duplicate ) {
+                    log.warn( "More than one resource file with ID '" + res.getID() + "'. Using '" + file.getPath()
+                            + "'." );
+                }
+                
+            };
+            if ( isResourceIndexEnabled() ) {
+                loader.load( files, saveFolder.resolve( INDEX_FILE ), sink );
+            } else {
+                loader.readResources( files.keySet(), sink );
+            }
+            sceneStore = builder.build();
+            log.info( "Stored " + sceneStore.size() + " scenes in " + ( sceneStore.getFootprint() / 1024 )
+                    + " KB of compact scene store." );
+        } else if ( isResourceIndexEnabled() ) { // Reads each Resource.
+            resources.putAll( loader.load( files, saveFolder.resolve( INDEX_FILE ) ) );
+        } else {
+            resources.putAll( loader.readResources( files.keySet() ) );
+        }
+        
+        if ( ( catalog == null ) && isSceneTextStoreEnabled() ) { // Packs the scene text.
+            List<Scene> scenes;
+            if ( sceneStore != null ) { // Each Scene is created as it is packed, and not kept.
+                scenes = sceneStore.getScenes();
+            } else {
+                scenes = new ArrayList<>();
+                for ( Resource res : resources.values() ) {
+                    
+                    if ( res instanceof Scene ) {
+                        scenes.add( (Scene) res );
+                    }
+                    
+                }
+            }
+            long newest = 0;
+            for ( long modified : files.values() ) {
+                
+                newest = Math.max( newest, modified );
+                
+            }
             try {
-                Resource res = ResourceReader.readResource( file );
-                resources.put( res.getID(), res );
-                log.info( "Loaded resource file '" + file.getPath() + "' successfully." );
-            } catch ( XMLStreamException e ) {
-                log.error( "Failed to load file '" + file.getPath() + "'.", e );
+                sceneText = SceneTextStore.openOrBuild( saveFolder.resolve( SCENE_TEXT_FILE ), scenes, newest );
+            } catch ( IOException e ) {
+                log.warn( "Could not build scene text store. Scene text will be read from each file.", e );
             }
-            
+        }
+        if ( catalog == null ) {
+            link();
         }
         log.info( "===================[ Database Loaded ]===================" );
         
+        if ( isHotReloadEnabled() ) {
+            watch( root, files );
+        }
+        
     }
     
     /**
-     * Records the custom settings and save information to the save file.
+     * Links the choices in the resource library to their targets, and reports the targets that are not valid.
      */
-    public void save() {
+    private void link() {
         
-        log.info( "Writing to save file." );
+        long start = System.nanoTime();
+        List<ResourceLinker.Problem> problems = ResourceLinker.link( resources.values(), this::getResource );
+        if ( sceneStore != null ) { // Choices in the store were linked when it was built.
+            problems.addAll( ResourceLinker.check( sceneStore, resources::get ) );
+        }
+        for ( ResourceLinker.Problem problem : problems ) {
+            
+            log.warn( "Invalid target: " + problem );
+            
+        }
+        linkProblems = Collections.unmodifiableList( problems );
+        log.info( "Linked resources in " + ( ( System.nanoTime() - start ) / 1000000 ) + " ms, " + problems.size()
+                + " invalid targets found." );
+        
+    }
+    
+    /**
+     * Starts watching the resource folder, so that resource files that are changed while the game runs are loaded
+     * again.<br>
+     * Only available when the resources are not in a jar and are not loaded on demand.
+     * 
+     * @param root The URI of the root resource folder.
+     * @param files The resource files that were loaded, mapped to the time that each was last modified.
+     */
+    private void watch( URI root, Map<ResourcePath, Long> files ) {
+        
+        if ( !"file".equals( root.getScheme() ) || ( catalog != null ) || ( sceneStore != null ) ) {
+            log.warn( "Hot reload is only available for an exploded resource folder, without lazy loading or the "
+                    + "compact scene store." );
+            return;
+        }
+        watchStart = System.currentTimeMillis();
+        for ( Map.Entry<ResourcePath, Long> file : files.entrySet() ) { // Identifies the Resource in each file.
+            
+            try {
+                sources.put( file.getKey().getPath(), ResourceReader.readHeader( file.getKey() ).getID() );
+                sourceTimes.put( file.getKey().getPath(), file.getValue() );
+            } catch ( XMLStreamException e ) {
+                // Failed to load, so it is not in the library.
+            }
+            
+        }
         try {
-            OutputStream out = new FileOutputStream( SAVE_FILE );
-            settings.store( out, SAVE_FILE_COMMENT );
-            log.info( "Save file written successfully." );
+            watcher = new ResourceWatcher( Paths.get( root ), this::reload );
+            watcher.start();
+            log.info( "Watching resource folder for changes." );
         } catch ( IOException e ) {
-            log.error( "Could not write save file.", e );
+            log.error( "Could not watch resource folder. Changed resources will not be reloaded.", e );
         }
         
     }
     
     /**
-     * Obtains the path to each resource file present in the resource file tree.
+     * Loads again the resource files that changed, replacing the Resources read from them. Scene text files that
+     * changed are read from the file from then on, rather than from the scene text store.<br>
+     * Each Resource is replaced as a whole, so a Resource retrieved at any time is either the old or the new
+     * version.<br>
+     * A folder that was changed is scanned for the files in it that were added or modified, and the files that
+     * were read from inside a folder that was deleted or moved away are removed.
      * 
-     * @return The list of resource paths to each resource.xml file found in the resource file tree.
+     * @param changed The files and folders that were created, modified or deleted.
      */
-    private static List<ResourcePath> getResourceFiles() {
-        
-        List<ResourcePath> found = new LinkedList<>();
+    private synchronized void reload( Set<Path> changed ) {
         
-        URI uri = null;
-        try { // Obtains the URI of the root resource folder.
-            uri = ResourceManager.class.getClassLoader().getResource( RESOURCE_ROOT ).toURI();
-        } catch ( URISyntaxException e ) {
-            log.error( "Failed to obtain resource folder.", e );
-            return null;
+        long start = System.nanoTime();
+        Set<Path> files = new HashSet<>(); // Resource files to be loaded again.
+        Set<Path> texts = new HashSet<>(); // Other files that changed.
+        for ( Path path : changed ) {
+            
+            if ( path.getFileName().toString().equals( ResourceLoader.RESOURCE_IDENTIFIER ) ) {
+                files.add( path );
+            } else if ( Files.isDirectory( path ) ) { // Such as the whole tree, when changes were missed.
+                scan( path, files, texts );
+            } else {
+                texts.add( path );
+            }
+            for ( Path source : sources.keySet() ) { // Files that were in a folder that is gone.
+                
+                if ( source.startsWith( path ) && !Files.exists( source ) ) {
+                    files.add( source );
+                }
+                
+            }
+            
         }
-        
-        Path myPath;
-        FileSystem fileSystem = null;
-        Stream<Path> walk = null;        
-        try {
-            boolean inJar;
-            if ( uri.getScheme().equals( "jar" ) ) { // Resource file tree is in a jar
-                fileSystem = FileSystems.newFileSystem( uri, Collections.<String, Object>emptyMap() ); // Opens filesystem
-                myPath = fileSystem.getPath( RESOURCE_ROOT );                                          // based in the jar
-                inJar = true;
-            } else { // Resource file tree is in normal filesystem.
-                myPath = Paths.get( uri );
-                inJar = false;
+        Set<String> ids = new HashSet<>();
+        for ( Path file : files ) {
+            
+            String old = sources.get( file );
+            if ( !Files.exists( file ) ) { // Deleted.
+                if ( old != null ) {
+                    sources.remove( file );
+                    sourceTimes.remove( file );
+                    resources.remove( old );
+                    ids.add( old );
+                }
+                continue;
+            }
+            long modified;
+            try {
+                modified = Files.getLastModifiedTime( file ).toMillis();
+            } catch ( IOException e ) {
+                modified = 0; // Read again next time it changes.
+            }
+            Resource res;
+            try {
+                res = ResourceReader.readResource( new ResourcePath( file, false ) );
+            } catch ( XMLStreamException e ) {
+                log.error( "Could not reload resource file '" + file + "'. Keeping the previous version.", e );
+                continue;
+            }
+            if ( ( old != null ) && !old.equals( res.getID() ) ) { // ID was changed.
+                resources.remove( old );
+                ids.add( old );
+            }
+            sources.put( file, res.getID() );
+            sourceTimes.put( file, modified );
+            resources.put( res.getID(), res );
+            ids.add( res.getID() );
+            
+        }
+        for ( Resource res : resources.values() ) { // Scenes that are new or had their text changed.
+            
+            if ( ( res instanceof Scene ) && ( ids.contains( res.getID() )
+                    || texts.contains( ( (Scene) res ).getPath().getPath() ) ) ) {
+                staleText.add( res.getID() );
+                ids.add( res.getID() );
             }
             
-            walk = Files.walk( myPath, MAX_DEPTH ); // Goes through all files in the filesystem.
-            for ( Iterator<Path> it = walk.iterator(); it.hasNext(); ){
+        }
+        if ( ids.isEmpty() ) {
+            return; // Nothing in the library changed.
+        }
+        stories = null; // Rebuilt from the new Resources when next needed.
+        achievements = null;
+        achievementIndex = null;
+        link(); // Choices may lead to replaced Scenes.
+        log.info( "Reloaded " + ids.size() + " resources in " + ( ( System.nanoTime() - start ) / 1000000 )
+                + " ms." );
+        Set<String> reloaded = Collections.unmodifiableSet( ids );
+        for ( Consumer<Set<String>> listener : reloadListeners ) {
+            
+            listener.accept( reloaded );
+            
+        }
+        
+    }
+    
+    /**
+     * Finds the files in a folder that changed since they were last loaded.
+     * 
+     * @param folder The folder.
+     * @param files The set to place the resource files that are new or were modified in.
+     * @param texts The set to place the other files that were modified since the resources started being watched
+     *              in.
+     */
+    private void scan( Path folder, Set<Path> files, Set<Path> texts ) {
+        
+        try ( Stream<Path> walk = Files.walk( folder ) ) {
+            for ( Iterator<Path> it = walk.iterator(); it.hasNext(); ) {
                 
                 Path next = it.next();
-                if ( next.getFileName().toString().equals( RESOURCE_IDENTIFIER ) ) {
-                    found.add( new ResourcePath( next, inJar ) ); // Adds found resource.xml to the list.
+                if ( Files.isDirectory( next ) ) {
+                    continue;
+                }
+                long modified = Files.getLastModifiedTime( next ).toMillis();
+                if ( next.getFileName().toString().equals( ResourceLoader.RESOURCE_IDENTIFIER ) ) {
+                    Long loaded = sourceTimes.get( next );
+                    if ( ( loaded == null ) || ( loaded != modified ) ) {
+                        files.add( next );
+                    }
+                } else if ( modified >= watchStart ) {
+                    texts.add( next );
                 }
                 
             }
-        } catch ( IOException e ) {
-            log.error( "Error encountered while identifying resource files.", e );
-            found = null;
-        } finally { // Closes jar filesystem (if used) and pathwalker.
-            if ( walk != null ) {
-                walk.close();
+        } catch ( IOException | UncheckedIOException e ) {
+            log.error( "Could not scan changed folder '" + folder + "'.", e );
+        }
+        
+    }
+    
+    /**
+     * Registers a listener to be notified when resources are reloaded while the game runs.<br>
+     * The listener receives the IDs of the Resources that were added, replaced, or removed, or whose text changed.
+     * It is called on the resource watcher thread.
+     * 
+     * @param listener The listener.
+     * @see #isHotReloadEnabled()
+     */
+    public void addReloadListener( Consumer<Set<String>> listener ) {
+        
+        reloadListeners.add( listener );
+        
+    }
+    
+    /**
+     * Changes a setting, recording the change in the save journal and scheduling the save file to be written.
+     * 
+     * @param key The key of the setting.
+     * @param value The new value of the setting. If null, the setting is removed.
+     */
+    private void change( String key, String value ) {
+        
+        journal.set( key, value );
+        saveWriter.request();
+        
+    }
+    
+    /**
+     * Records the custom settings and save information to the save file, waiting until it is written.<br>
+     * Changes are already written in the background as they are made, so this only needs to be called before the
+     * program exits.
+     */
+    public void save() {
+        
+        saveWriter.flush();
+        
+    }
+    
+    /**
+     * Retrieves all the Resources of the given type in the resource library.<br>
+     * When loading on demand, the Resources of that type that were not loaded yet are loaded.
+     * Scenes kept in the compact scene store are not included.
+     * 
+     * @param type The type of Resource.
+     * @return The Resources of that type, in no particular order.
+     */
+    private List<Resource> getResources( ResourceType type ) {
+        
+        List<Resource> found = new ArrayList<>();
+        if ( catalog != null ) {
+            for ( String id : catalog.getIDs( type ) ) {
+                
+                Resource res = catalog.get( id );
+                if ( res != null ) { // Skips files that failed to load.
+                    found.add( res );
+                }
+                
             }
-            if ( fileSystem != null ) {
-                try {
-                    fileSystem.close();
-                } catch ( IOException e ) {
-                    log.warn( "Failed to close FileSystem.", e );
+        } else {
+            for ( Resource res : resources.values() ) {
+                
+                if ( res.getType() == type ) {
+                    found.add( res );
                 }
+                
             }
         }
-        
         return found;
         
     }
     
     /**
      * Retrieves a list of all the Story objects in the resource library.<br>
-     * Elements are in sorted order.
+     * Elements are in sorted order. The list is unmodifiable, and the same list is returned until the resource
+     * library is loaded again.
      * 
      * @return The Story objects in the resource library.
      * @see Story#compareTo(Story)
      */
     public List<Story> getStories() {
         
-        List<Story> stories = new ArrayList<>();
-        for ( Resource res : resources.values() ) {
-            
-            if ( res.getType() == ResourceType.STORY ) {
-                stories.add( (Story) res );
+        List<Story> view = stories;
+        if ( view == null ) { // Builds the list on first use.
+            synchronized ( this ) { // Same lock as reload(), so a list of replaced Resources is never kept.
+                view = stories;
+                if ( view == null ) {
+                    List<Story> found = new ArrayList<>();
+                    for ( Resource res : getResources( ResourceType.STORY ) ) {
+                        
+                        found.add( (Story) res );
+                        
+                    }
+                    Collections.sort( found );
+                    view = Collections.unmodifiableList( found );
+                    stories = view;
+                }
             }
-            
         }
-        Collections.sort( stories );
-        return stories;
+        return view;
         
     }
     
     /**
      * Retrieves a list of all the Achievement objects in the resource library.<br>
-     * Elements are in sorted order.
+     * Elements are in sorted order. The list is unmodifiable, and the same list is returned until the resource
+     * library is loaded again.
      * 
      * @return The Achievement objects in the resource library.
      * @see Achievement#compareTo(Achievement)
      */
     public List<Achievement> getAchievements() {
         
-        List<Achievement> achievements = new ArrayList<>();
-        for ( Resource res : resources.values() ) {
-            
-            if ( res.getType() == ResourceType.ACHIEVEMENT ) {
-                achievements.add( (Achievement) res );
+        List<Achievement> view = achievements;
+        if ( view == null ) { // Builds the list on first use.
+            synchronized ( this ) { // Same lock as reload(), so a list of replaced Resources is never kept.
+                view = achievements;
+                if ( view == null ) {
+                    List<Achievement> found = new ArrayList<>();
+                    for ( Resource res : getResources( ResourceType.ACHIEVEMENT ) ) {
+                        
+                        found.add( (Achievement) res );
+                        
+                    }
+                    Collections.sort( found );
+                    view = Collections.unmodifiableList( found );
+                    achievements = view;
+                }
             }
-            
         }
-        Collections.sort( achievements );
-        return achievements;
+        return view;
         
     }
     
@@ -288,17 +675,23 @@ public class ResourceManager {
      * @param storyCode Story code of the Achievement to be found.
      * @param endCode End code of the Achievement to be found.
      * @return The Achievement that corresponds to that story and end codes, or null if there is no such Achievement.
-     * @throws IllegalArgumentException if the story code given is not within the acceptable range.
+     * @throws IllegalArgumentException if the story or end code given is not within the acceptable range.
+     * @see AchievementIndex
      */
     public Achievement getAchievement( char storyCode, int endCode ) throws IllegalArgumentException {
         
-        AchievementFactory keyFactory = (AchievementFactory) ResourceFactory.newInstance( ResourceType.ACHIEVEMENT,
-                "key" );
-        Achievement key = (Achievement) keyFactory.withStoryCode( storyCode ).withEndCode( endCode ).withTitle( "key" )
-                .withText( "key" ).build();
-        List<Achievement> achievements = getAchievements();
-        int target = Collections.binarySearch( achievements, key );
-        return ( target >= 0 ) ? achievements.get( target ) : null;
+        AchievementIndex index = achievementIndex;
+        if ( index == null ) { // Builds the index on first use.
+            synchronized ( this ) { // Same lock as reload(), so an index of replaced Resources is never kept.
+                index = achievementIndex;
+                if ( index == null ) {
+                    index = new AchievementIndex( getAchievements() );
+                    achievementIndex = index;
+                    log.debug( "Indexed " + index.size() + " achievements." );
+                }
+            }
+        }
+        return index.get( storyCode, endCode );
         
     }
     
@@ -313,6 +706,143 @@ public class ResourceManager {
         
     }
     
+    /**
+     * Retrieves the amount of threads to be used when loading the resource library.<br>
+     * 0 means one thread per available processor, and 1 means the library is loaded on the calling thread.<br>
+     * Invalid values are treated as 1.
+     * 
+     * @return The current value of the setting.
+     */
+    public int getLoaderThreads() {
+        
+        String value = settings.getProperty( LOADER_THREADS );
+        try {
+            int threads = Integer.valueOf( value );
+            if ( threads >= 0 ) {
+                return threads;
+            }
+        } catch ( NumberFormatException e ) {
+            // Handled below.
+        }
+        log.warn( "Invalid loader thread setting '" + value + "'. Loading on a single thread." );
+        return 1;
+        
+    }
+    
+    /**
+     * Retrieves whether the resource library should be loaded through the binary resource index, which avoids
+     * parsing resource files that did not change since the last time the game was started.
+     * 
+     * @return The current value of the setting.
+     * @see ResourceIndex
+     */
+    public boolean isResourceIndexEnabled() {
+        
+        return Boolean.valueOf( settings.getProperty( RESOURCE_INDEX ) );
+        
+    }
+    
+    /**
+     * Retrieves whether the text of all Scenes should be packed into a memory-mapped store, instead of being read from
+     * the text file of each Scene whenever it is displayed.
+     * 
+     * @return The current value of the setting.
+     * @see SceneTextStore
+     */
+    public boolean isSceneTextStoreEnabled() {
+        
+        return Boolean.valueOf( settings.getProperty( SCENE_TEXT_STORE ) );
+        
+    }
+    
+    /**
+     * Retrieves whether resources should only be read from their files when first requested. When enabled, startup
+     * only identifies the ID and type of each resource, and neither the resource index nor the scene text store are
+     * used.
+     * 
+     * @return The current value of the setting.
+     * @see ResourceCatalog
+     */
+    public boolean isLazyLoadingEnabled() {
+        
+        return Boolean.valueOf( settings.getProperty( LAZY_LOADING ) );
+        
+    }
+    
+    /**
+     * Retrieves whether the Scenes in the resource library are kept in a compact store, which uses much less memory
+     * for very large story packs. Scene objects are then only created once each Scene is first requested.<br>
+     * Not used when loading on demand, and prevents hot reload.
+     * 
+     * @return The current value of the setting.
+     * @see CompactSceneStore
+     */
+    public boolean isCompactSceneStoreEnabled() {
+        
+        return Boolean.valueOf( settings.getProperty( COMPACT_SCENES ) );
+        
+    }
+    
+    /**
+     * Retrieves the amount of memory that loaded Scenes may be kept in, so that revisiting them does not load them
+     * again.<br>
+     * 0 disables the cache. Invalid values are treated as 0.
+     * 
+     * @return The current value of the setting, in kilobytes.
+     */
+    public int getSceneCacheSize() {
+        
+        String value = settings.getProperty( SCENE_CACHE_SIZE );
+        try {
+            int size = Integer.valueOf( value );
+            if ( size >= 0 ) {
+                return size;
+            }
+        } catch ( NumberFormatException e ) {
+            // Handled below.
+        }
+        log.warn( "Invalid scene cache size setting '" + value + "'. Scene cache disabled." );
+        return 0;
+        
+    }
+    
+    /**
+     * Retrieves how many choices ahead of the current Scene the Scenes that may be shown next are loaded.<br>
+     * 0 disables loading ahead, so each Scene is only loaded once it is chosen. Invalid values are treated as 1
+     * (only the targets of the current choices are loaded ahead).
+     * 
+     * @return The current value of the setting.
+     */
+    public int getPrefetchDepth() {
+        
+        String value = settings.getProperty( PREFETCH_DEPTH );
+        try {
+            int depth = Integer.valueOf( value );
+            if ( depth >= 0 ) {
+                return depth;
+            }
+        } catch ( NumberFormatException e ) {
+            // Handled below.
+        }
+        log.warn( "Invalid prefetch depth setting '" + value + "'. Only the next scenes will be loaded ahead." );
+        return 1;
+        
+    }
+    
+    /**
+     * Retrieves whether the resource folder is watched for changes while the game runs, so that changed resource
+     * files are loaded again without restarting. Intended for content authors; only available when the resources
+     * are in an exploded folder and are not loaded on demand.
+     * 
+     * @return The current value of the setting.
+     * @see ResourceWatcher
+     */
+    public boolean isHotReloadEnabled() {
+        
+        return Boolean.valueOf( settings.getProperty( HOT_RELOAD ) );
+        
+    }
+    
     /**
      * Sets the value of the Text Speed Multiplier setting.
      * 
@@ -320,77 +850,129 @@ public class ResourceManager {
      */
     public void setTextSpeedMultiplier( int newValue ) {
         
-        settings.setProperty( TEXT_SPEED_MULTIPLIER, String.valueOf( newValue ) );
+        change( TEXT_SPEED_MULTIPLIER, String.valueOf( newValue ) );
         
     }
     
     /**
-     * Retrieves the current value of the Save.
-     * 
-     * @return The current Save value. If there is no Save, returns null.
+     * Moves a game saved by older versions (as a single setting) to the first empty save slot.<br>
+     * If it cannot be moved, the setting is kept, so that it can be moved on a later run (such as once a slot is
+     * emptied).
+     */
+    private void migrateSave() {
+        
+        String save = settings.getProperty( SAVE );
+        if ( save == null ) {
+            return; // Nothing to migrate.
+        }
+        int slot = 0;
+        while ( ( slot < SaveStore.SLOTS ) && ( saves.get( slot ) != null ) ) {
+            
+            slot++; // Finds an empty slot.
+            
+        }
+        if ( save.length() <= 1 ) {
+            log.warn( "Old saved game '" + save + "' is not valid. Keeping it in the save file." );
+            return;
+        }
+        if ( slot == SaveStore.SLOTS ) {
+            log.warn( "All save slots are in use. Old saved game '" + save + "' will be moved once a slot is free." );
+            return; // Tried again next time.
+        }
+        String sceneID = save.substring( 1 );
+        try {
+            saves.write( slot, new SaveSlot( save.charAt( 0 ), sceneID, saveFile.lastModified(),
+                    Collections.singletonList( sceneID ) ) );
+            log.info( "Moved saved game to save slot " + slot + "." );
+        } catch ( IOException e ) {
+            log.error( "Could not move saved game to a save slot.", e );
+            return; // Tried again next time.
+        }
+        change( SAVE, null );
+        
+    }
+    
+    /**
+     * Fixes the ending trackers saved by older versions, which have no tracker version.<br>
+     * Those set the bit of end code 32 with an int, so it was saved sign-extended, with bits 31 to 63 all set. Only
+     * bit 31 is kept.
      */
-    public String getSave() {
+    private void migrateTrackers() {
         
-        return settings.getProperty( SAVE );
+        if ( settings.getProperty( TRACKER_VERSION ) != null ) {
+            return; // Already migrated.
+        }
+        for ( char code = Story.MIN_CODE; code <= Story.MAX_CODE; code++ ) {
+            
+            long[] tracker = getEndingTracker( code );
+            if ( ( tracker.length == 1 ) && ( ( tracker[0] >> 31 ) == -1 ) ) { // Bits 31 to 63 are set.
+                tracker[0] &= 0xFFFFFFFFL;
+                saveEndingTracker( code, tracker );
+                log.info( "Fixed ending tracker '" + code + "' saved by an older version." );
+            }
+            
+        }
+        change( TRACKER_VERSION, String.valueOf( CURRENT_TRACKER_VERSION ) );
         
     }
     
     /**
-     * Sets the value of the Save.
+     * Retrieves the store of saved games.
      * 
-     * @param save The new value of the Save. If null, the Save is deleted.
+     * @return The save slots.
      */
-    public void setSave( String save ) {
+    public SaveStore getSaves() {
         
-        if ( save != null ) {
-            settings.setProperty( SAVE, save );
-        } else {
-            settings.remove( SAVE );
-        }
+        return saves;
         
     }
     
     /**
      * Determines if a Save currently exists.
      * 
-     * @return true if there is a Save, false otherwise.
+     * @return true if there is a Save in any slot, false otherwise.
      */
     public boolean hasSave() {
         
-        return settings.containsKey( SAVE );
+        return !saves.isEmpty();
         
     }
     
     /**
-     * Retrieves the ending trackers for each Story. Any trackers that are not saved or could not be parsed will be
-     * set to 0.
+     * Retrieves the saved ending tracker of a given storyline.<br>
+     * A tracker is a bitset, where bit <i>n</i> (bit <i>n</i> mod 64 of word <i>n</i> / 64) is set if the ending with
+     * end code {@value EndScene#MIN_CODE} + <i>n</i> was reached. It is saved as the comma-separated values of its
+     * words, so trackers saved as a single value are still read.<br>
+     * Trackers that are not saved or could not be parsed are empty.<br>
+     * The story code must be in the range {@value Story#MIN_CODE} to {@value Story#MAX_CODE} (inclusive).
      * 
-     * @return The ending trackers for the game, one for each existing Story. The keys on the map are the codes for
-     *         each Story, and the value is the corresponding tracker.
+     * @param storyCode The code of the Story that the tracker represents.
+     * @return The words of the tracker.
+     * @throws IllegalArgumentException if the story code given is not within the acceptable range.
      */
-    public Map<Character, Long> getEndingTrackers() {
+    public long[] getEndingTracker( char storyCode ) throws IllegalArgumentException {
         
-        List<Story> stories = getStories();
-        Map<Character, Long> trackers = new Hashtable<>();
-        for ( Story story : stories ) {
-            
-            char code = story.getCode();
-            long tracker;
-            String codedTracker = settings.getProperty( ENDING_TRACKER + code );
-            if ( codedTracker != null ) {
-                try {
-                    tracker = Long.valueOf( codedTracker );
-                } catch ( NumberFormatException e ) {
-                    log.error( "Cannot parse ending tracker '" + code + "' from String '" + codedTracker + "'." );
-                    tracker = 0x0;
-                }
-            } else {
-                tracker = 0x0;
+        if ( ( storyCode < Story.MIN_CODE ) || ( storyCode > Story.MAX_CODE ) ) {
+            throw new IllegalArgumentException( Story.CODE_OOB );
+        }
+        
+        String codedTracker = settings.getProperty( ENDING_TRACKER + storyCode );
+        if ( codedTracker == null ) {
+            return new long[0];
+        }
+        String[] words = codedTracker.split( TRACKER_SEPARATOR );
+        long[] tracker = new long[words.length];
+        try {
+            for ( int i = 0; i < words.length; i++ ) {
+                
+                tracker[i] = Long.valueOf( words[i].trim() );
+                
             }
-            trackers.put( code, tracker );
-            
+        } catch ( NumberFormatException e ) {
+            log.error( "Cannot parse ending tracker '" + storyCode + "' from String '" + codedTracker + "'." );
+            return new long[0];
         }
-        return trackers;
+        return tracker;
         
     }
     
@@ -399,16 +981,26 @@ public class ResourceManager {
      * The story code must be in the range {@value Story#MIN_CODE} to {@value Story#MAX_CODE} (inclusive).
      * 
      * @param storyCode The code of the Story that the tracker represents.
-     * @param tracker The value of the tracker to be saved.
+     * @param tracker The words of the tracker to be saved.
      * @throws IllegalArgumentException if the story code given is not within the acceptable range.
+     * @see #getEndingTracker(char)
      */
-    public void saveEndingTracker( char storyCode, long tracker ) throws IllegalArgumentException {
+    public void saveEndingTracker( char storyCode, long[] tracker ) throws IllegalArgumentException {
         
         if ( ( storyCode < Story.MIN_CODE ) || ( storyCode > Story.MAX_CODE ) ) {
             throw new IllegalArgumentException( Story.CODE_OOB );
         }
         
-        settings.setProperty( ENDING_TRACKER + storyCode, String.valueOf( tracker ) );
+        StringBuilder codedTracker = new StringBuilder();
+        for ( int i = 0; i < tracker.length; i++ ) {
+            
+            if ( i > 0 ) {
+                codedTracker.append( TRACKER_SEPARATOR );
+            }
+            codedTracker.append( tracker[i] );
+            
+        }
+        change( ENDING_TRACKER + storyCode, codedTracker.toString() );
         
     }
     
@@ -425,7 +1017,7 @@ public class ResourceManager {
             throw new IllegalArgumentException( Story.CODE_OOB );
         }
         
-        settings.remove( ENDING_TRACKER + storyCode );
+        change( ENDING_TRACKER + storyCode, null );
         
     }
 
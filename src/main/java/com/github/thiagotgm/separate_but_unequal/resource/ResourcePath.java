@@ -22,17 +22,57 @@ public class ResourcePath {
     
     private final Path path;
     private final boolean inJar;
+    private final JarResources jar;
     
     /**
-     * Creates a new ResourcePath with given path.
+     * Creates a new ResourcePath with given path.<br>
+     * If the resource is in a jar, it is looked up in the classpath.
      * 
      * @param path Path of the resource.
      * @param inJar Whether the resource is in a jar (true) or in the normal filesystem (false).
      */
     public ResourcePath( Path path, boolean inJar ) {
         
+        this( path, inJar, null );
+        
+    }
+    
+    /**
+     * Creates a new ResourcePath with given path, in the given jar.
+     * 
+     * @param path Path of the resource in the jar.
+     * @param jar The jar that contains the resource.
+     */
+    public ResourcePath( Path path, JarResources jar ) {
+        
+        this( path, true, jar );
+        
+    }
+    
+    /**
+     * Creates a new ResourcePath.
+     * 
+     * @param path Path of the resource.
+     * @param inJar Whether the resource is in a jar (true) or in the normal filesystem (false).
+     * @param jar The jar that contains the resource, or null if it is not in a jar or the jar is not known.
+     */
+    private ResourcePath( Path path, boolean inJar, JarResources jar ) {
+        
         this.path = path;
         this.inJar = inJar;
+        this.jar = jar;
+        
+    }
+    
+    /**
+     * Obtains the path of another resource in the same folder as this one (and in the same jar, if any).
+     * 
+     * @param name The name of the other resource.
+     * @return The path of the other resource.
+     */
+    public ResourcePath resolveSibling( String name ) {
+        
+        return new ResourcePath( path.resolveSibling( name ), inJar, jar );
         
     }
     
@@ -58,6 +98,18 @@ public class ResourcePath {
         
     }
     
+    /**
+     * Retrieves the jar that contains this resource.
+     * 
+     * @return The jar, or null if the resource is not in a jar, or the jar is not known (in which case the resource
+     *         is looked up in the classpath).
+     */
+    public JarResources getJar() {
+        
+        return jar;
+        
+    }
+    
     /**
      * Retrieves the resource file (resource.xml) as an input string.<br>
      * Takes into account where the file is stored (jar or filesystem).
@@ -66,8 +118,10 @@ public class ResourcePath {
      */
     public InputStream getInputStream() {
         
-        if ( inJar ) {
-            return ResourceManager.class.getResourceAsStream( path.toString() );
+        if ( jar != null ) { // Direct lookup in the open jar.
+            return jar.getInputStream( path );
+        } else if ( inJar ) {
+            return ResourceManager.class.getClassLoader().getResourceAsStream( JarResources.entryName( path ) );
         } else {
             try {
                 return new FileInputStream( path.toString() );
@@ -0,0 +1,189 @@
+package com.github.thiagotgm.separate_but_unequal.resource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.thiagotgm.separate_but_unequal.NamedThreadFactory;
+
+/**
+ * Watches a folder tree for changes to the files in it, on a background thread.<p>
+ * Changes that happen close together (such as an editor saving several files) are reported together, once no more
+ * changes come in for a short time. Folders created inside the tree are watched as well.<br>
+ * A folder that is deleted or moved away is reported as the folder itself. If changes came in too fast and some
+ * were lost, the root folder is reported, meaning that anything in the tree may have changed.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+public class ResourceWatcher implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger( ResourceWatcher.class );
+
+    /** Thread name to be used for the watcher thread. */
+    public static final String THREAD_NAME = "Resource Watcher";
+
+    private static final long SETTLE_DELAY = 50; // Time to wait for related changes, in milliseconds.
+
+    private final Path root;
+    private final WatchService service;
+    private final Map<WatchKey, Path> folders;
+    private final Consumer<Set<Path>> handler;
+    private final Thread thread;
+
+    /**
+     * Creates a watcher over the given folder tree. The watcher only reports changes once started.
+     *
+     * @param root The root folder of the tree.
+     * @param handler The function that receives the files (or folders) that were created, modified, or deleted.
+     *                Called on the watcher thread.
+     * @throws IOException if an error occurred while registering the folders to be watched.
+     */
+    public ResourceWatcher( Path root, Consumer<Set<Path>> handler ) throws IOException {
+
+        this.root = root;
+        this.service = root.getFileSystem().newWatchService();
+        this.folders = new ConcurrentHashMap<>();
+        this.handler = handler;
+        this.thread = new NamedThreadFactory( THREAD_NAME ).newThread( this::run );
+        register( root, null );
+        log.debug( "Watching " + folders.size() + " folders under '" + root + "'." );
+
+    }
+
+    /**
+     * Starts reporting changes.
+     */
+    public void start() {
+
+        thread.start();
+
+    }
+
+    /**
+     * Stops watching for changes.
+     *
+     * @throws IOException if an error occurred while closing the watch service.
+     */
+    @Override
+    public void close() throws IOException {
+
+        service.close();
+        thread.interrupt();
+
+    }
+
+    /**
+     * Watches a folder and all the folders inside it.
+     *
+     * @param folder The folder.
+     * @param files If not null, the files found inside the folders are placed in this set.
+     * @throws IOException if an error occurred while registering the folders.
+     */
+    private void register( Path folder, Set<Path> files ) throws IOException {
+
+        try ( Stream<Path> walk = Files.walk( folder ) ) {
+            for ( Iterator<Path> it = walk.iterator(); it.hasNext(); ) {
+
+                Path next = it.next();
+                if ( Files.isDirectory( next ) ) {
+                    folders.put( next.register( service, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE ), next );
+                } else if ( files != null ) { // Created before the folder was watched.
+                    files.add( next );
+                }
+
+            }
+        }
+
+    }
+
+    /**
+     * Waits for changes and reports them, until the watcher is closed.
+     */
+    private void run() {
+
+        try {
+            while ( true ) {
+
+                Set<Path> changed = new HashSet<>();
+                WatchKey key = service.take();
+                while ( key != null ) { // Gathers changes until they settle.
+
+                    collect( key, changed );
+                    key = service.poll( SETTLE_DELAY, TimeUnit.MILLISECONDS );
+
+                }
+                if ( !changed.isEmpty() ) {
+                    try {
+                        handler.accept( changed );
+                    } catch ( RuntimeException e ) {
+                        log.error( "Failed to handle resource changes.", e );
+                    }
+                }
+
+            }
+        } catch ( InterruptedException | ClosedWatchServiceException e ) {
+            log.debug( "Stopped watching resources." );
+        }
+
+    }
+
+    /**
+     * Gathers the changed files reported by a watch key.
+     *
+     * @param key The key.
+     * @param changed The set to place the changed files in.
+     */
+    private void collect( WatchKey key, Set<Path> changed ) {
+
+        Path folder = folders.get( key );
+        for ( WatchEvent<?> event : key.pollEvents() ) {
+
+            if ( event.kind() == StandardWatchEventKinds.OVERFLOW ) {
+                log.warn( "Too many resource changes at once, some were missed. Reporting the whole tree." );
+                changed.add( root );
+                try { // Folders created meanwhile may have been missed too.
+                    register( root, null );
+                } catch ( IOException e ) {
+                    log.error( "Could not watch the folders under '" + root + "'.", e );
+                }
+                continue;
+            }
+            Path file = folder.resolve( (Path) event.context() );
+            if ( ( event.kind() == StandardWatchEventKinds.ENTRY_CREATE ) && Files.isDirectory( file ) ) {
+                try { // New folder, also watches it.
+                    register( file, changed );
+                } catch ( IOException e ) {
+                    log.error( "Could not watch new folder '" + file + "'.", e );
+                }
+            } else {
+                changed.add( file );
+            }
+
+        }
+        if ( !key.reset() ) { // Folder no longer exists.
+            folders.remove( key );
+        }
+
+    }
+
+}
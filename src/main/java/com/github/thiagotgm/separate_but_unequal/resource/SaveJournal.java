@@ -0,0 +1,334 @@
+package com.github.thiagotgm.separate_but_unequal.resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Set of properties whose changes are recorded in an append-only journal file as they are made.<p>
+ * Each change is a small record appended to the end of the journal and flushed to disk, so changes survive a crash
+ * without the whole save file being rewritten. The journal is replayed on top of the save file when the program
+ * starts, and the part of it that was already written to the save file can be discarded.<br>
+ * Changes are recorded in memory as they are made, without blocking, and are written to the journal file when it is
+ * {@link #sync() synced}, so the records of several changes are flushed together off the thread that made them.<br>
+ * If the journal file cannot be opened, changes are only kept in memory.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ * @see SaveWriter
+ */
+public class SaveJournal {
+
+    private static final Logger log = LoggerFactory.getLogger( SaveJournal.class );
+
+    private static final byte SET = 1;
+    private static final byte REMOVE = 2;
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path file;
+    private final Properties properties;
+    private final ByteArrayOutputStream pending; // Records not written to the file yet.
+    private final Object fileLock; // Held while using the file. Taken before the lock of the journal.
+    private volatile FileChannel channel;
+
+    /**
+     * Opens the journal of the given properties, creating the journal file if it does not exist.
+     *
+     * @param file The journal file.
+     * @param properties The properties. Should only be changed through this journal.
+     */
+    public SaveJournal( Path file, Properties properties ) {
+
+        this.file = file;
+        this.properties = properties;
+        this.pending = new ByteArrayOutputStream();
+        this.fileLock = new Object();
+        this.channel = open();
+
+    }
+
+    /**
+     * Opens the journal file, creating it if it does not exist.
+     *
+     * @return The opened file, or null if it could not be opened.
+     */
+    private FileChannel open() {
+
+        try {
+            return FileChannel.open( file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE );
+        } catch ( IOException e ) {
+            log.warn( "Could not open save journal. Changes will only be saved when the save file is written.", e );
+            return null;
+        }
+
+    }
+
+    /**
+     * Applies the changes recorded in the journal to the properties.<br>
+     * A record that was only partially written (if the program stopped while writing it) or is damaged is
+     * discarded, together with everything after it, so that later changes are appended after the last valid
+     * record.
+     *
+     * @return The amount of changes applied.
+     * @throws IOException if an error occurred while reading the journal.
+     */
+    public int replay() throws IOException {
+
+        synchronized ( fileLock ) {
+            synchronized ( this ) {
+                return replayFile();
+            }
+        }
+
+    }
+
+    /**
+     * Applies the changes recorded in the journal file to the properties.
+     *
+     * @return The amount of changes applied.
+     * @throws IOException if an error occurred while reading the journal.
+     * @see #replay()
+     */
+    private int replayFile() throws IOException {
+
+        if ( channel == null ) {
+            return 0;
+        }
+        ByteBuffer buffer = readFrom( 0 );
+        DataInputStream in = new DataInputStream( new ByteArrayInputStream( buffer.array(), 0, buffer.limit() ) );
+        int count = 0;
+        long valid = 0;
+        try {
+            while ( in.available() > 0 ) { // Applies each record.
+
+                byte type = in.readByte();
+                String key = in.readUTF();
+                if ( type == SET ) {
+                    properties.setProperty( key, in.readUTF() );
+                } else if ( type == REMOVE ) {
+                    properties.remove( key );
+                } else {
+                    throw new StreamCorruptedException( "Unknown journal record type " + type + "." );
+                }
+                count++;
+                valid = buffer.limit() - in.available();
+
+            }
+        } catch ( EOFException e ) {
+            log.warn( "Discarding incomplete record at the end of the save journal." );
+            channel.truncate( valid );
+        } catch ( UTFDataFormatException | StreamCorruptedException e ) { // Torn or zero-filled tail.
+            log.warn( "Discarding damaged records at the end of the save journal.", e );
+            channel.truncate( valid );
+        }
+        return count;
+
+    }
+
+    /**
+     * Sets the value of a property and records the change.<br>
+     * The record is only kept in memory until the journal is {@link #sync() synced}, so this does not block on the
+     * file.
+     *
+     * @param key The key of the property.
+     * @param value The new value. If null, the property is removed.
+     */
+    public synchronized void set( String key, String value ) {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try ( DataOutputStream out = new DataOutputStream( bytes ) ) {
+            if ( value != null ) {
+                properties.setProperty( key, value );
+                out.writeByte( SET );
+                out.writeUTF( key );
+                out.writeUTF( value );
+            } else {
+                properties.remove( key );
+                out.writeByte( REMOVE );
+                out.writeUTF( key );
+            }
+        } catch ( IOException e ) {
+            throw new IllegalStateException( "Writing to memory should not fail.", e );
+        }
+        if ( channel != null ) {
+            pending.write( bytes.toByteArray(), 0, bytes.size() );
+        }
+
+    }
+
+    /**
+     * Writes the changes recorded since the last sync to the end of the journal file, and flushes them to
+     * disk.<br>
+     * Changes can keep being made while this runs. If writing fails, the changes are still written with the rest
+     * of the properties to the save file.
+     *
+     * @throws IOException if an error occurred while writing.
+     */
+    public void sync() throws IOException {
+
+        synchronized ( fileLock ) {
+            byte[] records;
+            synchronized ( this ) { // Takes the records, so changes are not held up by the write.
+                records = pending.toByteArray();
+                pending.reset();
+            }
+            if ( ( channel != null ) && ( records.length > 0 ) ) {
+                append( ByteBuffer.wrap( records ) );
+            }
+        }
+
+    }
+
+    /**
+     * Reads the journal from the given position to the end.
+     *
+     * @param position The position to start reading at.
+     * @return The bytes read, ready to be consumed.
+     * @throws IOException if an error occurred while reading.
+     */
+    private ByteBuffer readFrom( long position ) throws IOException {
+
+        ByteBuffer buffer = ByteBuffer.allocate( (int) ( channel.size() - position ) );
+        while ( buffer.hasRemaining() ) {
+
+            if ( channel.read( buffer, position + buffer.position() ) < 0 ) {
+                break; // File shrank.
+            }
+
+        }
+        buffer.flip();
+        return buffer;
+
+    }
+
+    /**
+     * Writes the given bytes to the end of the journal and flushes them to disk.
+     *
+     * @param buffer The bytes to be written.
+     * @throws IOException if an error occurred while writing.
+     */
+    private void append( ByteBuffer buffer ) throws IOException {
+
+        long position = channel.size();
+        while ( buffer.hasRemaining() ) {
+
+            position += channel.write( buffer, position );
+
+        }
+        channel.force( false ); // Only the contents matter, not the file metadata.
+
+    }
+
+    /**
+     * Copies the current properties, and marks how much of the journal they include (whether synced or not).
+     *
+     * @param into The properties to copy into.
+     * @return The mark of the current end of the journal.
+     * @throws IOException if an error occurred while checking the journal.
+     * @see #discard(long)
+     */
+    public long snapshot( Properties into ) throws IOException {
+
+        synchronized ( fileLock ) {
+            synchronized ( this ) {
+                into.putAll( properties );
+                return ( channel == null ) ? 0 : channel.size() + pending.size();
+            }
+        }
+
+    }
+
+    /**
+     * Discards the records of the journal up to the given mark, once the properties they changed are written to
+     * the save file. Records made after the mark are kept.<br>
+     * The kept records that were synced are written to a new journal file that then replaces the current one, so
+     * they are never only in memory.
+     *
+     * @param mark The mark obtained when the written properties were copied.
+     * @throws IOException if an error occurred while changing the journal.
+     * @see #snapshot(Properties)
+     */
+    public void discard( long mark ) throws IOException {
+
+        synchronized ( fileLock ) {
+            discardFile( mark );
+        }
+
+    }
+
+    /**
+     * Discards the records of the journal up to the given mark.
+     *
+     * @param mark The mark obtained when the written properties were copied.
+     * @throws IOException if an error occurred while changing the journal.
+     * @see #discard(long)
+     */
+    private void discardFile( long mark ) throws IOException {
+
+        if ( channel == null ) {
+            return;
+        }
+        long size = channel.size();
+        if ( mark > size ) { // Some of the records to discard were not synced yet.
+            synchronized ( this ) {
+                byte[] records = pending.toByteArray();
+                pending.reset();
+                pending.write( records, (int) ( mark - size ), records.length - (int) ( mark - size ) );
+            }
+            mark = size;
+        }
+        ByteBuffer rest = readFrom( mark );
+        if ( !rest.hasRemaining() ) { // Everything is in the save file already.
+            channel.truncate( 0 );
+            channel.force( false );
+            return;
+        }
+        Path temp = file.resolveSibling( file.getFileName() + TEMP_SUFFIX );
+        try ( FileChannel out = FileChannel.open( temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING ) ) { // Changes made while the save file was being written.
+            while ( rest.hasRemaining() ) {
+
+                out.write( rest );
+
+            }
+            out.force( false );
+        }
+        channel.close();
+        try {
+            AtomicFiles.replace( temp, file );
+        } finally {
+            channel = open(); // The old journal is still complete if the replace failed.
+        }
+
+    }
+
+    /**
+     * Retrieves the current size of the journal file. Changes that were not synced yet are not included.
+     *
+     * @return The size, in bytes.
+     * @throws IOException if an error occurred while checking the journal.
+     */
+    public long size() throws IOException {
+
+        synchronized ( fileLock ) {
+            return ( channel == null ) ? 0 : channel.size();
+        }
+
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.github.thiagotgm.separate_but_unequal.resource;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Saved game, as stored in one slot of a {@link SaveStore}.<br>
+ * Records the Story being played, the Scene the game was saved at, when it was saved, and the Scenes that were
+ * shown in that Story until then.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+public class SaveSlot {
+
+    private static final int MAGIC = 0x53425553; // "SBUS"
+    private static final byte VERSION = 1;
+
+    private final char storyCode;
+    private final String sceneID;
+    private final long timestamp;
+    private final List<String> path;
+
+    /**
+     * Creates a new saved game.
+     *
+     * @param storyCode The code of the Story being played.
+     * @param sceneID The ID of the Scene the game was saved at.
+     * @param timestamp When the game was saved, in milliseconds since the epoch.
+     * @param path The IDs of the Scenes shown until the game was saved, in order, ending with the saved Scene.
+     * @throws NullPointerException if the Scene ID or path is null.
+     */
+    public SaveSlot( char storyCode, String sceneID, long timestamp, List<String> path )
+            throws NullPointerException {
+
+        if ( ( sceneID == null ) || ( path == null ) ) {
+            throw new NullPointerException( "Scene ID and path cannot be null." );
+        }
+        this.storyCode = storyCode;
+        this.sceneID = sceneID;
+        this.timestamp = timestamp;
+        this.path = Collections.unmodifiableList( new ArrayList<>( path ) );
+
+    }
+
+    /**
+     * Retrieves the code of the Story being played.
+     *
+     * @return The story code.
+     */
+    public char getStoryCode() {
+
+        return storyCode;
+
+    }
+
+    /**
+     * Retrieves the ID of the Scene the game was saved at.
+     *
+     * @return The Scene ID.
+     */
+    public String getSceneID() {
+
+        return sceneID;
+
+    }
+
+    /**
+     * Retrieves when the game was saved.
+     *
+     * @return The time of the save, in milliseconds since the epoch.
+     */
+    public long getTimestamp() {
+
+        return timestamp;
+
+    }
+
+    /**
+     * Retrieves the IDs of the Scenes shown until the game was saved.
+     *
+     * @return The Scene IDs, in order, ending with the saved Scene. The list is unmodifiable.
+     */
+    public List<String> getPath() {
+
+        return path;
+
+    }
+
+    /**
+     * Writes this saved game in binary form.
+     *
+     * @param out The output to write to.
+     * @throws IOException if an error occurred while writing.
+     */
+    void write( DataOutput out ) throws IOException {
+
+        out.writeInt( MAGIC );
+        out.writeByte( VERSION );
+        out.writeChar( storyCode );
+        out.writeLong( timestamp );
+        out.writeUTF( sceneID );
+        out.writeInt( path.size() );
+        for ( String id : path ) {
+
+            out.writeUTF( id );
+
+        }
+
+    }
+
+    /**
+     * Reads a saved game written by {@link #write(DataOutput)}.
+     *
+     * @param in The input to read from.
+     * @return The saved game.
+     * @throws IOException if an error occurred while reading, or the input is not a saved game.
+     */
+    static SaveSlot read( DataInput in ) throws IOException {
+
+        if ( in.readInt() != MAGIC ) {
+            throw new IOException( "Not a save file." );
+        }
+        byte version = in.readByte();
+        if ( version != VERSION ) {
+            throw new IOException( "Unsupported save file version " + version + "." );
+        }
+        char storyCode = in.readChar();
+        long timestamp = in.readLong();
+        String sceneID = in.readUTF();
+        int length = in.readInt();
+        if ( length < 0 ) {
+            throw new IOException( "Invalid path length " + length + "." );
+        }
+        List<String> path = new ArrayList<>( Math.min( length, 1024 ) );
+        for ( int i = 0; i < length; i++ ) {
+
+            path.add( in.readUTF() );
+
+        }
+        return new SaveSlot( storyCode, sceneID, timestamp, path );
+
+    }
+
+    @Override
+    public String toString() {
+
+        return String.format( "Story %c, %s (%tF %<tR)", storyCode, sceneID, timestamp );
+
+    }
+
+}
@@ -0,0 +1,181 @@
+package com.github.thiagotgm.separate_but_unequal.resource;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Numbered slots that each hold one {@link SaveSlot saved game}, stored as one small binary file per slot in a
+ * folder.<p>
+ * The contents of every slot are read when the store is opened and kept in memory, so listing the slots does not
+ * touch the disk. Each slot is written to a temporary file that then replaces the slot file.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+public class SaveStore {
+
+    private static final Logger log = LoggerFactory.getLogger( SaveStore.class );
+
+    /** Amount of slots in a store. */
+    public static final int SLOTS = 10;
+
+    private static final String FILE_PREFIX = "slot";
+    private static final String FILE_SUFFIX = ".sav";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path folder;
+    private final SaveSlot[] slots;
+
+    /**
+     * Opens the store kept in the given folder.<br>
+     * Slot files that cannot be read are treated as empty slots. The folder is only created once a slot is written.
+     *
+     * @param folder The folder of the store.
+     */
+    public SaveStore( Path folder ) {
+
+        this.folder = folder;
+        this.slots = new SaveSlot[SLOTS];
+        for ( int i = 0; i < SLOTS; i++ ) { // Reads existing slots.
+
+            Path file = getFile( i );
+            if ( !Files.exists( file ) ) {
+                continue;
+            }
+            try ( DataInputStream in = new DataInputStream( new BufferedInputStream(
+                    Files.newInputStream( file ) ) ) ) {
+                slots[i] = SaveSlot.read( in );
+            } catch ( IOException e ) {
+                log.error( "Could not read save slot " + i + ".", e );
+            }
+
+        }
+
+    }
+
+    /**
+     * Retrieves the path of the file of a slot.
+     *
+     * @param slot The slot number.
+     * @return The path of the slot file.
+     */
+    private Path getFile( int slot ) {
+
+        return folder.resolve( FILE_PREFIX + slot + FILE_SUFFIX );
+
+    }
+
+    /**
+     * Checks that a slot number is valid.
+     *
+     * @param slot The slot number.
+     * @throws IllegalArgumentException if the slot number is not in the range 0 to {@value #SLOTS} - 1.
+     */
+    private static void checkSlot( int slot ) throws IllegalArgumentException {
+
+        if ( ( slot < 0 ) || ( slot >= SLOTS ) ) {
+            throw new IllegalArgumentException( "Save slot " + slot + " does not exist." );
+        }
+
+    }
+
+    /**
+     * Retrieves the saved game in a slot.
+     *
+     * @param slot The slot number, in the range 0 to {@value #SLOTS} - 1.
+     * @return The saved game, or null if the slot is empty.
+     * @throws IllegalArgumentException if the slot number is out of range.
+     */
+    public synchronized SaveSlot get( int slot ) throws IllegalArgumentException {
+
+        checkSlot( slot );
+        return slots[slot];
+
+    }
+
+    /**
+     * Determines if all slots are empty.
+     *
+     * @return true if there are no saved games, false otherwise.
+     */
+    public synchronized boolean isEmpty() {
+
+        for ( SaveSlot save : slots ) {
+
+            if ( save != null ) {
+                return false;
+            }
+
+        }
+        return true;
+
+    }
+
+    /**
+     * Saves a game in a slot, replacing what was in it.
+     *
+     * @param slot The slot number, in the range 0 to {@value #SLOTS} - 1.
+     * @param save The saved game.
+     * @throws IllegalArgumentException if the slot number is out of range.
+     * @throws IOException if an error occurred while writing the slot file. The slot is unchanged in that case.
+     */
+    public synchronized void write( int slot, SaveSlot save ) throws IllegalArgumentException, IOException {
+
+        checkSlot( slot );
+        Files.createDirectories( folder );
+        Path file = getFile( slot );
+        Path temp = file.resolveSibling( file.getFileName() + TEMP_SUFFIX );
+        try ( FileOutputStream fileOut = new FileOutputStream( temp.toFile() ) ) {
+            DataOutputStream out = new DataOutputStream( new BufferedOutputStream( fileOut ) );
+            save.write( out );
+            out.flush();
+            fileOut.getFD().sync();
+        }
+        AtomicFiles.replace( temp, file );
+        slots[slot] = save;
+
+    }
+
+    /**
+     * Empties a slot.
+     *
+     * @param slot The slot number, in the range 0 to {@value #SLOTS} - 1.
+     * @throws IllegalArgumentException if the slot number is out of range.
+     * @throws IOException if an error occurred while deleting the slot file.
+     */
+    public synchronized void delete( int slot ) throws IllegalArgumentException, IOException {
+
+        checkSlot( slot );
+        Files.deleteIfExists( getFile( slot ) );
+        slots[slot] = null;
+
+    }
+
+    /**
+     * Empties every slot. Slots that cannot be deleted are logged and skipped.
+     */
+    public synchronized void clear() {
+
+        for ( int i = 0; i < SLOTS; i++ ) {
+
+            try {
+                delete( i );
+            } catch ( IOException e ) {
+                log.error( "Could not delete save slot " + i + ".", e );
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.github.thiagotgm.separate_but_unequal.resource;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.thiagotgm.separate_but_unequal.NamedThreadFactory;
+
+/**
+ * Writes a set of properties to a file in the background, whenever they are changed.<p>
+ * Changes made within a short time of each other are written together. Each write goes to a temporary file that
+ * then replaces the actual file, so the file is never left half-written.<br>
+ * If the properties are kept in a {@link SaveJournal journal}, the journal is synced on the writer thread as soon as
+ * a change is made, and the records of the journal that were written to the file are discarded after each write.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+public class SaveWriter {
+
+    private static final Logger log = LoggerFactory.getLogger( SaveWriter.class );
+
+    /** Thread name to be used for the writer thread. */
+    public static final String THREAD_NAME = "Save Writer";
+
+    private static final long WRITE_DELAY = 200; // Time to wait for more changes before writing, in milliseconds.
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path file;
+    private final Path temp;
+    private final Properties properties;
+    private final SaveJournal journal;
+    private final String comment;
+    private final long delay;
+    private final ScheduledExecutorService executor;
+    private final AtomicBoolean scheduled;
+    private final AtomicBoolean syncScheduled;
+    private final AtomicLong changes;
+    private long written; // Only used by the writer thread.
+
+    /**
+     * Creates a new writer for the given properties.
+     *
+     * @param file The file to write to.
+     * @param properties The properties to be written. Changes to them must be made while holding their lock (which
+     *                   is the case for the methods of Properties).
+     * @param comment The comment to be written at the top of the file.
+     */
+    public SaveWriter( Path file, Properties properties, String comment ) {
+
+        this( file, properties, null, comment, WRITE_DELAY );
+
+    }
+
+    /**
+     * Creates a new writer for the properties of the given journal.<br>
+     * As changes are already kept safe by the journal, writes can be done less often.
+     *
+     * @param file The file to write to.
+     * @param journal The journal of the properties to be written.
+     * @param comment The comment to be written at the top of the file.
+     * @param delay Time to wait for more changes before writing, in milliseconds.
+     */
+    public SaveWriter( Path file, SaveJournal journal, String comment, long delay ) {
+
+        this( file, null, journal, comment, delay );
+
+    }
+
+    /**
+     * Creates a new writer.
+     *
+     * @param file The file to write to.
+     * @param properties The properties to be written, if there is no journal.
+     * @param journal The journal of the properties to be written, or null if there is none.
+     * @param comment The comment to be written at the top of the file.
+     * @param delay Time to wait for more changes before writing, in milliseconds.
+     */
+    private SaveWriter( Path file, Properties properties, SaveJournal journal, String comment, long delay ) {
+
+        this.file = file;
+        this.temp = file.resolveSibling( file.getFileName() + TEMP_SUFFIX );
+        this.properties = properties;
+        this.journal = journal;
+        this.comment = comment;
+        this.delay = delay;
+        this.executor = Executors.newSingleThreadScheduledExecutor( new NamedThreadFactory( THREAD_NAME ) );
+        this.scheduled = new AtomicBoolean();
+        this.syncScheduled = new AtomicBoolean();
+        this.changes = new AtomicLong();
+
+    }
+
+    /**
+     * Records that the properties changed, scheduling a write if one is not already scheduled (and a sync of the
+     * journal, if there is one).<br>
+     * Does not block.
+     */
+    public void request() {
+
+        changes.incrementAndGet();
+        if ( ( journal != null ) && syncScheduled.compareAndSet( false, true ) ) {
+            executor.execute( this::sync );
+        }
+        if ( scheduled.compareAndSet( false, true ) ) {
+            executor.schedule( this::write, delay, TimeUnit.MILLISECONDS );
+        }
+
+    }
+
+    /**
+     * Writes any changes that were not written yet, waiting until done.
+     */
+    public void flush() {
+
+        try {
+            executor.submit( this::write ).get();
+        } catch ( InterruptedException e ) {
+            log.warn( "Interrupted while waiting for the save file to be written." );
+            Thread.currentThread().interrupt();
+        } catch ( ExecutionException e ) {
+            log.error( "Failed to write save file.", e.getCause() );
+        }
+
+    }
+
+    /**
+     * Writes the changes recorded in the journal since the last sync to the journal file.
+     */
+    private void sync() {
+
+        syncScheduled.set( false ); // Changes from now on need another sync.
+        try {
+            journal.sync();
+        } catch ( IOException e ) {
+            log.error( "Could not record changes in the save journal.", e );
+        }
+
+    }
+
+    /**
+     * Writes the current state of the properties, if they changed since the last write.
+     */
+    private void write() {
+
+        scheduled.set( false ); // Changes from now on need another write.
+        long current = changes.get();
+        if ( current == written ) {
+            return; // Nothing new.
+        }
+        Properties snapshot = new Properties();
+        log.info( "Writing to save file." );
+        try {
+            long mark = 0;
+            if ( journal != null ) {
+                mark = journal.snapshot( snapshot );
+            } else {
+                synchronized ( properties ) { // Copies without changes happening in the middle.
+                    snapshot.putAll( properties );
+                }
+            }
+            try ( FileOutputStream out = new FileOutputStream( temp.toFile() ) ) {
+                snapshot.store( out, comment );
+                out.getFD().sync(); // Contents must be on disk before replacing the file.
+            }
+            AtomicFiles.replace( temp, file );
+            if ( journal != null ) {
+                journal.discard( mark ); // Already in the file.
+            }
+            written = current;
+            log.info( "Save file written successfully." );
+        } catch ( IOException e ) {
+            log.error( "Could not write save file.", e );
+        }
+
+    }
+
+}
@@ -0,0 +1,406 @@
+package com.github.thiagotgm.separate_but_unequal.resource;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Store that packs the text of every Scene into a single file, which is then memory-mapped.<p>
+ * The file starts with a table that maps each Scene ID to where its text is in the file, followed by the text of all
+ * the Scenes. Retrieving the text of a Scene just takes a view of the mapped file, without opening the Scene's own
+ * text file or copying any of the text.<p>
+ * The text is kept as UTF-16 chars so that it can be viewed in place, so the text of all the Scenes together can
+ * have at most {@value #MAX_TEXT_LENGTH} chars (about 2 GB of file).
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+public class SceneTextStore {
+
+    private static final Logger log = LoggerFactory.getLogger( SceneTextStore.class );
+
+    private static final int MAGIC = 0x53425554; // "SBUT"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 20; // Magic, version, table size, and data offset.
+    private static final long MISSING = -1; // Offset of Scenes whose text could not be read.
+
+    /** Maximum total length of the text in a store, in chars. The mapped text is limited to 2 GB. */
+    public static final int MAX_TEXT_LENGTH = Integer.MAX_VALUE / Character.BYTES;
+
+    private final CharBuffer text;
+    private final Map<String, long[]> table;
+
+    /**
+     * Creates a store over the given text.
+     *
+     * @param text The text of all Scenes.
+     * @param table The offset and length of the text of each Scene, keyed by Scene ID.
+     */
+    private SceneTextStore( CharBuffer text, Map<String, long[]> table ) {
+
+        this.text = text;
+        this.table = table;
+
+    }
+
+    /**
+     * Opens the store in the given file, as long as it is up to date with the given Scenes. If it isn't, or could not
+     * be opened, the store is rebuilt.<br>
+     * The store is up to date if it was written after the given time and after the text files of all the Scenes were
+     * last modified, and has the text of all the given Scenes. This is checked before the file is mapped, so an
+     * out of date file is never mapped while it is being replaced.
+     *
+     * @param file The file of the store.
+     * @param scenes The Scenes that the store should have the text of.
+     * @param newestSource The time (in milliseconds since the epoch) that the most recently modified resource file
+     *                     was modified.
+     * @return The store.
+     * @throws IOException if the store was out of date and could not be rebuilt.
+     */
+    public static SceneTextStore openOrBuild( Path file, Collection<Scene> scenes, long newestSource )
+            throws IOException {
+
+        if ( Files.exists( file ) ) {
+            try {
+                Table table = readTable( file );
+                if ( isUpToDate( file, table.entries, scenes, newestSource ) ) {
+                    SceneTextStore store = map( file, table );
+                    log.info( "Opened scene text store with " + store.size() + " scenes." );
+                    return store;
+                }
+                log.info( "Scene text store is out of date. Rebuilding it." );
+            } catch ( IOException e ) {
+                log.warn( "Could not open scene text store. Rebuilding it.", e );
+            }
+        } else {
+            log.info( "No scene text store found. Building it." );
+        }
+        build( file, scenes );
+        SceneTextStore store = open( file );
+        log.info( "Built scene text store with " + store.size() + " scenes." );
+        return store;
+
+    }
+
+    /**
+     * Opens the store in the given file.
+     *
+     * @param file The file of the store.
+     * @return The store.
+     * @throws IOException if the file could not be read or is not a valid store.
+     */
+    public static SceneTextStore open( Path file ) throws IOException {
+
+        return map( file, readTable( file ) );
+
+    }
+
+    /**
+     * Reads the table of the store in the given file, without mapping the text.
+     *
+     * @param file The file of the store.
+     * @return The table.
+     * @throws IOException if the file could not be read or is not a valid store.
+     */
+    private static Table readTable( Path file ) throws IOException {
+
+        Map<String, long[]> table = new HashMap<>();
+        long dataOffset;
+        try ( InputStream stream = Files.newInputStream( file ) ) {
+
+            DataInputStream in = new DataInputStream( new BufferedInputStream( stream ) );
+            if ( ( in.readInt() != MAGIC ) || ( in.readInt() != VERSION ) ) {
+                throw new IOException( "Unrecognized scene text store format." );
+            }
+            int count = in.readInt();
+            dataOffset = in.readLong();
+            for ( int i = 0; i < count; i++ ) {
+
+                table.put( in.readUTF(), new long[] { in.readLong(), in.readInt() } );
+
+            }
+
+        }
+        return new Table( table, dataOffset );
+
+    }
+
+    /**
+     * Maps the text of the store in the given file.
+     *
+     * @param file The file of the store.
+     * @param table The table of the store, as read from the file.
+     * @return The store.
+     * @throws IOException if the file could not be read or is not a valid store.
+     */
+    private static SceneTextStore map( Path file, Table table ) throws IOException {
+
+        try ( FileChannel channel = FileChannel.open( file, StandardOpenOption.READ ) ) {
+
+            long size = channel.size();
+            if ( table.dataOffset > size ) {
+                throw new IOException( "Scene text store is truncated." );
+            }
+            if ( size - table.dataOffset > (long) MAX_TEXT_LENGTH * Character.BYTES ) {
+                throw new IOException( "Scene text store is too large to be mapped." );
+            }
+            CharBuffer text = channel.map( FileChannel.MapMode.READ_ONLY, table.dataOffset, size - table.dataOffset )
+                    .asCharBuffer();
+            for ( long[] entry : table.entries.values() ) {
+
+                if ( ( entry[0] != MISSING ) && ( ( entry[0] < 0 ) || ( entry[1] < 0 )
+                        || ( entry[0] + entry[1] > text.capacity() ) ) ) {
+                    throw new IOException( "Scene text store is corrupted." );
+                }
+
+            }
+            return new SceneTextStore( text, table.entries );
+
+        }
+
+    }
+
+    /**
+     * Writes a new store with the text of the given Scenes.<br>
+     * Scenes whose text could not be read are recorded as having no text. The store is first written to a temporary
+     * file that then replaces the given file, so an interrupted write never leaves a partial store behind. The
+     * given file should not be mapped by an open store at the time, as some systems can't replace a mapped file.
+     *
+     * @param file The file to write the store to.
+     * @param scenes The Scenes to be placed in the store.
+     * @throws IOException if the store could not be written, or the text of the Scenes is longer than
+     *                     {@value #MAX_TEXT_LENGTH} chars in total.
+     */
+    public static void build( Path file, Collection<Scene> scenes ) throws IOException {
+
+        List<String> ids = new ArrayList<>( scenes.size() );
+        List<String> texts = new ArrayList<>( scenes.size() );
+        int tableSize = 0;
+        long textLength = 0;
+        for ( Scene scene : scenes ) { // Reads the text of each Scene.
+
+            String sceneText = readText( scene.getPath() );
+            if ( sceneText == null ) { // Recorded as missing so the store is not rebuilt for it every time.
+                log.warn( "Could not read text of Scene '" + scene.getID() + "'." );
+            } else {
+                textLength += sceneText.length();
+            }
+            ids.add( scene.getID() );
+            texts.add( sceneText );
+            tableSize += 2 + modifiedUTFLength( scene.getID() ) + 8 + 4;
+
+        }
+        if ( textLength > MAX_TEXT_LENGTH ) {
+            throw new IOException( "Scene text has " + textLength + " chars, more than the store can hold ("
+                    + MAX_TEXT_LENGTH + ")." );
+        }
+
+        Path absolute = file.toAbsolutePath();
+        Path temp = Files.createTempFile( absolute.getParent(), absolute.getFileName().toString(), ".tmp" );
+        try {
+            try ( OutputStream stream = new BufferedOutputStream( Files.newOutputStream( temp ) ) ) {
+
+                DataOutputStream out = new DataOutputStream( stream );
+                long dataOffset = HEADER_SIZE + tableSize;
+                dataOffset += dataOffset % 2; // Keeps the text aligned to chars.
+                out.writeInt( MAGIC );
+                out.writeInt( VERSION );
+                out.writeInt( ids.size() );
+                out.writeLong( dataOffset );
+                long offset = 0;
+                for ( int i = 0; i < ids.size(); i++ ) { // Writes the table.
+
+                    String sceneText = texts.get( i );
+                    out.writeUTF( ids.get( i ) );
+                    out.writeLong( ( sceneText == null ) ? MISSING : offset );
+                    out.writeInt( ( sceneText == null ) ? 0 : sceneText.length() );
+                    if ( sceneText != null ) {
+                        offset += sceneText.length();
+                    }
+
+                }
+                while ( out.size() < dataOffset ) { // Padding.
+                    out.writeByte( 0 );
+                }
+                for ( String sceneText : texts ) { // Writes the text.
+
+                    if ( sceneText != null ) {
+                        out.writeChars( sceneText );
+                    }
+
+                }
+                out.flush();
+
+            }
+            AtomicFiles.replace( temp, file );
+        } finally {
+            Files.deleteIfExists( temp );
+        }
+
+    }
+
+    /**
+     * Reads the text of a Scene directly from its text file.
+     *
+     * @param path The path of the text file.
+     * @return The text in that file, or null if it could not be read.
+     */
+    public static String readText( ResourcePath path ) {
+
+        StringBuilder builder = new StringBuilder();
+        InputStream in = path.getInputStream();
+        if ( in == null ) {
+            return null; // Couldn't load file.
+        }
+        Scanner reader = new Scanner( in );
+        while ( reader.hasNext() ) { // Read every line from the file.
+
+            builder.append( reader.nextLine() );
+            builder.append( '\n' );
+
+        }
+        reader.close();
+        return builder.toString().trim(); // Finished reading file.
+
+    }
+
+    /**
+     * Retrieves the amount of Scenes in this store.
+     *
+     * @return The amount of Scenes.
+     */
+    public int size() {
+
+        return table.size();
+
+    }
+
+    /**
+     * Retrieves the text of the Scene with the given ID.<br>
+     * The text is a read-only view of the store, so it is not copied.
+     *
+     * @param id The ID of the Scene.
+     * @return The text of the Scene, or null if the Scene is not in this store or its text could not be read when
+     *         the store was built.
+     */
+    public CharSequence getText( String id ) {
+
+        long[] entry = table.get( id );
+        if ( ( entry == null ) || ( entry[0] == MISSING ) ) {
+            return null;
+        }
+        CharBuffer view = text.duplicate(); // Buffer position is not thread-safe, so use a separate one.
+        view.position( (int) entry[0] );
+        view.limit( (int) ( entry[0] + entry[1] ) );
+        return view.slice();
+
+    }
+
+    /**
+     * Determines whether a store is up to date with the given Scenes.
+     *
+     * @param file The file of the store.
+     * @param table The offset and length of the text of each Scene in the store, keyed by Scene ID.
+     * @param scenes The Scenes that the store should have the text of.
+     * @param newestSource The time that the most recently modified resource file was modified.
+     * @return true if the store is up to date, false otherwise.
+     * @throws IOException if the modification time of the store could not be determined.
+     */
+    private static boolean isUpToDate( Path file, Map<String, long[]> table, Collection<Scene> scenes,
+            long newestSource ) throws IOException {
+
+        long written = Files.getLastModifiedTime( file ).toMillis();
+        if ( written < newestSource ) {
+            return false;
+        }
+        for ( Scene scene : scenes ) {
+
+            if ( !table.containsKey( scene.getID() ) ) {
+                return false;
+            }
+            ResourcePath path = scene.getPath();
+            if ( path.inJar() ) {
+                continue; // Text files in a jar only change with the resource files.
+            }
+            boolean exists = Files.exists( path.getPath() );
+            if ( exists != ( table.get( scene.getID() )[0] != MISSING ) ) {
+                return false; // File was created or deleted.
+            }
+            if ( exists && ( Files.getLastModifiedTime( path.getPath() ).toMillis() > written ) ) {
+                return false;
+            }
+
+        }
+        return true;
+
+    }
+
+    /**
+     * Calculates the length of a String in modified UTF-8 encoding, as written by
+     * {@link DataOutputStream#writeUTF(String)} (without the length prefix).
+     *
+     * @param str The String.
+     * @return The encoded length.
+     */
+    private static int modifiedUTFLength( String str ) {
+
+        int length = 0;
+        for ( int i = 0; i < str.length(); i++ ) {
+
+            char c = str.charAt( i );
+            if ( ( c >= 0x0001 ) && ( c <= 0x007F ) ) {
+                length += 1;
+            } else if ( c > 0x07FF ) {
+                length += 3;
+            } else {
+                length += 2;
+            }
+
+        }
+        return length;
+
+    }
+
+    /**
+     * Table of a store, read from its file.
+     */
+    private static final class Table {
+
+        final Map<String, long[]> entries;
+        final long dataOffset;
+
+        /**
+         * Creates a table.
+         *
+         * @param entries The offset and length of the text of each Scene, keyed by Scene ID.
+         * @param dataOffset Where the text starts in the file.
+         */
+        Table( Map<String, long[]> entries, long dataOffset ) {
+
+            this.entries = entries;
+            this.dataOffset = dataOffset;
+
+        }
+
+    }
+
+}
@@ -0,0 +1,503 @@
+package com.github.thiagotgm.separate_but_unequal.resource;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+
+/**
+ * Finds out which Scenes and endings of each Story can actually be reached from its start, without playing it.<p>
+ * The choice graph of the resource library is built once, with each Scene numbered and the targets of its choices
+ * kept in a single array. Each Story is then explored breadth-first from its start, one level (amount of choices
+ * from the start) at a time, with the Scenes of each level split among the threads of a fork/join pool. This gives
+ * the shortest amount of choices to each ending. Cycles are found by repeatedly removing, in the same way, the
+ * reachable Scenes that no remaining reachable Scene leads to: if some are left, they are in a cycle.<p>
+ * Can also be run from the command line (as done by the <code>analyze</code> build profile), in which case it
+ * fails if any Achievement cannot be unlocked.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+public class StoryAnalyzer {
+
+    private static final int SPLIT_THRESHOLD = 512; // Scenes handled by each task without splitting further.
+    private static final int[] NONE = new int[0];
+
+    private final ForkJoinPool pool;
+    private final Collection<Resource> resources;
+    private final Map<Scene, Integer> numbers;
+    private final Function<String, Resource> lookup;
+    private final int[] endCodes; // 0 if the Scene is not an ending.
+    private final int[] firstEdges; // Targets of Scene i are edges[firstEdges[i]] to edges[firstEdges[i + 1]].
+    private final int[] edges;
+
+    /**
+     * Builds the choice graph of the given Resources, to be explored on the common fork/join pool.
+     *
+     * @param resources The Resources to analyze.
+     * @param lookup Function that obtains the Resource with a given ID (or null if there is none).
+     */
+    public StoryAnalyzer( Collection<Resource> resources, Function<String, Resource> lookup ) {
+
+        this( resources, lookup, ForkJoinPool.commonPool() );
+
+    }
+
+    /**
+     * Builds the choice graph of the given Resources.
+     *
+     * @param resources The Resources to analyze.
+     * @param lookup Function that obtains the Resource with a given ID (or null if there is none).
+     * @param pool The pool to explore the graph on.
+     */
+    public StoryAnalyzer( Collection<Resource> resources, Function<String, Resource> lookup, ForkJoinPool pool ) {
+
+        this.pool = pool;
+        this.resources = resources;
+        this.lookup = lookup;
+        this.numbers = new IdentityHashMap<>(); // Scenes are only equal to themselves.
+        List<Scene> scenes = new ArrayList<>();
+        int edgeCount = 0;
+        for ( Resource res : resources ) { // Numbers the Scenes.
+
+            if ( res instanceof Scene ) {
+                numbers.put( (Scene) res, scenes.size() );
+                scenes.add( (Scene) res );
+                if ( res instanceof ChoiceScene ) {
+                    edgeCount += ( (ChoiceScene) res ).getOptions().size();
+                }
+            }
+
+        }
+        endCodes = new int[scenes.size()];
+        firstEdges = new int[scenes.size() + 1];
+        int[] targets = new int[edgeCount];
+        int edge = 0;
+        for ( int i = 0; i < scenes.size(); i++ ) { // Records the targets of each Scene.
+
+            firstEdges[i] = edge;
+            Scene scene = scenes.get( i );
+            if ( scene instanceof EndScene ) {
+                endCodes[i] = ( (EndScene) scene ).getCode();
+            } else if ( scene instanceof ChoiceScene ) {
+                for ( Choice option : ( (ChoiceScene) scene ).getOptions() ) {
+
+                    Integer target = number( lookup.apply( option.getTarget() ) );
+                    if ( target != null ) { // Invalid targets lead nowhere.
+                        targets[edge++] = target;
+                    }
+
+                }
+            }
+
+        }
+        firstEdges[scenes.size()] = edge;
+        edges = Arrays.copyOf( targets, edge );
+
+    }
+
+    /**
+     * Retrieves the number of a Scene in the graph.
+     *
+     * @param res The Resource.
+     * @return The number, or null if the Resource is not a Scene in the graph.
+     */
+    private Integer number( Resource res ) {
+
+        return ( res instanceof Scene ) ? numbers.get( res ) : null;
+
+    }
+
+    /**
+     * Analyzes every Story in the Resources.
+     *
+     * @return The report of each Story, in Story order.
+     */
+    public List<Report> analyze() {
+
+        List<Story> stories = new ArrayList<>();
+        for ( Resource res : resources ) {
+
+            if ( res instanceof Story ) {
+                stories.add( (Story) res );
+            }
+
+        }
+        Collections.sort( stories );
+        List<Report> reports = new ArrayList<>( stories.size() );
+        for ( Story story : stories ) {
+
+            reports.add( analyze( story ) );
+
+        }
+        return reports;
+
+    }
+
+    /**
+     * Analyzes a Story.
+     *
+     * @param story The Story.
+     * @return The report of the Story.
+     */
+    public Report analyze( Story story ) {
+
+        Integer start = number( lookup.apply( story.getStart() ) );
+        int[] reachable = NONE;
+        Map<Integer, Integer> endings = new TreeMap<>();
+        boolean cycle = false;
+        if ( start != null ) {
+            AtomicIntegerArray distances = new AtomicIntegerArray( endCodes.length );
+            reachable = explore( start, distances );
+            for ( int scene : reachable ) { // Finds the nearest Scene with each end code.
+
+                if ( endCodes[scene] != 0 ) {
+                    endings.merge( endCodes[scene], distances.get( scene ), Math::min );
+                }
+
+            }
+            cycle = hasCycle( reachable );
+        }
+        List<Achievement> unreachable = new ArrayList<>();
+        for ( Resource res : resources ) {
+
+            if ( ( res instanceof Achievement ) && ( ( (Achievement) res ).getStoryCode() == story.getCode() )
+                    && !endings.containsKey( ( (Achievement) res ).getEndCode() ) ) {
+                unreachable.add( (Achievement) res );
+            }
+
+        }
+        Collections.sort( unreachable );
+        return new Report( story, start != null, reachable.length, cycle, endings, unreachable );
+
+    }
+
+    /**
+     * Finds the Scenes that can be reached from a Scene, and the least amount of choices needed to reach each.
+     *
+     * @param start The number of the starting Scene.
+     * @param distances Where to place the amount of choices needed to reach each Scene. Scenes that are not
+     *                  reached are left as 0 (as is the start).
+     * @return The numbers of the reachable Scenes, in breadth-first order (including the start).
+     */
+    private int[] explore( int start, AtomicIntegerArray distances ) {
+
+        AtomicIntegerArray visited = new AtomicIntegerArray( endCodes.length );
+        visited.set( start, 1 );
+        List<int[]> levels = new ArrayList<>();
+        int[] level = { start };
+        int total = 0;
+        for ( int distance = 1; level.length > 0; distance++ ) { // Each level is one choice further.
+
+            levels.add( level );
+            total += level.length;
+            final int next = distance;
+            level = pool.invoke( new Expand( level, 0, level.length, target -> {
+
+                if ( visited.compareAndSet( target, 0, 1 ) ) { // Only the first to reach it adds it.
+                    distances.set( target, next );
+                    return true;
+                }
+                return false;
+
+            } ) );
+
+        }
+        int[] reachable = new int[total];
+        int position = 0;
+        for ( int[] found : levels ) {
+
+            System.arraycopy( found, 0, reachable, position, found.length );
+            position += found.length;
+
+        }
+        return reachable;
+
+    }
+
+    /**
+     * Identifies whether the given Scenes contain a cycle.
+     *
+     * @param reachable The Scenes reachable from a starting Scene. Every target of these Scenes must be among them.
+     * @return true if there is a cycle, false otherwise.
+     */
+    private boolean hasCycle( int[] reachable ) {
+
+        AtomicIntegerArray incoming = new AtomicIntegerArray( endCodes.length );
+        pool.invoke( new Expand( reachable, 0, reachable.length, target -> { // Counts the edges into each Scene.
+
+            incoming.incrementAndGet( target );
+            return false;
+
+        } ) );
+        int[] level = Arrays.stream( reachable ).filter( scene -> incoming.get( scene ) == 0 ).toArray();
+        int removed = 0;
+        while ( level.length > 0 ) { // Removes the Scenes that nothing left leads to.
+
+            removed += level.length;
+            level = pool.invoke( new Expand( level, 0, level.length,
+                    target -> incoming.decrementAndGet( target ) == 0 ) );
+
+        }
+        return removed < reachable.length;
+
+    }
+
+    /**
+     * Task that visits every target of a range of Scenes, splitting the range among multiple tasks if it is large.
+     *
+     * @version 1.0
+     * @author Thiago
+     * @since 2026-10-17
+     */
+    private class Expand extends RecursiveTask<int[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] scenes;
+        private final int from;
+        private final int to;
+        private final IntPredicate visit;
+
+        /**
+         * Creates a new task.
+         *
+         * @param scenes The Scenes.
+         * @param from The start of the range to visit (inclusive).
+         * @param to The end of the range to visit (exclusive).
+         * @param visit Function called with each target of the Scenes in the range. Returns whether the target
+         *              should be included in the result.
+         */
+        public Expand( int[] scenes, int from, int to, IntPredicate visit ) {
+
+            this.scenes = scenes;
+            this.from = from;
+            this.to = to;
+            this.visit = visit;
+
+        }
+
+        /**
+         * Visits the targets.
+         *
+         * @return The targets that were included.
+         */
+        @Override
+        protected int[] compute() {
+
+            if ( to - from > SPLIT_THRESHOLD ) { // Splits in half.
+                int middle = ( from + to ) >>> 1;
+                Expand first = new Expand( scenes, from, middle, visit );
+                first.fork();
+                int[] second = new Expand( scenes, middle, to, visit ).compute();
+                int[] firstResult = first.join();
+                int[] result = Arrays.copyOf( firstResult, firstResult.length + second.length );
+                System.arraycopy( second, 0, result, firstResult.length, second.length );
+                return result;
+            }
+            int[] found = NONE;
+            int count = 0;
+            for ( int i = from; i < to; i++ ) {
+
+                int scene = scenes[i];
+                for ( int edge = firstEdges[scene]; edge < firstEdges[scene + 1]; edge++ ) {
+
+                    if ( visit.test( edges[edge] ) ) {
+                        if ( count == found.length ) {
+                            found = Arrays.copyOf( found, Math.max( 16, count * 2 ) );
+                        }
+                        found[count++] = edges[edge];
+                    }
+
+                }
+
+            }
+            return ( count == found.length ) ? found : Arrays.copyOf( found, count );
+
+        }
+
+    }
+
+    /**
+     * Analyzes the resources in a folder and prints the report of each Story.<br>
+     * Exits with status 1 if any Story has an invalid start or an Achievement that cannot be unlocked.
+     *
+     * @param args Optionally, the root resource folder. If not given, the resources in the classpath are used.
+     * @throws IOException if an error occurred while finding the resource files.
+     * @throws URISyntaxException if the resources in the classpath could not be located.
+     */
+    public static void main( String[] args ) throws IOException, URISyntaxException {
+
+        Map<String, Resource> resources = new ResourceLoader( 0 ).load( ( args.length > 0 )
+                ? Paths.get( args[0] ).toUri()
+                : StoryAnalyzer.class.getClassLoader().getResource( ResourceManager.RESOURCE_ROOT ).toURI() );
+        boolean failed = false;
+        for ( Report report : new StoryAnalyzer( resources.values(), resources::get ).analyze() ) {
+
+            System.out.println( report );
+            failed |= !report.isStartValid() || !report.getUnreachableAchievements().isEmpty();
+
+        }
+        if ( failed ) {
+            System.err.println( "Some stories have achievements that cannot be unlocked." );
+            System.exit( 1 );
+        }
+
+    }
+
+    /**
+     * The results of analyzing a Story.
+     *
+     * @version 1.0
+     * @author Thiago
+     * @since 2026-10-17
+     */
+    public static class Report {
+
+        private final Story story;
+        private final boolean startValid;
+        private final int reachable;
+        private final boolean cycle;
+        private final Map<Integer, Integer> endings;
+        private final List<Achievement> unreachable;
+
+        /**
+         * Creates a new report.
+         *
+         * @param story The Story.
+         * @param startValid Whether the start of the Story is a Scene.
+         * @param reachable The amount of Scenes reachable from the start.
+         * @param cycle Whether the reachable Scenes contain a cycle.
+         * @param endings The least amount of choices to reach each end code.
+         * @param unreachable The Achievements of the Story that cannot be unlocked.
+         */
+        private Report( Story story, boolean startValid, int reachable, boolean cycle, Map<Integer, Integer> endings,
+                List<Achievement> unreachable ) {
+
+            this.story = story;
+            this.startValid = startValid;
+            this.reachable = reachable;
+            this.cycle = cycle;
+            this.endings = Collections.unmodifiableMap( endings );
+            this.unreachable = Collections.unmodifiableList( unreachable );
+
+        }
+
+        /**
+         * Retrieves the Story that was analyzed.
+         *
+         * @return The Story.
+         */
+        public Story getStory() {
+
+            return story;
+
+        }
+
+        /**
+         * Retrieves whether the start of the Story is a valid Scene.
+         *
+         * @return true if the start is valid, false otherwise (in which case nothing is reachable).
+         */
+        public boolean isStartValid() {
+
+            return startValid;
+
+        }
+
+        /**
+         * Retrieves the amount of Scenes that can be reached from the start of the Story, including the start.
+         *
+         * @return The amount of Scenes.
+         */
+        public int getReachableCount() {
+
+            return reachable;
+
+        }
+
+        /**
+         * Retrieves whether the Scenes that can be reached from the start contain a cycle (so the player can
+         * return to a Scene already shown).
+         *
+         * @return true if there is a cycle, false otherwise.
+         */
+        public boolean hasCycle() {
+
+            return cycle;
+
+        }
+
+        /**
+         * Retrieves the endings that can be reached from the start.
+         *
+         * @return The least amount of choices needed to reach each end code, by end code, in increasing order of
+         *         end code. The map is unmodifiable.
+         */
+        public Map<Integer, Integer> getEndingDistances() {
+
+            return endings;
+
+        }
+
+        /**
+         * Retrieves the Achievements of the Story whose ending cannot be reached.
+         *
+         * @return The Achievements, in sorted order. The list is unmodifiable.
+         */
+        public List<Achievement> getUnreachableAchievements() {
+
+            return unreachable;
+
+        }
+
+        /**
+         * Describes the results.
+         *
+         * @return The description, with one line for the Story and one per ending and unreachable Achievement.
+         */
+        @Override
+        public String toString() {
+
+            StringBuilder builder = new StringBuilder();
+            builder.append( "Story '" ).append( story.getCode() ).append( "' (" ).append( story.getName() )
+                    .append( "): " );
+            if ( !startValid ) {
+                builder.append( "invalid start '" ).append( story.getStart() ).append( "'" );
+            } else {
+                builder.append( reachable ).append( " scenes reachable, " ).append( endings.size() )
+                        .append( " endings" ).append( cycle ? ", has cycles" : "" );
+            }
+            for ( Map.Entry<Integer, Integer> ending : endings.entrySet() ) {
+
+                builder.append( "\n  Ending " ).append( story.getCode() ).append( '-' ).append( ending.getKey() )
+                        .append( ": " ).append( ending.getValue() ).append( " choices" );
+
+            }
+            for ( Achievement achievement : unreachable ) {
+
+                builder.append( "\n  Unreachable achievement " ).append( achievement.getStoryCode() ).append( '-' )
+                        .append( achievement.getEndCode() ).append( " '" ).append( achievement.getTitle() )
+                        .append( "'" );
+
+            }
+            return builder.toString();
+
+        }
+
+    }
+
+}
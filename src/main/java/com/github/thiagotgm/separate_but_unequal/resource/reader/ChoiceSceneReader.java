@@ -3,12 +3,9 @@ package com.github.thiagotgm.separate_but_unequal.resource.reader;
 import java.util.LinkedList;
 import java.util.List;
 
-import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.EndElement;
-import javax.xml.stream.events.StartElement;
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamReader;
 
 import com.github.thiagotgm.separate_but_unequal.resource.Choice;
 import com.github.thiagotgm.separate_but_unequal.resource.ChoiceSceneFactory;
@@ -36,7 +33,7 @@ public class ChoiceSceneReader extends SceneReader {
     }
 
     @Override
-    public void readSpecificElement( XMLEventReader reader, ResourceFactory factory, String element )
+    public void readSpecificElement( XMLStreamReader reader, ResourceFactory factory, String element )
             throws XMLStreamException {
 
         ChoiceSceneFactory csFactory = (ChoiceSceneFactory) factory;
@@ -56,24 +53,22 @@ public class ChoiceSceneReader extends SceneReader {
     /**
      * Reads the options list described by a {@value #OPTIONS_TAG} element.
      *
-     * @param reader Reader going through the XML document. Its last return should have been
+     * @param reader Reader going through the XML document. It should be positioned at
      *               the opening tag of the {@value #OPTIONS_TAG} element.
      * @return The list of Choices described by that element.
      * @throws XMLStreamException If a format error was encountered in the element.
      */
-    private List<Choice> readOptions( XMLEventReader reader ) throws XMLStreamException {
+    private List<Choice> readOptions( XMLStreamReader reader ) throws XMLStreamException {
         
         List<Choice> options = new LinkedList<>();
         while ( reader.hasNext() ) {
             
-            XMLEvent event = reader.nextEvent();
             String name;
-            switch ( event.getEventType() ) {
+            switch ( reader.next() ) {
                 
                 /* Opening tag */
                 case XMLStreamConstants.START_ELEMENT:
-                    StartElement start = event.asStartElement();
-                    name = start.getName().getLocalPart();
+                    name = reader.getLocalName();
                     if ( name.equals( CHOICE_TAG ) ) { // Found a Choice.
                         options.add( readChoice( reader ) );
                     } else { // Unrecognized subelement.
@@ -83,8 +78,7 @@ public class ChoiceSceneReader extends SceneReader {
                     
                 /* Closing tag */
                 case XMLStreamConstants.END_ELEMENT:
-                    EndElement end = event.asEndElement();
-                    name = end.getName().getLocalPart();
+                    name = reader.getLocalName();
                     if ( name.equals( OPTIONS_TAG ) ) { // Finished element.
                         return options;
                     } else { // Closing tag not recognized.
@@ -100,14 +94,14 @@ public class ChoiceSceneReader extends SceneReader {
     }
     
     /**
-     * Reads a Choice from a {@value #CHOICE_TAG} element from the given EventReader.
+     * Reads a Choice from a {@value #CHOICE_TAG} element from the given StreamReader.
      *
-     * @param reader Reader going through the XML document. Its last return should have been
+     * @param reader Reader going through the XML document. It should be positioned at
      *               the opening tag of the {@value #CHOICE_TAG} element.
      * @return The choice object representing that element.
      * @throws XMLStreamException if a format error was encountered in the element.
      */
-    private Choice readChoice( XMLEventReader reader ) throws XMLStreamException {
+    private Choice readChoice( XMLStreamReader reader ) throws XMLStreamException {
         
         String text = null;
         boolean isText = false;
@@ -115,17 +109,15 @@ public class ChoiceSceneReader extends SceneReader {
         boolean isTarget = false;
         while ( reader.hasNext() ) {
             
-            XMLEvent event = reader.nextEvent();
             String name;
-            switch ( event.getEventType() ) {
+            switch ( reader.next() ) {
                 
                 /* Opening tag */
                 case XMLStreamConstants.START_ELEMENT:
                     if ( isText || isTarget ) { // <text> and <target> shouldn't have subelements.
                         throw new XMLStreamException( UNEXPECTED_ELEMENT );
                     }
-                    StartElement start = event.asStartElement();
-                    name = start.getName().getLocalPart();
+                    name = reader.getLocalName();
                     if ( name.equals( CHOICE_TEXT_TAG ) ) { // <text> encountered.
                         isText = true;
                     } else if ( name.equals( CHOICE_TARGET_TAG ) ) { // <target> encountered.
@@ -137,7 +129,7 @@ public class ChoiceSceneReader extends SceneReader {
                     
                 /* Text */
                 case XMLStreamConstants.CHARACTERS:
-                    String value = event.asCharacters().getData().trim();
+                    String value = reader.getText().trim();
                     if ( value.isEmpty() ) {
                         value = null; // Empty text is not valid.
                     }
@@ -150,8 +142,7 @@ public class ChoiceSceneReader extends SceneReader {
                     
                 /* Closing tag */
                 case XMLStreamConstants.END_ELEMENT:
-                    EndElement end = event.asEndElement();
-                    name = end.getName().getLocalPart();
+                    name = reader.getLocalName();
                     if ( isText && name.equals( CHOICE_TEXT_TAG ) ) { // Was reading <text> and found </text>.
                         isText = false;
                     } else if ( isTarget && name.equals( CHOICE_TARGET_TAG ) ) { // Was reading <target> and found </target>.
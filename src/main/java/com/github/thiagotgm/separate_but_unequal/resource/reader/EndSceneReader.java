@@ -1,10 +1,8 @@
 package com.github.thiagotgm.separate_but_unequal.resource.reader;
 
-import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.EndElement;
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamReader;
 
 import com.github.thiagotgm.separate_but_unequal.resource.EndSceneFactory;
 import com.github.thiagotgm.separate_but_unequal.resource.ResourceFactory;
@@ -28,7 +26,7 @@ public class EndSceneReader extends SceneReader {
     }
 
     @Override
-    public void readSpecificElement( XMLEventReader reader, ResourceFactory factory, String element )
+    public void readSpecificElement( XMLStreamReader reader, ResourceFactory factory, String element )
             throws XMLStreamException {
 
         EndSceneFactory esFactory = (EndSceneFactory) factory;
@@ -53,20 +51,19 @@ public class EndSceneReader extends SceneReader {
     /**
      * Reads the code value described by a {@value #END_CODE_TAG} element.
      * 
-     * @param reader Reader going through the XML document. Its last return should have been
+     * @param reader Reader going through the XML document. It should be positioned at
      *               the opening tag of the {@value #END_CODE_TAG} element.
      * @return The integer value of the {@value #END_CODE_TAG} element.
      * @throws XMLStreamException If a format error was encountered in the element.
      */
-    private int readCode( XMLEventReader reader ) throws XMLStreamException {
+    private int readCode( XMLStreamReader reader ) throws XMLStreamException {
         
         int code = 0;
         boolean found = false;
         while ( reader.hasNext() ) {
             
-            XMLEvent event = reader.nextEvent();
             String name;
-            switch ( event.getEventType() ) {
+            switch ( reader.next() ) {
                 
                 /* Opening tag */
                 case XMLStreamConstants.START_ELEMENT:
@@ -74,7 +71,7 @@ public class EndSceneReader extends SceneReader {
                     
                 /* Text */
                 case XMLStreamConstants.CHARACTERS:
-                    String data = event.asCharacters().getData();
+                    String data = reader.getText();
                     try {
                         code = Integer.valueOf( data );
                     } catch ( NumberFormatException e ) {
@@ -85,8 +82,7 @@ public class EndSceneReader extends SceneReader {
                     
                     /* Closing tag */
                 case XMLStreamConstants.END_ELEMENT:
-                    EndElement end = event.asEndElement();
-                    name = end.getName().getLocalPart();
+                    name = reader.getLocalName();
                     if ( name.equals( END_CODE_TAG ) ) {
                         if ( found ) {
                             return code;
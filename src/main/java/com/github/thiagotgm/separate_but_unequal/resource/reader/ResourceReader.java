@@ -2,17 +2,11 @@ package com.github.thiagotgm.separate_but_unequal.resource.reader;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Iterator;
 
-import javax.xml.namespace.QName;
-import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.Attribute;
-import javax.xml.stream.events.EndElement;
-import javax.xml.stream.events.StartElement;
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamReader;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,7 +43,16 @@ public abstract class ResourceReader {
     protected static final String MISSING_VALUE = "Encountered element with no value.";
 
     private static final String ROOT = "resource";
-    private static final QName SPECIFIC_TYPE_ATTRIBUTE = new QName( "type" );
+    private static final String SPECIFIC_TYPE_ATTRIBUTE = "type";
+    
+    /* Factories are thread-safe once configured, so a single one is shared by all reads. */
+    private static final XMLInputFactory FACTORY = XMLInputFactory.newFactory();
+    
+    /* Readers keep no state between reads, so one of each is enough. */
+    private static final ResourceReader CHOICE_SCENE_READER = new ChoiceSceneReader();
+    private static final ResourceReader END_SCENE_READER = new EndSceneReader();
+    private static final ResourceReader STORY_READER = new StoryReader();
+    private static final ResourceReader ACHIEVEMENT_READER = new AchievementReader();
     
     /**
      * Reads resource information from the given resource file.
@@ -60,47 +63,161 @@ public abstract class ResourceReader {
      */
     public static Resource readResource( ResourcePath path ) throws XMLStreamException {
 
+        InputStream input = path.getInputStream();
+        XMLStreamReader reader = FACTORY.createXMLStreamReader( input );
+        try {
+            return readResource( reader, path );
+        } finally {
+            close( reader, input );
+        }
+
+    }
+    
+    /**
+     * Reads only the ID and type of the resource in the given resource file, without reading the rest of the file.
+     * <br>
+     * A file with a valid header may still fail to be read in full.
+     *
+     * @param path The path to the resource file to be read.
+     * @return The header of the resource described in the file.
+     * @throws XMLStreamException if a parsing error occurred before the type was identified.
+     */
+    public static Header readHeader( ResourcePath path ) throws XMLStreamException {
+        
+        InputStream input = path.getInputStream();
+        XMLStreamReader reader = FACTORY.createXMLStreamReader( input );
+        try {
+            String id = null;
+            while ( reader.hasNext() ) { // Reads until the type element is found.
+                
+                switch ( reader.next() ) {
+                    
+                    case XMLStreamConstants.START_ELEMENT:
+                        if ( id == null ) { // Root element.
+                            id = readID( reader );
+                        } else { // Type element.
+                            String name = readTypeName( reader );
+                            return new Header( id, identifyType( name ) );
+                        }
+                        break;
+                        
+                    case XMLStreamConstants.END_ELEMENT:
+                        throw new XMLStreamException( ( id == null ) ? UNEXPECTED_CLOSING_TAG :
+                                "Missing specific resource type element." );
+                    
+                }
+                
+            }
+            throw new XMLStreamException( "Missing root element." );
+        } finally {
+            close( reader, input );
+        }
+        
+    }
+    
+    /**
+     * Closes a reader and the stream it was reading from.
+     *
+     * @param reader The reader.
+     * @param input The stream being read.
+     * @throws XMLStreamException if the reader could not be closed.
+     */
+    private static void close( XMLStreamReader reader, InputStream input ) throws XMLStreamException {
+        
+        reader.close();
+        try {
+            if ( input != null ) {
+                input.close();
+            }
+        } catch ( IOException e ) {
+            log.warn( "Could not close input resource file stream.", e );
+        }
+        
+    }
+    
+    /**
+     * Reads the Resource ID from the root element.
+     *
+     * @param reader Reader positioned at the opening tag of the root element.
+     * @return The Resource ID.
+     * @throws XMLStreamException if the element is not a valid root element.
+     */
+    private static String readID( XMLStreamReader reader ) throws XMLStreamException {
+        
+        if ( !reader.getLocalName().equals( ROOT ) ) { // Checks if correct root element name.
+            throw new XMLStreamException( "Invalid root element." );
+        }
+        if ( reader.getAttributeCount() == 0 ) { // Retrieves Resource ID from attribute.
+            throw new XMLStreamException( "Missing Resource ID attribute in root element." );
+        }
+        return reader.getAttributeValue( 0 );
+        
+    }
+    
+    /**
+     * Obtains the full type name described by a type element, including the specific subtype (if any).
+     *
+     * @param reader Reader positioned at the opening tag of the type element.
+     * @return The type name.
+     */
+    private static String readTypeName( XMLStreamReader reader ) {
+        
+        String name = reader.getLocalName();
+        String typeAttribute = reader.getAttributeValue( null, SPECIFIC_TYPE_ATTRIBUTE );
+        if ( typeAttribute != null ) { // Type has a specific subtype.
+            name = typeAttribute + "_" + name;
+        }
+        return name;
+        
+    }
+    
+    /**
+     * Identifies the resource type with the given name.
+     *
+     * @param name The full type name.
+     * @return The resource type.
+     * @throws XMLStreamException if there is no resource type with that name.
+     */
+    private static ResourceType identifyType( String name ) throws XMLStreamException {
+        
+        try {
+            return ResourceType.valueOf( name.toUpperCase() );
+        } catch ( IllegalArgumentException e ) {
+            throw new XMLStreamException( "Invalid Resource type <" + name + ">." );
+        }
+        
+    }
+
+    /**
+     * Reads resource information from the given XML stream.
+     *
+     * @param reader Reader positioned at the start of the resource file stream.
+     * @param path The path to the resource file being read.
+     * @return The resource described in the stream.
+     * @throws XMLStreamException if a parsing error occurred.
+     */
+    private static Resource readResource( XMLStreamReader reader, ResourcePath path ) throws XMLStreamException {
+
         String id = null;
         ResourceFactory factory = null;
-        InputStream input = path.getInputStream();
-        XMLEventReader reader = XMLInputFactory.newFactory().createXMLEventReader( input );
         while ( reader.hasNext() ) { // Reads each event in the stream.
             
-            XMLEvent event = reader.nextEvent();
             String name;
-            switch ( event.getEventType() ) {
+            switch ( reader.next() ) {
                 
                 /* Opening tag */
                 case XMLStreamConstants.START_ELEMENT:
-                    StartElement start = event.asStartElement();
-                    name = start.getName().getLocalPart();
                     /* Root element */
                     if ( id == null ) {
                         
-                        if ( !name.equals( ROOT ) ) { // Checks if correct root element name.
-                            throw new XMLStreamException( "Invalid root element." );
-                        }
-                        @SuppressWarnings( "unchecked" )
-                        Iterator<Attribute> attributes = start.getAttributes();
-                        if ( !attributes.hasNext() ) { // Retrieves Resource ID from attribute.
-                            throw new XMLStreamException( "Missing Resource ID attribute in root element." );
-                        }
-                        id = attributes.next().getValue();
+                        id = readID( reader );
                         
                     /* Type element */
                     } else if ( factory != null ) { // Checks if the resource type was already found previously.
                         throw new XMLStreamException( "Extra type element found." );
                     } else {
-                        ResourceType type;
-                        Attribute typeAttribute = start.getAttributeByName( SPECIFIC_TYPE_ATTRIBUTE );
-                        if ( typeAttribute != null ) { // Type has a specific subtype.
-                            name = typeAttribute.getValue() + "_" + name;
-                        }
-                        try { // Identifies resource type.
-                            type = ResourceType.valueOf( name.toUpperCase() );
-                        } catch ( IllegalArgumentException e ) {
-                            throw new XMLStreamException( "Invalid Resource type <" + name + ">." );
-                        }
+                        name = readTypeName( reader );
+                        ResourceType type = identifyType( name ); // Identifies resource type.
                         try {
                             factory = ResourceFactory.newInstance( type, id ); // Reads type-specific values.
                         } catch ( UnsupportedOperationException e ) {
@@ -117,17 +234,9 @@ public abstract class ResourceReader {
                     
                 /* Closing tag */
                 case XMLStreamConstants.END_ELEMENT:
-                    EndElement end = event.asEndElement();
-                    name = end.getName().getLocalPart();
+                    name = reader.getLocalName();
                     if ( name.equals( ROOT ) && ( id != null ) ) { // Found end of root element (and it was opened).
                         if ( factory != null ) { // Type element was read. Done reading.
-                            /* Close input resources */
-                            reader.close();
-                            try {
-                                input.close();
-                            } catch ( IOException e ) {
-                                log.warn( "Could not close input resource file stream.", e );
-                            }
                             /* Attempt to build Resource */
                             try {
                                 return factory.build();
@@ -165,23 +274,24 @@ public abstract class ResourceReader {
      * @param type The type of the resource.
      * @throws XMLStreamException if a parsing error occurred.
      */
-    private static void readType( XMLEventReader reader, ResourcePath path, ResourceFactory factory, ResourceType type ) throws XMLStreamException {
+    private static void readType( XMLStreamReader reader, ResourcePath path, ResourceFactory factory,
+            ResourceType type ) throws XMLStreamException {
         
         ResourceReader resReader;
         /* Gets the appropriate Reader for the given type */
         switch ( type ) {
             
             case CHOICE_SCENE:
-                resReader = new ChoiceSceneReader();
+                resReader = CHOICE_SCENE_READER;
                 break;
             case END_SCENE:
-                resReader = new EndSceneReader();
+                resReader = END_SCENE_READER;
                 break;
             case STORY:
-                resReader = new StoryReader();
+                resReader = STORY_READER;
                 break;
             case ACHIEVEMENT:
-                resReader = new AchievementReader();
+                resReader = ACHIEVEMENT_READER;
                 break;
             default: // Type does not have a Reader.
                 throw new IllegalArgumentException( "No reader available for the given Resource type." );
@@ -192,15 +302,64 @@ public abstract class ResourceReader {
     }
     
     /**
-     * Reads type-specific information from a stream being read by an EventReader, placing the data
+     * Reads type-specific information from a stream being read by a StreamReader, placing the data
      * in the given ResourceFactory.
      *
-     * @param reader Reader going through the resource file stream. Its last return should have been
+     * @param reader Reader going through the resource file stream. It should be positioned at
      *               the opening tag of the resource-type element.
      * @param path Path to the resource file this is reading from.
      * @param factory The factory constructing the Resource.
      * @throws XMLStreamException if a parsing error occurred.
      */
-    protected abstract void read( XMLEventReader reader, ResourcePath path, ResourceFactory factory ) throws XMLStreamException;
+    protected abstract void read( XMLStreamReader reader, ResourcePath path, ResourceFactory factory ) throws XMLStreamException;
+
+    /**
+     * The ID and type of a resource, as read from the start of its resource file.
+     *
+     * @version 1.0
+     * @author Thiago
+     * @since 2026-10-17
+     */
+    public static class Header {
+        
+        private final String id;
+        private final ResourceType type;
+        
+        /**
+         * Creates a new header.
+         *
+         * @param id The Resource ID.
+         * @param type The type of the resource.
+         */
+        private Header( String id, ResourceType type ) {
+            
+            this.id = id;
+            this.type = type;
+            
+        }
+        
+        /**
+         * Retrieves the Resource ID.
+         *
+         * @return The ID.
+         */
+        public String getID() {
+            
+            return id;
+            
+        }
+        
+        /**
+         * Retrieves the type of the resource.
+         *
+         * @return The type.
+         */
+        public ResourceType getType() {
+            
+            return type;
+            
+        }
+        
+    }
 
 }
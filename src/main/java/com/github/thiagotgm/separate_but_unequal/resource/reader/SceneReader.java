@@ -1,12 +1,8 @@
 package com.github.thiagotgm.separate_but_unequal.resource.reader;
 
-import java.nio.file.Path;
-import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.EndElement;
-import javax.xml.stream.events.StartElement;
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamReader;
 
 import com.github.thiagotgm.separate_but_unequal.resource.ResourceFactory;
 import com.github.thiagotgm.separate_but_unequal.resource.ResourcePath;
@@ -34,23 +30,21 @@ public abstract class SceneReader extends ResourceReader {
     }
 
     @Override
-    protected void read( XMLEventReader reader, ResourcePath path, ResourceFactory factory ) throws XMLStreamException  {
+    protected void read( XMLStreamReader reader, ResourcePath path, ResourceFactory factory ) throws XMLStreamException  {
         
         SceneFactory sFactory = (SceneFactory) factory;
         String currentTag = null;
         String value = null;
         while ( reader.hasNext() ) {
             
-            XMLEvent event = reader.nextEvent();
-            switch ( event.getEventType() ) {
+            switch ( reader.next() ) {
                 
                 /* Opening tag */
                 case XMLStreamConstants.START_ELEMENT:
                     if ( currentTag != null ) {
                         throw new XMLStreamException( UNEXPECTED_ELEMENT );
                     }
-                    StartElement start = event.asStartElement();
-                    String name = start.getName().getLocalPart();
+                    String name = reader.getLocalName();
                     switch ( name ) {
                         
                         case FILENAME_TAG:                                                      
@@ -68,7 +62,7 @@ public abstract class SceneReader extends ResourceReader {
                 /* Text */
                 case XMLStreamConstants.CHARACTERS:
                     if ( currentTag != null ) { // If currently reading an element, reads the text.   
-                        value = event.asCharacters().getData().trim();
+                        value = reader.getText().trim();
                         if ( value.isEmpty() ) {
                             value = null; // Empty text is not valid.
                         }
@@ -77,8 +71,7 @@ public abstract class SceneReader extends ResourceReader {
                     
                 /* Closing tag */
                 case XMLStreamConstants.END_ELEMENT:
-                    EndElement end = event.asEndElement();
-                    name = end.getName().getLocalPart();
+                    name = reader.getLocalName();
                     if ( ( currentTag == null ) && name.equals( SCENE_TAG ) ) {
                         return; // Finished reading Scene element.
                     }
@@ -88,9 +81,7 @@ public abstract class SceneReader extends ResourceReader {
                     switch ( name ) { // Identifies what element was being read and records value appropriately.
                         
                         case FILENAME_TAG:
-                            Path filePath = path.getPath();
-                            Path textPath = filePath.resolveSibling( value );
-                            sFactory.withPath( new ResourcePath( textPath, path.inJar() ) );
+                            sFactory.withPath( path.resolveSibling( value ) );
                             break;
                             
                         default:
@@ -111,14 +102,14 @@ public abstract class SceneReader extends ResourceReader {
     /**
      * Reads an element specific to the subtype of Scene that the Reader extending this is reading.
      * 
-     * @param reader Reader going through the XML document. Its last return should have been
+     * @param reader Reader going through the XML document. It should be positioned at
      *               the opening tag of the subtype-specific element.
      * @param factory The factory constructing the Resource.
      * @param element The type of element to be read.
      * @throws XMLStreamException if a format error was encountered in the element, or if that element does not
      *                            exist in the subtype.
      */
-    public abstract void readSpecificElement( XMLEventReader reader, ResourceFactory factory, String element )
+    public abstract void readSpecificElement( XMLStreamReader reader, ResourceFactory factory, String element )
             throws XMLStreamException;
 
 }
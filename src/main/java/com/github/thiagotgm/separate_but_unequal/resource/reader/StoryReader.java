@@ -1,11 +1,8 @@
 package com.github.thiagotgm.separate_but_unequal.resource.reader;
 
-import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.EndElement;
-import javax.xml.stream.events.StartElement;
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamReader;
 
 import com.github.thiagotgm.separate_but_unequal.resource.ResourceFactory;
 import com.github.thiagotgm.separate_but_unequal.resource.ResourcePath;
@@ -35,7 +32,7 @@ public class StoryReader extends ResourceReader {
     }
 
     @Override
-    protected void read( XMLEventReader reader, ResourcePath path, ResourceFactory factory )
+    protected void read( XMLStreamReader reader, ResourcePath path, ResourceFactory factory )
             throws XMLStreamException, IllegalArgumentException {
 
         StoryFactory sFactory = (StoryFactory) factory;
@@ -43,16 +40,14 @@ public class StoryReader extends ResourceReader {
         String value = null;
         while ( reader.hasNext() ) {
             
-            XMLEvent event = reader.nextEvent();
-            switch ( event.getEventType() ) {
+            switch ( reader.next() ) {
                 
                 /* Opening tag */
                 case XMLStreamConstants.START_ELEMENT:
                     if ( currentTag != null ) {
                         throw new XMLStreamException( UNEXPECTED_ELEMENT );
                     }
-                    StartElement start = event.asStartElement();
-                    String name = start.getName().getLocalPart();
+                    String name = reader.getLocalName();
                     switch ( name ) {
 
                         case CODE_TAG:
@@ -72,7 +67,7 @@ public class StoryReader extends ResourceReader {
                 /* Text */
                 case XMLStreamConstants.CHARACTERS:
                     if ( currentTag != null ) { // If currently reading an element, reads the text.   
-                        value = event.asCharacters().getData().trim();
+                        value = reader.getText().trim();
                         if ( value.isEmpty() ) {
                             value = null; // Empty text is not valid.
                         }
@@ -81,8 +76,7 @@ public class StoryReader extends ResourceReader {
                     
                 /* Closing tag */
                 case XMLStreamConstants.END_ELEMENT:
-                    EndElement end = event.asEndElement();
-                    name = end.getName().getLocalPart();
+                    name = reader.getLocalName();
                     if ( ( currentTag == null ) && name.equals( STORY_TAG ) ) {
                         return; // Finished reading Scene element.
                     }
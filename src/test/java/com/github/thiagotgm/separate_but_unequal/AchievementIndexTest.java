@@ -0,0 +1,60 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.github.thiagotgm.separate_but_unequal.resource.Achievement;
+import com.github.thiagotgm.separate_but_unequal.resource.AchievementFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.AchievementIndex;
+import com.github.thiagotgm.separate_but_unequal.resource.EndScene;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource.ResourceType;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.Story;
+
+
+public class AchievementIndexTest {
+
+    private static Achievement achievement( char storyCode, int endCode ) {
+
+        return (Achievement) ( (AchievementFactory) ResourceFactory.newInstance( ResourceType.ACHIEVEMENT,
+                storyCode + "-" + endCode ) ).withStoryCode( storyCode ).withEndCode( endCode ).withTitle( "Title" )
+                .withText( "Text" ).build();
+
+    }
+
+    @Test
+    public void testLookup() {
+
+        Achievement first = achievement( 'A', 1 );
+        Achievement last = achievement( 'Z', EndScene.MAX_CODE );
+        Achievement middle = achievement( 'C', 7 );
+        AchievementIndex index = new AchievementIndex( Arrays.asList( first, last, middle ) );
+
+        assertEquals( "Incorrect size.", 3, index.size() );
+        assertSame( "Incorrect achievement.", first, index.get( 'A', 1 ) );
+        assertSame( "Incorrect achievement.", last, index.get( 'Z', EndScene.MAX_CODE ) );
+        assertSame( "Incorrect achievement.", middle, index.get( 'C', 7 ) );
+        assertNull( "Missing end code should have no achievement.", index.get( 'C', 6 ) );
+        assertNull( "Code beyond the row should have no achievement.", index.get( 'C', 8 ) );
+        assertNull( "Story without achievements should have none.", index.get( 'B', 1 ) );
+
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testStoryCodeOutOfRange() {
+
+        new AchievementIndex( Arrays.asList() ).get( (char) ( Story.MAX_CODE + 1 ), 1 );
+
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testEndCodeOutOfRange() {
+
+        new AchievementIndex( Arrays.asList() ).get( Story.MIN_CODE, EndScene.MIN_CODE - 1 );
+
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.swing.JTextArea;
+
+import org.junit.Test;
+
+import com.github.thiagotgm.separate_but_unequal.resource.Choice;
+
+
+public class ChoiceDisplayerTest {
+
+    private static final List<Choice> OPTIONS = Arrays.asList( new Choice( "First", "A" ),
+            new Choice( "Second\nline", "B" ), new Choice( "Third", "C" ) );
+
+    private static String expected( int selected ) {
+
+        StringBuilder builder = new StringBuilder();
+        for ( int i = 0; i < OPTIONS.size(); i++ ) {
+
+            if ( i != 0 ) {
+                builder.append( '\n' );
+            }
+            builder.append( ( i == selected ) ? " > " : "   " ).append( OPTIONS.get( i ) ).append( '\n' );
+
+        }
+        return builder.toString();
+
+    }
+
+    @Test
+    public void testSelection() {
+
+        JTextArea area = new JTextArea();
+        ChoiceDisplayer displayer = new ChoiceDisplayer( area );
+        displayer.showOptions( OPTIONS );
+        assertEquals( "First option should be selected by default.", expected( 0 ), area.getText() );
+        displayer.setSelected( 2 );
+        assertEquals( "Incorrect display after selecting.", expected( 2 ), area.getText() );
+        displayer.setSelected( 1 );
+        assertEquals( "Incorrect display after selecting again.", expected( 1 ), area.getText() );
+        assertEquals( "Incorrect selected option.", 1, displayer.getSelected() );
+
+        displayer.clear();
+        displayer.setSelected( 0 );
+        assertEquals( "Cleared display should stay empty.", "", area.getText() );
+
+    }
+
+}
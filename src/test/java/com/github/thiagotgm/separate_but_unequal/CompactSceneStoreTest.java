@@ -0,0 +1,216 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.thiagotgm.separate_but_unequal.resource.Choice;
+import com.github.thiagotgm.separate_but_unequal.resource.ChoiceScene;
+import com.github.thiagotgm.separate_but_unequal.resource.ChoiceSceneFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.CompactSceneStore;
+import com.github.thiagotgm.separate_but_unequal.resource.EndScene;
+import com.github.thiagotgm.separate_but_unequal.resource.EndSceneFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource.ResourceType;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourcePath;
+import com.github.thiagotgm.separate_but_unequal.resource.Scene;
+import com.github.thiagotgm.separate_but_unequal.resource.SceneFactory;
+
+
+public class CompactSceneStoreTest {
+
+    private List<Scene> scenes;
+    private CompactSceneStore store;
+
+    private static ResourcePath path( String file ) {
+
+        return new ResourcePath( Paths.get( "Story", file ), false );
+
+    }
+
+    @Before
+    public void setUp() {
+
+        scenes = new ArrayList<>();
+        scenes.add( (Scene) ( (ChoiceSceneFactory) ResourceFactory.newInstance( ResourceType.CHOICE_SCENE, "Start" ) )
+                .withOptions( Arrays.asList( new Choice( "Go on", "Middle" ), new Choice( "Stop", "End" ),
+                        new Choice( "Get lost", "Missing" ) ) )
+                .withPath( path( "Start.txt" ) ).withGraphic( "picture" ).build() );
+        scenes.add( (Scene) ( (SceneFactory) ResourceFactory.newInstance( ResourceType.SCENE, "Middle" ) )
+                .withPath( path( "Middle.txt" ) ).withAudio( "music" ).build() );
+        scenes.add( (Scene) ( (EndSceneFactory) ResourceFactory.newInstance( ResourceType.END_SCENE, "End" ) )
+                .withCode( 7 ).withPath( new ResourcePath( Paths.get( "End.txt" ), true ) ).build() );
+        store = new CompactSceneStore( scenes );
+
+    }
+
+    @Test
+    public void testScenes() {
+
+        assertEquals( "Incorrect size.", 3, store.size() );
+        assertEquals( "No scene should be created yet.", 0, store.getCreatedCount() );
+        for ( Scene original : scenes ) {
+
+            Scene stored = store.get( original.getID() );
+            assertNotNull( "Scene not found.", stored );
+            assertNotSame( "Scene should be created by the store.", original, stored );
+            assertEquals( "Incorrect ID.", original.getID(), stored.getID() );
+            assertEquals( "Incorrect type.", original.getType(), stored.getType() );
+            assertEquals( "Incorrect path.", original.getPath().getPath(), stored.getPath().getPath() );
+            assertEquals( "Incorrect jar flag.", original.getPath().inJar(), stored.getPath().inJar() );
+            assertEquals( "Incorrect graphic.", original.getGraphic(), stored.getGraphic() );
+            assertEquals( "Incorrect audio.", original.getAudio(), stored.getAudio() );
+            assertSame( "Scene should only be created once.", stored, store.get( original.getID() ) );
+
+        }
+        assertEquals( "Incorrect end code.", 7, ( (EndScene) store.get( "End" ) ).getCode() );
+        assertNull( "Unknown ID should have no scene.", store.get( "Missing" ) );
+        assertFalse( "Unknown ID should not be contained.", store.contains( "Start2" ) );
+        assertTrue( "Scene should be contained.", store.contains( "Middle" ) );
+
+    }
+
+    @Test
+    public void testChoices() {
+
+        List<Choice> options = ( (ChoiceScene) store.get( "Start" ) ).getOptions();
+        assertEquals( "Incorrect options.", ( (ChoiceScene) scenes.get( 0 ) ).getOptions(), options );
+        assertEquals( "Only the retrieved scene should be created.", 1, store.getCreatedCount() );
+        for ( Choice option : options ) {
+
+            assertTrue( "Choice should be linked.", option.isLinked() );
+
+        }
+        assertSame( "Incorrect target.", store.get( "Middle" ), options.get( 0 ).getTargetScene() );
+        assertSame( "Incorrect target.", store.get( "End" ), options.get( 1 ).getTargetScene() );
+        assertNull( "Missing target should have no scene.", options.get( 2 ).getTargetScene() );
+
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testDuplicateID() {
+
+        scenes.add( scenes.get( 1 ) );
+        new CompactSceneStore( scenes );
+
+    }
+
+    @Test
+    public void testRootFolder() {
+
+        ResourcePath root = new ResourcePath( Paths.get( "" ).toAbsolutePath().getRoot().resolve( "Root.txt" ),
+                false );
+        scenes.add( (Scene) ( (SceneFactory) ResourceFactory.newInstance( ResourceType.SCENE, "Root" ) )
+                .withPath( root ).build() );
+        store = new CompactSceneStore( scenes );
+        assertEquals( "Incorrect path.", root.getPath(), store.get( "Root" ).getPath().getPath() );
+
+    }
+
+    @Test
+    public void testBuilder() {
+
+        CompactSceneStore.Builder builder = new CompactSceneStore.Builder();
+        for ( Scene scene : scenes ) {
+
+            assertFalse( "No scene should be replaced.", builder.add( scene ) );
+
+        }
+        ChoiceScene replacement = (ChoiceScene) ( (ChoiceSceneFactory) ResourceFactory.newInstance( ResourceType.CHOICE_SCENE,
+                "Start" ) ).withOptions( Arrays.asList( new Choice( "Finish", "End" ) ) )
+                .withPath( path( "Other.txt" ) ).build();
+        assertTrue( "Scene should be replaced.", builder.add( replacement ) );
+        assertTrue( "Scene should be contained.", builder.contains( "End" ) );
+        store = builder.build();
+
+        assertEquals( "Incorrect size.", 3, store.size() );
+        ChoiceScene start = (ChoiceScene) store.get( "Start" );
+        assertEquals( "Incorrect path.", replacement.getPath().getPath(), start.getPath().getPath() );
+        assertEquals( "Incorrect options.", replacement.getOptions(), start.getOptions() );
+        assertSame( "Incorrect target.", store.get( "End" ), start.getOptions().get( 0 ).getTargetScene() );
+
+        List<String> unlinked = new ArrayList<>();
+        store.forEachUnlinked( ( source, target ) -> unlinked.add( source + " -> " + target ) );
+        assertTrue( "Every target should be linked.", unlinked.isEmpty() );
+
+    }
+
+    @Test
+    public void testScenesView() {
+
+        List<String> unlinked = new ArrayList<>();
+        store.forEachUnlinked( ( source, target ) -> unlinked.add( source + " -> " + target ) );
+        assertEquals( "Incorrect unlinked targets.", Arrays.asList( "Start -> Missing" ), unlinked );
+
+        List<Scene> view = store.getScenes();
+        assertEquals( "Incorrect size.", 3, view.size() );
+        for ( int i = 0; i < view.size(); i++ ) {
+
+            assertEquals( "Incorrect ID.", scenes.get( i ).getID(), view.get( i ).getID() );
+
+        }
+        assertEquals( "Scenes from the view should not be kept.", 0, store.getCreatedCount() );
+
+    }
+
+    @Test
+    public void testRetainedHeap() {
+
+        final int count = 20000;
+        long before = usedHeap();
+        List<Scene> graph = new ArrayList<>( count );
+        for ( int i = 0; i < count; i++ ) {
+
+            graph.add( generate( i ) );
+
+        }
+        long graphHeap = usedHeap() - before;
+
+        before = usedHeap();
+        CompactSceneStore.Builder builder = new CompactSceneStore.Builder();
+        for ( int i = 0; i < count; i++ ) { // Each Scene is dropped as soon as it is added.
+
+            builder.add( generate( i ) );
+
+        }
+        store = builder.build();
+        builder = null; // Only the store is retained.
+        long storeHeap = usedHeap() - before;
+
+        assertEquals( "Incorrect size.", graph.size(), store.size() );
+        assertTrue( "Store should retain much less heap per scene than the object graph (" + ( storeHeap / count )
+                + " vs " + ( graphHeap / count ) + " bytes).", storeHeap * 2 < graphHeap );
+
+    }
+
+    private static Scene generate( int number ) {
+
+        String folder = "Chapter " + ( number / 100 );
+        return (Scene) ( (ChoiceSceneFactory) ResourceFactory.newInstance( ResourceType.CHOICE_SCENE,
+                "Scene " + number ) ).withOptions( Arrays.asList(
+                        new Choice( "Go to scene " + ( number + 1 ), "Scene " + ( number + 1 ) ),
+                        new Choice( "Go to scene " + ( number + 2 ), "Scene " + ( number + 2 ) ) ) )
+                .withPath( new ResourcePath( Paths.get( "Pack", folder, "Scene " + number, "Scene.txt" ), false ) )
+                .withGraphic( "picture" ).build();
+
+    }
+
+    private static long usedHeap() {
+
+        Runtime runtime = Runtime.getRuntime();
+        for ( int i = 0; i < 3; i++ ) {
+
+            System.gc();
+
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.thiagotgm.separate_but_unequal.resource.EndScene;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceManager;
+
+
+public class CompletionManagerTest {
+
+    private static final char STORY = 'Q'; // Not used by the game.
+    private static final char LEGACY_STORY = 'P';
+
+    @ClassRule
+    public static TemporaryFolder saveFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setUpClass() throws IOException {
+
+        // Keeps the player's own save out of the test.
+        System.setProperty( ResourceManager.SAVE_FOLDER_PROPERTY, saveFolder.getRoot().getPath() );
+        // Endings 1 and 32, as saved by older versions.
+        Files.write( saveFolder.getRoot().toPath().resolve( "save.txt" ),
+                Collections.singletonList( "reachedEndings" + LEGACY_STORY + "=-2147483647" ) );
+
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+
+        ResourceManager.getInstance().save(); // Finishes writing before the folder is deleted.
+        System.clearProperty( ResourceManager.SAVE_FOLDER_PROPERTY );
+
+    }
+
+    @After
+    public void tearDown() {
+
+        ResourceManager.getInstance().removeEndingTracker( STORY );
+
+    }
+
+    @Test
+    public void testReached() {
+
+        CompletionManager manager = CompletionManager.getInstance();
+        assertFalse( "Story should start unplayed.", manager.isPlayed( STORY ) );
+        int[] codes = { EndScene.MIN_CODE, 33, 64, 65, EndScene.MAX_CODE };
+        for ( int code : codes ) {
+
+            manager.setReached( STORY, code );
+
+        }
+        for ( int code : codes ) {
+
+            assertTrue( "Ending " + code + " should be reached.", manager.isReached( STORY, code ) );
+
+        }
+        assertFalse( "Ending 2 should not be reached.", manager.isReached( STORY, 2 ) );
+        assertFalse( "Ending 32 should not be reached.", manager.isReached( STORY, 32 ) );
+        assertFalse( "Ending 66 should not be reached.", manager.isReached( STORY, 66 ) );
+        assertFalse( "Other story should not be played.", manager.isPlayed( (char) ( STORY + 1 ) ) );
+        assertTrue( "Story should be played.", manager.isPlayed( STORY ) );
+
+        long[] tracker = ResourceManager.getInstance().getEndingTracker( STORY );
+        assertEquals( "Incorrect saved tracker length.", ( EndScene.MAX_CODE - EndScene.MIN_CODE ) / 64 + 1,
+                tracker.length );
+        assertEquals( "Incorrect first saved word.", 0x1L | ( 0x1L << 32 ) | ( 0x1L << 63 ), tracker[0] );
+        assertEquals( "Incorrect second saved word.", 0x1L, tracker[1] );
+
+    }
+
+    @Test
+    public void testLegacyTracker() {
+
+        CompletionManager manager = CompletionManager.getInstance();
+        assertTrue( "Ending 1 should be reached.", manager.isReached( LEGACY_STORY, 1 ) );
+        assertTrue( "Ending 32 should be reached.", manager.isReached( LEGACY_STORY, 32 ) );
+        for ( int code = 33; code <= 64; code++ ) {
+
+            assertFalse( "Ending " + code + " should not be reached.", manager.isReached( LEGACY_STORY, code ) );
+
+        }
+        assertArrayEquals( "Fixed tracker should be saved.", new long[] { 0x80000001L },
+                ResourceManager.getInstance().getEndingTracker( LEGACY_STORY ) );
+
+    }
+
+}
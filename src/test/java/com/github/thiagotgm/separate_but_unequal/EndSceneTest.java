@@ -30,7 +30,7 @@ public class EndSceneTest {
         EndSceneFactory factory = (EndSceneFactory) ResourceFactory.newInstance( ResourceType.END_SCENE, "test" );
         low = (EndScene) factory.withCode( 1 ).withPath( PATH ).build();
         scene = (EndScene) factory.withCode( 42 ).withPath( PATH ).build();
-        high = (EndScene) factory.withCode( 64 ).withPath( PATH ).build();
+        high = (EndScene) factory.withCode( 1024 ).withPath( PATH ).build();
         
         ResourceFactory superFactory = ResourceFactory.newInstance( ResourceType.END_SCENE, "Alternate" );
         superFactory.withElement( SceneFactory.PATH_ELEMENT, PATH );
@@ -44,7 +44,7 @@ public class EndSceneTest {
 
         assertEquals( "Incorrect end code retrieved.", 1, low.getCode() );
         assertEquals( "Incorrect end code retrieved.", 42, scene.getCode() );
-        assertEquals( "Incorrect end code retrieved.", 64, high.getCode() );
+        assertEquals( "Incorrect end code retrieved.", 1024, high.getCode() );
         assertEquals( "Incorrect end code retrieved.", 50, alt.getCode() );
 
     }
@@ -71,14 +71,14 @@ public class EndSceneTest {
                     EndScene.CODE_OOB_ERROR, e.getMessage() );
         }
         try {
-            factory.withCode( 65 );
+            factory.withCode( 1025 );
             fail( "End codes higher than limit should throw an exception." );
         } catch ( IllegalArgumentException e ) {
             assertEquals( "Unexpected exception encountered when giving an invalid end code value.",
                     EndScene.CODE_OOB_ERROR, e.getMessage() );
         }
         try {
-            factory.withCode( 100 );
+            factory.withCode( 2000 );
             fail( "End codes higher than limit should throw an exception." );
         } catch ( IllegalArgumentException e ) {
             assertEquals( "Unexpected exception encountered when giving an invalid end code value.",
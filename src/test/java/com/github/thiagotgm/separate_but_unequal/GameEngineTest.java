@@ -0,0 +1,135 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.thiagotgm.separate_but_unequal.resource.Choice;
+import com.github.thiagotgm.separate_but_unequal.resource.ChoiceSceneFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.EndSceneFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource.ResourceType;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceLinker;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourcePath;
+import com.github.thiagotgm.separate_but_unequal.resource.SaveSlot;
+
+
+public class GameEngineTest {
+
+    private Map<String, Resource> resources;
+    private GameEngine engine;
+
+    private void choiceScene( String id, String... targets ) {
+
+        List<Choice> options = new ArrayList<>();
+        for ( String target : targets ) {
+
+            options.add( new Choice( "Go to " + target, target ) );
+
+        }
+        resources.put( id, ( (ChoiceSceneFactory) ResourceFactory.newInstance( ResourceType.CHOICE_SCENE, id ) )
+                .withOptions( options ).withPath( new ResourcePath( Paths.get( id + ".txt" ), false ) ).build() );
+
+    }
+
+    private void endScene( String id, int code ) {
+
+        resources.put( id, ( (EndSceneFactory) ResourceFactory.newInstance( ResourceType.END_SCENE, id ) )
+                .withCode( code ).withPath( new ResourcePath( Paths.get( id + ".txt" ), false ) ).build() );
+
+    }
+
+    @Before
+    public void setUp() {
+
+        resources = new HashMap<>();
+        choiceScene( "Start", "Middle", "Bad End", "Missing" );
+        choiceScene( "Middle", "Start", "Good End" );
+        endScene( "Bad End", 1 );
+        endScene( "Good End", 2 );
+        ResourceLinker.link( resources.values(), resources::get );
+        engine = new GameEngine( resources::get, Choice::getTargetScene, false );
+
+    }
+
+    @Test
+    public void testPlaythrough() {
+
+        assertSame( "Incorrect first scene.", resources.get( "Start" ), engine.start( "Start", 'Q' ) );
+        assertEquals( "Incorrect story code.", 'Q', engine.getStoryCode() );
+        assertEquals( "Incorrect amount of options.", 3, engine.getOptions().size() );
+        assertFalse( "Story should not be over.", engine.isEnded() );
+        assertSame( "Incorrect target.", resources.get( "Middle" ), engine.getTarget( 0 ) );
+        assertNull( "Invalid target should have no scene.", engine.getTarget( 2 ) );
+
+        engine.choose( 0 );
+        engine.choose( 0 ); // Back to the start.
+        engine.choose( 0 );
+        assertSame( "Incorrect last scene.", resources.get( "Good End" ), engine.choose( 1 ) );
+        assertTrue( "Story should be over.", engine.isEnded() );
+        assertEquals( "Incorrect end code.", 2, engine.getEndCode() );
+        assertFalse( "Endings should not be recorded.", engine.isNewEnding() );
+        assertTrue( "Ending should have no options.", engine.getOptions().isEmpty() );
+        assertEquals( "Incorrect path.", Arrays.asList( "Start", "Middle", "Start", "Middle", "Good End" ),
+                engine.getPath() );
+
+    }
+
+    @Test
+    public void testSaveAndLoad() {
+
+        engine.start( "Start", 'Q' );
+        engine.choose( 0 );
+        SaveSlot save = engine.save();
+        assertEquals( "Incorrect saved scene.", "Middle", save.getSceneID() );
+        engine.choose( 1 );
+
+        assertSame( "Incorrect loaded scene.", resources.get( "Middle" ), engine.load( save ) );
+        assertFalse( "Loaded game should not be over.", engine.isEnded() );
+        assertEquals( "Incorrect path.", Arrays.asList( "Start", "Middle" ), engine.getPath() );
+
+    }
+
+    @Test
+    public void testInvalidChoices() {
+
+        try {
+            engine.choose( 0 );
+            fail( "Choosing before starting should fail." );
+        } catch ( IllegalStateException e ) {
+            // Expected.
+        }
+        engine.start( "Start", 'Q' );
+        try {
+            engine.choose( 2 );
+            fail( "Choosing an invalid target should fail." );
+        } catch ( IllegalArgumentException e ) {
+            assertSame( "Scene should not change.", resources.get( "Start" ), engine.getScene() );
+        }
+        engine.choose( 1 );
+        try {
+            engine.choose( 0 );
+            fail( "Choosing on an ending should fail." );
+        } catch ( IllegalStateException e ) {
+            // Expected.
+        }
+
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testInvalidStart() {
+
+        engine.start( "Bad Start", 'Q' );
+
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import static org.junit.Assert.*;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.thiagotgm.separate_but_unequal.fixture.StoryPackGenerator;
+import com.github.thiagotgm.separate_but_unequal.resource.CompactSceneStore;
+import com.github.thiagotgm.separate_but_unequal.resource.JarResources;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceLoader;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourcePath;
+import com.github.thiagotgm.separate_but_unequal.resource.Scene;
+import com.github.thiagotgm.separate_but_unequal.resource.SceneTextStore;
+
+
+public class JarResourcesTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private StoryPackGenerator generator;
+    private Path jarFile;
+    private URI root;
+    private JarResources jar;
+
+    @Before
+    public void setUp() throws Exception {
+
+        generator = new StoryPackGenerator().withStories( 2 ).withDepth( 2 ).withTextLength( 100 );
+        jarFile = folder.getRoot().toPath().resolve( "pack.jar" );
+        generator.generateJar( jarFile );
+        root = URI.create( "jar:" + jarFile.toUri() + "!/" + StoryPackGenerator.JAR_ROOT );
+        jar = JarResources.open( root );
+
+    }
+
+    @After
+    public void tearDown() throws Exception {
+
+        jar.close(); // So the temporary folder can be deleted.
+
+    }
+
+    @Test
+    public void testOpen() throws Exception {
+
+        assertSame( "Jar should only be opened once.", jar, JarResources.open( jarFile ) );
+        Path file = Paths.get( StoryPackGenerator.JAR_ROOT, "Story A", "resource.xml" );
+        assertTrue( "File should exist.", jar.exists( file ) );
+        assertTrue( "Modification time should be known.", jar.getLastModified( file ) > 0 );
+        assertNotNull( "File should be opened.", jar.getInputStream( file ) );
+        assertFalse( "File should not exist.", jar.exists( Paths.get( "missing.xml" ) ) );
+        assertNull( "Missing file should not be opened.", jar.getInputStream( Paths.get( "missing.xml" ) ) );
+
+    }
+
+    @Test
+    public void testLoad() throws Exception {
+
+        ResourceLoader loader = new ResourceLoader( 2 );
+        Map<ResourcePath, Long> files = loader.findResourceFiles( root );
+        assertEquals( "Incorrect amount of resource files.", generator.getResourceCount(), files.size() );
+        Map<String, Resource> resources = loader.readResources( files.keySet() );
+        assertEquals( "Incorrect amount of resources.", generator.getResourceCount(), resources.size() );
+
+        List<Scene> scenes = new ArrayList<>();
+        for ( Resource res : resources.values() ) {
+
+            if ( res instanceof Scene ) {
+                Scene scene = (Scene) res;
+                assertSame( "Scene should be in the jar.", jar, scene.getPath().getJar() );
+                assertNotNull( "Scene text should be read.", SceneTextStore.readText( scene.getPath() ) );
+                scenes.add( scene );
+            }
+
+        }
+        Scene stored = new CompactSceneStore( scenes ).get( scenes.get( 0 ).getID() );
+        assertNotNull( "Stored scene text should be read.", SceneTextStore.readText( stored.getPath() ) );
+
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.thiagotgm.separate_but_unequal.fixture.StoryPackGenerator;
+import com.github.thiagotgm.separate_but_unequal.resource.ChoiceScene;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource.ResourceType;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceCatalog;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceLoader;
+
+
+public class ResourceCatalogTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private StoryPackGenerator generator;
+    private Path root;
+    private ResourceCatalog catalog;
+
+    @Before
+    public void setUp() throws Exception {
+
+        generator = new StoryPackGenerator().withStories( 2 ).withDepth( 3 );
+        root = folder.getRoot().toPath().resolve( "resources" );
+        generator.generate( root );
+        ResourceLoader loader = new ResourceLoader( 2 );
+        catalog = loader.catalog( loader.findResourceFiles( root.toUri() ).keySet() );
+
+    }
+
+    @Test
+    public void testCatalog() {
+
+        assertEquals( "Incorrect amount of resources.", generator.getResourceCount(), catalog.size() );
+        assertEquals( "No resource should be loaded before being requested.", 0, catalog.getLoadedCount() );
+        assertEquals( "Incorrect amount of stories.", 2, catalog.getIDs( ResourceType.STORY ).size() );
+        assertEquals( "Incorrect amount of end scenes.", 2 * 8, catalog.getIDs( ResourceType.END_SCENE ).size() );
+        assertTrue( "Scene should exist.", catalog.contains( StoryPackGenerator.sceneID( 'A', 0 ) ) );
+        assertEquals( "Cataloging should not load resources.", 0, catalog.getLoadedCount() );
+
+    }
+
+    @Test
+    public void testGet() {
+
+        String id = StoryPackGenerator.sceneID( 'B', 0 );
+        Resource res = catalog.get( id );
+        assertTrue( "Incorrect resource type.", res instanceof ChoiceScene );
+        assertEquals( "Incorrect resource ID.", id, res.getID() );
+        assertEquals( "Only the requested resource should be loaded.", 1, catalog.getLoadedCount() );
+        assertSame( "Resource should be kept after loading.", res, catalog.get( id ) );
+        assertNull( "Unknown resource should not exist.", catalog.get( "Unknown" ) );
+
+    }
+
+    @Test
+    public void testBrokenFile() throws Exception {
+
+        String id = StoryPackGenerator.sceneID( 'A', 1 );
+        Path file = root.resolve( "Story A" ).resolve( "Scene 1" ).resolve( ResourceLoader.RESOURCE_IDENTIFIER );
+        String xml = new String( Files.readAllBytes( file ), "UTF-8" );
+        Files.write( file, xml.replace( "</options>", "" ).getBytes( "UTF-8" ) ); // Header still valid.
+
+        assertTrue( "Resource should exist before being read.", catalog.contains( id ) );
+        assertNull( "Broken resource should not be loaded.", catalog.get( id ) );
+        assertFalse( "Broken resource should not exist after being read.", catalog.contains( id ) );
+
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.thiagotgm.separate_but_unequal.resource.Achievement;
+import com.github.thiagotgm.separate_but_unequal.resource.AchievementFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.Choice;
+import com.github.thiagotgm.separate_but_unequal.resource.ChoiceScene;
+import com.github.thiagotgm.separate_but_unequal.resource.ChoiceSceneFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.EndScene;
+import com.github.thiagotgm.separate_but_unequal.resource.EndSceneFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource.ResourceType;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceIndex;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourcePath;
+import com.github.thiagotgm.separate_but_unequal.resource.Story;
+import com.github.thiagotgm.separate_but_unequal.resource.StoryFactory;
+
+
+public class ResourceIndexTest {
+
+    private static final Choice[] CHOICES = {
+            new Choice( "Go left", "Left" ),
+            new Choice( "Go right", "Right" ) };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path indexFile;
+    private ResourcePath choiceSource;
+    private ResourcePath endSource;
+    private ResourcePath storySource;
+    private ResourcePath achievementSource;
+    private Map<ResourcePath, Resource> resources;
+    private Map<ResourcePath, Long> modified;
+
+    @Before
+    public void setUp() throws Exception {
+
+        Path root = folder.getRoot().toPath();
+        indexFile = root.resolve( "resources.idx" );
+        choiceSource = new ResourcePath( root.resolve( "Start" ).resolve( "resource.xml" ), false );
+        endSource = new ResourcePath( root.resolve( "End" ).resolve( "resource.xml" ), false );
+        storySource = new ResourcePath( root.resolve( "resource.xml" ), false );
+        achievementSource = new ResourcePath( root.resolve( "A-1" ).resolve( "resource.xml" ), false );
+
+        resources = new HashMap<>();
+        modified = new HashMap<>();
+        resources.put( choiceSource, ( (ChoiceSceneFactory) ResourceFactory.newInstance( ResourceType.CHOICE_SCENE,
+                "Start" ) ).withOptions( Arrays.asList( CHOICES ) ).withPath( new ResourcePath(
+                root.resolve( "Start" ).resolve( "Scene.txt" ), false ) ).withAudio( "song" ).build() );
+        resources.put( endSource, ( (EndSceneFactory) ResourceFactory.newInstance( ResourceType.END_SCENE,
+                "End" ) ).withCode( 3 ).withPath( new ResourcePath( root.resolve( "End" ).resolve( "End.txt" ),
+                false ) ).build() );
+        resources.put( storySource, ( (StoryFactory) ResourceFactory.newInstance( ResourceType.STORY,
+                "Story" ) ).withCode( 'B' ).withName( "Name" ).withDescription( "Description" )
+                .withStart( "Start" ).build() );
+        resources.put( achievementSource, ( (AchievementFactory) ResourceFactory.newInstance(
+                ResourceType.ACHIEVEMENT, "A-1" ) ).withStoryCode( 'B' ).withEndCode( 3 ).withTitle( "Title" )
+                .withText( "Text" ).withGraphic( "trophy" ).build() );
+        for ( ResourcePath source : resources.keySet() ) {
+
+            modified.put( source, 1000L );
+
+        }
+
+        ResourceIndex.write( indexFile, resources, modified );
+
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+
+        ResourceIndex index = ResourceIndex.read( indexFile );
+        assertEquals( "Incorrect amount of entries.", 4, index.size() );
+
+        ChoiceScene choice = (ChoiceScene) index.get( choiceSource, 1000L );
+        assertEquals( "Incorrect ID.", "Start", choice.getID() );
+        assertEquals( "Incorrect options.", Arrays.asList( CHOICES ), choice.getOptions() );
+        assertEquals( "Incorrect path.", ( (ChoiceScene) resources.get( choiceSource ) ).getPath().getPath(),
+                choice.getPath().getPath() );
+        assertEquals( "Incorrect audio.", "song", choice.getAudio() );
+        assertNull( "Incorrect graphic.", choice.getGraphic() );
+
+        EndScene end = (EndScene) index.get( endSource, 1000L );
+        assertEquals( "Incorrect end code.", 3, end.getCode() );
+        assertEquals( "Incorrect path.", ( (EndScene) resources.get( endSource ) ).getPath().getPath(),
+                end.getPath().getPath() );
+
+        Story story = (Story) index.get( storySource, 1000L );
+        assertEquals( "Incorrect story code.", 'B', story.getCode() );
+        assertEquals( "Incorrect start.", "Start", story.getStart() );
+        assertNull( "Incorrect graphic.", story.getGraphic() );
+
+        Achievement achievement = (Achievement) index.get( achievementSource, 1000L );
+        assertEquals( "Incorrect achievement.", 0, achievement.compareTo(
+                (Achievement) resources.get( achievementSource ) ) );
+        assertEquals( "Incorrect graphic.", "trophy", achievement.getGraphic() );
+
+    }
+
+    @Test
+    public void testLongText() throws Exception {
+
+        char[] chars = new char[ 70000 ];
+        Arrays.fill( chars, '\u00e9' ); // Two bytes each in UTF-8.
+        String description = new String( chars );
+        resources.put( storySource, ( (StoryFactory) ResourceFactory.newInstance( ResourceType.STORY,
+                "Story" ) ).withCode( 'B' ).withName( "Name" ).withDescription( description )
+                .withStart( "Start" ).build() );
+        ResourceIndex.write( indexFile, resources, modified );
+
+        ResourceIndex index = ResourceIndex.read( indexFile );
+        assertEquals( "Incorrect amount of entries.", 4, index.size() );
+        assertEquals( "Incorrect description.", description,
+                ( (Story) index.get( storySource, 1000L ) ).getDescription() );
+
+    }
+
+    @Test
+    public void testCopy() throws Exception {
+
+        ResourceIndex old = ResourceIndex.read( indexFile );
+        ResourceIndex.Writer writer = new ResourceIndex.Writer();
+        assertTrue( "Entry should be copied.", writer.copy( old, choiceSource ) );
+        assertFalse( "Unknown file should not be copied.", writer.copy( old, new ResourcePath(
+                folder.getRoot().toPath().resolve( "other.xml" ), false ) ) );
+        writer.add( storySource, resources.get( storySource ), 2000L );
+        assertEquals( "Incorrect amount of entries.", 2, writer.size() );
+        writer.write( indexFile );
+
+        ResourceIndex index = ResourceIndex.read( indexFile );
+        assertEquals( "Incorrect amount of entries.", 2, index.size() );
+        assertTrue( "Copied entry should be current.", index.isCurrent( choiceSource, 1000L ) );
+        assertEquals( "Incorrect options.", Arrays.asList( CHOICES ),
+                ( (ChoiceScene) index.get( choiceSource, 1000L ) ).getOptions() );
+        assertEquals( "Incorrect start.", "Start", ( (Story) index.get( storySource, 2000L ) ).getStart() );
+        assertFalse( "Entry that was not added should not be current.", index.isCurrent( endSource, 1000L ) );
+
+    }
+
+    @Test
+    public void testOutOfDate() throws Exception {
+
+        ResourceIndex index = ResourceIndex.read( indexFile );
+        assertNull( "Modified file should not be taken from the index.", index.get( storySource, 2000L ) );
+        assertNull( "Unknown file should not be in the index.", index.get( new ResourcePath(
+                folder.getRoot().toPath().resolve( "other.xml" ), false ), 1000L ) );
+
+        Files.write( indexFile, new byte[] { 1, 2, 3, 4 } );
+        try {
+            ResourceIndex.read( indexFile );
+            fail( "Reading an invalid index should throw an exception." );
+        } catch ( java.io.IOException e ) {
+            // Normal
+        }
+
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.github.thiagotgm.separate_but_unequal.resource.AchievementFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.Choice;
+import com.github.thiagotgm.separate_but_unequal.resource.ChoiceScene;
+import com.github.thiagotgm.separate_but_unequal.resource.ChoiceSceneFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.EndSceneFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource.ResourceType;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceLinker;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourcePath;
+import com.github.thiagotgm.separate_but_unequal.resource.StoryFactory;
+
+
+public class ResourceLinkerTest {
+
+    private static void add( Map<String, Resource> resources, Resource res ) {
+
+        resources.put( res.getID(), res );
+
+    }
+
+    @Test
+    public void testLink() {
+
+        Map<String, Resource> resources = new HashMap<>();
+        add( resources, ( (ChoiceSceneFactory) ResourceFactory.newInstance( ResourceType.CHOICE_SCENE, "Start" ) )
+                .withOptions( Arrays.asList( new Choice( "End", "End" ), new Choice( "Missing", "Missing" ),
+                        new Choice( "Achievement", "A-1" ) ) )
+                .withPath( new ResourcePath( Paths.get( "Start.txt" ), false ) ).build() );
+        add( resources, ( (EndSceneFactory) ResourceFactory.newInstance( ResourceType.END_SCENE, "End" ) )
+                .withCode( 1 ).withPath( new ResourcePath( Paths.get( "End.txt" ), false ) ).build() );
+        add( resources, ( (AchievementFactory) ResourceFactory.newInstance( ResourceType.ACHIEVEMENT, "A-1" ) )
+                .withStoryCode( 'A' ).withEndCode( 1 ).withTitle( "Title" ).withText( "Text" ).build() );
+        add( resources, ( (StoryFactory) ResourceFactory.newInstance( ResourceType.STORY, "Story" ) ).withCode( 'A' )
+                .withName( "Name" ).withDescription( "Description" ).withStart( "Nowhere" ).build() );
+
+        List<ResourceLinker.Problem> problems = ResourceLinker.link( resources.values(), resources::get );
+        List<Choice> options = ( (ChoiceScene) resources.get( "Start" ) ).getOptions();
+        for ( Choice option : options ) {
+
+            assertTrue( "Choice should be linked.", option.isLinked() );
+
+        }
+        assertSame( "Incorrect target.", resources.get( "End" ), options.get( 0 ).getTargetScene() );
+        assertNull( "Missing target should not be linked to a scene.", options.get( 1 ).getTargetScene() );
+        assertNull( "Non-scene target should not be linked to a scene.", options.get( 2 ).getTargetScene() );
+
+        assertEquals( "Incorrect amount of problems.", 3, problems.size() );
+        Map<String, ResourceLinker.Problem> byTarget = new HashMap<>();
+        for ( ResourceLinker.Problem problem : problems ) {
+
+            byTarget.put( problem.getTarget(), problem );
+
+        }
+        assertEquals( "Incorrect source.", "Start", byTarget.get( "Missing" ).getSource() );
+        assertNull( "Missing target should have no type.", byTarget.get( "Missing" ).getTargetType() );
+        assertEquals( "Incorrect target type.", ResourceType.ACHIEVEMENT, byTarget.get( "A-1" ).getTargetType() );
+        assertEquals( "Incorrect source.", "Story", byTarget.get( "Nowhere" ).getSource() );
+
+    }
+
+}
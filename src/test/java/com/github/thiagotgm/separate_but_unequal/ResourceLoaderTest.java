@@ -0,0 +1,119 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.thiagotgm.separate_but_unequal.fixture.StoryPackGenerator;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceIndex;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceLoader;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourcePath;
+import com.github.thiagotgm.separate_but_unequal.resource.Story;
+
+
+public class ResourceLoaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ResourceLoader loader;
+    private List<ResourcePath> files;
+    private ResourcePath copy;
+
+    @Before
+    public void setUp() throws Exception {
+
+        Path root = folder.getRoot().toPath().resolve( "resources" );
+        new StoryPackGenerator().withStories( 2 ).withDepth( 3 ).generate( root );
+        Path original = root.resolve( "Story A" ).resolve( ResourceLoader.RESOURCE_IDENTIFIER );
+        Path duplicate = root.resolve( "Copy" ).resolve( ResourceLoader.RESOURCE_IDENTIFIER );
+        Files.createDirectories( duplicate.getParent() );
+        String xml = new String( Files.readAllBytes( original ), "UTF-8" );
+        Files.write( duplicate, xml.replace( "<name>Story A</name>", "<name>Copy</name>" ).getBytes( "UTF-8" ) );
+
+        loader = new ResourceLoader( 4 );
+        files = new ArrayList<>();
+        for ( ResourcePath file : loader.findResourceFiles( root.toUri() ).keySet() ) {
+
+            if ( file.getPath().equals( duplicate ) ) {
+                copy = file;
+            } else {
+                files.add( file );
+            }
+
+        }
+        assertNotNull( "Copy should be found.", copy );
+
+    }
+
+    @Test
+    public void testDuplicateLast() {
+
+        files.add( copy );
+        for ( int i = 0; i < 10; i++ ) {
+
+            Story story = (Story) loader.readResources( files ).get( "Story A" );
+            assertEquals( "Last file should be used.", "Copy", story.getName() );
+            Story cataloged = (Story) loader.catalog( files ).get( "Story A" );
+            assertEquals( "Last file should be cataloged.", "Copy", cataloged.getName() );
+
+        }
+
+    }
+
+    @Test
+    public void testDuplicateFirst() {
+
+        files.add( 0, copy );
+        for ( int i = 0; i < 10; i++ ) {
+
+            Story story = (Story) loader.readResources( files ).get( "Story A" );
+            assertEquals( "Last file should be used.", "Story A", story.getName() );
+            Story cataloged = (Story) loader.catalog( files ).get( "Story A" );
+            assertEquals( "Last file should be cataloged.", "Story A", cataloged.getName() );
+
+        }
+
+    }
+
+    @Test
+    public void testStreamIndexed() throws Exception {
+
+        Map<ResourcePath, Long> modified = new LinkedHashMap<>();
+        for ( ResourcePath file : files ) {
+
+            modified.put( file, Files.getLastModifiedTime( file.getPath() ).toMillis() );
+
+        }
+        Path indexFile = folder.getRoot().toPath().resolve( "resources.idx" );
+        for ( int i = 0; i < 2; i++ ) { // Builds the index, then reads from it.
+
+            List<ResourcePath> order = new ArrayList<>();
+            Map<String, Resource> resources = new HashMap<>();
+            loader.load( modified, indexFile, ( file, res ) -> {
+
+                order.add( file );
+                resources.put( res.getID(), res );
+
+            });
+            assertEquals( "Resources should be handed over in file order.", files, order );
+            assertEquals( "Incorrect resources.", loader.readResources( files ).keySet(), resources.keySet() );
+            assertEquals( "Incorrect index.", files.size(), ResourceIndex.read( indexFile ).size() );
+
+        }
+
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceWatcher;
+
+
+public class ResourceWatcherTest {
+
+    private static final long TIMEOUT = 10; // Seconds.
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    @Rule
+    public TemporaryFolder outside = new TemporaryFolder();
+
+    private Path root;
+    private BlockingQueue<Set<Path>> reports;
+    private ResourceWatcher watcher;
+
+    @Before
+    public void setUp() throws Exception {
+
+        root = folder.getRoot().toPath();
+        Files.createDirectories( root.resolve( "Story/Scene" ) );
+        Files.write( root.resolve( "Story/Scene/resource.xml" ), "old".getBytes() );
+        reports = new LinkedBlockingQueue<>();
+        watcher = new ResourceWatcher( root, reports::add );
+        watcher.start();
+
+    }
+
+    @After
+    public void tearDown() throws Exception {
+
+        watcher.close();
+
+    }
+
+    /**
+     * Waits until the given file is reported as changed.
+     *
+     * @param file The file.
+     * @return Whether it was reported before the timeout.
+     */
+    private boolean awaitChange( Path file ) throws InterruptedException {
+
+        Set<Path> seen = new HashSet<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos( TIMEOUT );
+        while ( !seen.contains( file ) ) {
+
+            Set<Path> report = reports.poll( deadline - System.nanoTime(), TimeUnit.NANOSECONDS );
+            if ( report == null ) {
+                return false;
+            }
+            seen.addAll( report );
+
+        }
+        return true;
+
+    }
+
+    @Test
+    public void testModified() throws Exception {
+
+        Path file = root.resolve( "Story/Scene/resource.xml" );
+        Files.write( file, "new".getBytes() );
+        assertTrue( "Modified file was not reported.", awaitChange( file ) );
+
+    }
+
+    @Test
+    public void testDeleted() throws Exception {
+
+        Path file = root.resolve( "Story/Scene/resource.xml" );
+        Files.delete( file );
+        assertTrue( "Deleted file was not reported.", awaitChange( file ) );
+
+    }
+
+    @Test
+    public void testMovedFolder() throws Exception {
+
+        Path moved = root.resolve( "Story/Scene" );
+        Files.move( moved, outside.getRoot().toPath().resolve( "Scene" ) );
+        assertTrue( "Moved folder was not reported.", awaitChange( moved ) );
+
+    }
+
+    @Test
+    public void testNewFolder() throws Exception {
+
+        Path created = root.resolve( "Story/Other" );
+        Files.createDirectories( created );
+        Path file = created.resolve( "resource.xml" );
+        Files.write( file, "new".getBytes() );
+        assertTrue( "File in new folder was not reported.", awaitChange( file ) );
+
+        Path later = created.resolve( "text.txt" );
+        Files.write( later, "text".getBytes() );
+        assertTrue( "New folder was not watched.", awaitChange( later ) );
+
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.thiagotgm.separate_but_unequal.resource.SaveJournal;
+
+
+public class SaveJournalTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+
+    @Before
+    public void setUp() {
+
+        file = folder.getRoot().toPath().resolve( "save.journal" );
+
+    }
+
+    private Properties replay() throws Exception {
+
+        Properties properties = new Properties();
+        new SaveJournal( file, properties ).replay();
+        return properties;
+
+    }
+
+    @Test
+    public void testReplay() throws Exception {
+
+        Properties properties = new Properties();
+        SaveJournal journal = new SaveJournal( file, properties );
+        journal.set( "first", "1" );
+        journal.set( "second", "2" );
+        journal.set( "first", "one" );
+        journal.set( "second", null );
+        assertEquals( "Incorrect value in memory.", "one", properties.getProperty( "first" ) );
+        assertFalse( "Removed value should not be in memory.", properties.containsKey( "second" ) );
+        assertEquals( "Changes should not be written before syncing.", 0, journal.size() );
+        journal.sync();
+        assertEquals( "Replay should restore the changes.", properties, replay() );
+
+    }
+
+    @Test
+    public void testDiscard() throws Exception {
+
+        Properties properties = new Properties();
+        SaveJournal journal = new SaveJournal( file, properties );
+        journal.set( "first", "1" );
+        Properties snapshot = new Properties();
+        long mark = journal.snapshot( snapshot );
+        journal.set( "second", "2" ); // Made while the snapshot is being written.
+        journal.discard( mark );
+        journal.sync();
+
+        Properties expected = new Properties();
+        expected.setProperty( "second", "2" );
+        assertEquals( "Only changes after the mark should be kept.", expected, replay() );
+        journal.set( "third", "3" );
+        journal.sync();
+        expected.setProperty( "third", "3" );
+        assertEquals( "Changes after discarding should be recorded.", expected, replay() );
+
+        journal.discard( journal.size() );
+        assertEquals( "Journal should be empty.", 0, journal.size() );
+
+    }
+
+    @Test
+    public void testUnsyncedMark() throws Exception {
+
+        SaveJournal journal = new SaveJournal( file, new Properties() );
+        journal.set( "first", "1" );
+        Properties snapshot = new Properties();
+        long mark = journal.snapshot( snapshot ); // Taken before the change was synced.
+        journal.set( "second", "2" );
+        journal.discard( mark );
+        journal.sync();
+
+        Properties expected = new Properties();
+        expected.setProperty( "second", "2" );
+        assertEquals( "Only changes after the mark should be synced.", expected, replay() );
+
+    }
+
+    @Test
+    public void testIncompleteRecord() throws Exception {
+
+        SaveJournal journal = new SaveJournal( file, new Properties() );
+        journal.set( "first", "1" );
+        journal.sync();
+        long size = journal.size();
+        Files.write( file, new byte[] { 1, 0, 10, 'a' }, StandardOpenOption.APPEND ); // Cut off while writing.
+
+        Properties properties = new Properties();
+        SaveJournal reopened = new SaveJournal( file, properties );
+        assertEquals( "Only the complete record should be applied.", 1, reopened.replay() );
+        assertEquals( "Incorrect recovered value.", "1", properties.getProperty( "first" ) );
+        assertEquals( "Incomplete record should be discarded.", size, reopened.size() );
+
+    }
+
+    @Test
+    public void testZeroFilledTail() throws Exception {
+
+        SaveJournal journal = new SaveJournal( file, new Properties() );
+        journal.set( "first", "1" );
+        journal.sync();
+        long size = journal.size();
+        Files.write( file, new byte[ 64 ], StandardOpenOption.APPEND ); // Space allocated but never written.
+
+        Properties properties = new Properties();
+        SaveJournal reopened = new SaveJournal( file, properties );
+        assertEquals( "Only the valid record should be applied.", 1, reopened.replay() );
+        assertEquals( "Incorrect recovered value.", "1", properties.getProperty( "first" ) );
+        assertEquals( "Damaged records should be discarded.", size, reopened.size() );
+
+        reopened.set( "second", "2" );
+        reopened.sync();
+        properties = replay();
+        assertEquals( "Incorrect recovered value.", "1", properties.getProperty( "first" ) );
+        assertEquals( "Change after the damage should be replayed.", "2", properties.getProperty( "second" ) );
+
+    }
+
+    @Test
+    public void testMalformedText() throws Exception {
+
+        SaveJournal journal = new SaveJournal( file, new Properties() );
+        journal.set( "first", "1" );
+        journal.sync();
+        long size = journal.size();
+        Files.write( file, new byte[] { 1, 0, 2, (byte) 0xC0, 'a', 0, 0 }, StandardOpenOption.APPEND );
+
+        Properties properties = new Properties();
+        SaveJournal reopened = new SaveJournal( file, properties );
+        assertEquals( "Only the valid record should be applied.", 1, reopened.replay() );
+        assertEquals( "Damaged records should be discarded.", size, reopened.size() );
+
+    }
+
+}
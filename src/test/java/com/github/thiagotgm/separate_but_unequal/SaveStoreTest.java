@@ -0,0 +1,73 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.thiagotgm.separate_but_unequal.resource.SaveSlot;
+import com.github.thiagotgm.separate_but_unequal.resource.SaveStore;
+
+
+public class SaveStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path root;
+
+    @Before
+    public void setUp() {
+
+        root = folder.getRoot().toPath().resolve( "saves" );
+
+    }
+
+    @Test
+    public void testWriteAndReopen() throws Exception {
+
+        SaveStore store = new SaveStore( root );
+        assertTrue( "New store should be empty.", store.isEmpty() );
+        SaveSlot save = new SaveSlot( 'B', "B Scene 4", 1234567890L, Arrays.asList( "B Scene 0", "B Scene 4" ) );
+        store.write( 3, save );
+        assertFalse( "Store should not be empty.", store.isEmpty() );
+        assertSame( "Incorrect saved game.", save, store.get( 3 ) );
+
+        SaveSlot read = new SaveStore( root ).get( 3 );
+        assertEquals( "Incorrect story code.", 'B', read.getStoryCode() );
+        assertEquals( "Incorrect scene ID.", "B Scene 4", read.getSceneID() );
+        assertEquals( "Incorrect timestamp.", 1234567890L, read.getTimestamp() );
+        assertEquals( "Incorrect path.", save.getPath(), read.getPath() );
+        assertNull( "Other slots should be empty.", new SaveStore( root ).get( 0 ) );
+        assertEquals( "Temporary file should not be left behind.", 1, root.toFile().list().length );
+
+        store.delete( 3 );
+        assertTrue( "Store should be empty after deleting.", store.isEmpty() );
+        assertTrue( "Reopened store should be empty after deleting.", new SaveStore( root ).isEmpty() );
+
+    }
+
+    @Test
+    public void testInvalidFile() throws Exception {
+
+        Files.createDirectories( root );
+        Files.write( root.resolve( "slot1.sav" ), new byte[] { 1, 2, 3 } );
+        SaveStore store = new SaveStore( root );
+        assertNull( "Unreadable slot should be empty.", store.get( 1 ) );
+
+    }
+
+    @Test( expected = IllegalArgumentException.class )
+    public void testInvalidSlot() {
+
+        new SaveStore( root ).get( SaveStore.SLOTS );
+
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import static org.junit.Assert.*;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.thiagotgm.separate_but_unequal.resource.SaveJournal;
+import com.github.thiagotgm.separate_but_unequal.resource.SaveWriter;
+
+
+public class SaveWriterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Properties read( Path file ) throws Exception {
+
+        Properties properties = new Properties();
+        try ( InputStream in = Files.newInputStream( file ) ) {
+            properties.load( in );
+        }
+        return properties;
+
+    }
+
+    @Test
+    public void testWrite() throws Exception {
+
+        Path file = folder.getRoot().toPath().resolve( "save.txt" );
+        Properties properties = new Properties();
+        SaveWriter writer = new SaveWriter( file, properties, "Test" );
+        writer.flush();
+        assertFalse( "Nothing should be written without changes.", Files.exists( file ) );
+
+        for ( int i = 0; i < 100; i++ ) {
+
+            properties.setProperty( "key" + i, String.valueOf( i ) );
+            writer.request();
+
+        }
+        writer.flush();
+        assertEquals( "Incorrect saved properties.", properties, read( file ) );
+
+        properties.setProperty( "key0", "changed" );
+        writer.request();
+        writer.flush();
+        assertEquals( "Incorrect saved properties after change.", "changed", read( file ).getProperty( "key0" ) );
+        assertEquals( "Temporary file should not be left behind.", 1, folder.getRoot().list().length );
+
+    }
+
+    @Test
+    public void testJournalSync() throws Exception {
+
+        Path file = folder.getRoot().toPath().resolve( "save.txt" );
+        Properties properties = new Properties();
+        SaveJournal journal = new SaveJournal( folder.getRoot().toPath().resolve( "save.journal" ), properties );
+        SaveWriter writer = new SaveWriter( file, journal, "Test", 60000 );
+        journal.set( "key", "value" );
+        writer.request();
+        for ( int i = 0; ( i < 100 ) && ( journal.size() == 0 ); i++ ) { // Synced in the background.
+
+            Thread.sleep( 50 );
+
+        }
+        assertTrue( "Change should be synced to the journal.", journal.size() > 0 );
+        assertFalse( "Save file should wait for the delay.", Files.exists( file ) );
+
+        writer.flush();
+        assertEquals( "Incorrect saved properties.", properties, read( file ) );
+        assertEquals( "Written changes should be discarded from the journal.", 0, journal.size() );
+
+    }
+
+}
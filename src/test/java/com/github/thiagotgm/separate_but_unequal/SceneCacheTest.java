@@ -0,0 +1,116 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.github.thiagotgm.separate_but_unequal.resource.EndSceneFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource.ResourceType;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourcePath;
+import com.github.thiagotgm.separate_but_unequal.resource.Scene;
+
+
+public class SceneCacheTest {
+
+    private static Scene scene( String id ) {
+
+        return (Scene) ( (EndSceneFactory) ResourceFactory.newInstance( ResourceType.END_SCENE, id ) ).withCode( 1 )
+                .withPath( new ResourcePath( Paths.get( id + ".txt" ), false ) ).build();
+
+    }
+
+    private static LoadedScene loaded( Scene scene, int textLength ) {
+
+        return new LoadedScene( scene, new String( new char[textLength] ) );
+
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+
+        SceneCache cache = new SceneCache( 10000 );
+        Scene first = scene( "First" );
+        assertNull( "Empty cache should miss.", cache.get( first ) );
+        LoadedScene loaded = loaded( first, 100 );
+        cache.put( loaded );
+        assertSame( "Cached scene should hit.", loaded, cache.get( first ) );
+        assertNull( "Reloaded scene should miss.", cache.get( scene( "First" ) ) );
+        assertEquals( "Incorrect hit count.", 1, cache.getHits() );
+        assertEquals( "Incorrect miss count.", 2, cache.getMisses() );
+        assertEquals( "Incorrect size.", loaded.getSize(), cache.getSize() );
+
+    }
+
+    @Test
+    public void testEviction() {
+
+        Scene first = scene( "First" );
+        Scene second = scene( "Second" );
+        Scene third = scene( "Third" );
+        int size = loaded( first, 100 ).getSize();
+        SceneCache cache = new SceneCache( 2 * size );
+        cache.put( loaded( first, 100 ) );
+        cache.put( loaded( second, 100 ) );
+        cache.get( first ); // Second is now the least recently used.
+        cache.put( loaded( third, 100 ) );
+
+        assertEquals( "Incorrect amount of scenes.", 2, cache.getCount() );
+        assertEquals( "Incorrect eviction count.", 1, cache.getEvictions() );
+        assertNull( "Least recently used scene should be evicted.", cache.get( second ) );
+        assertNotNull( "Recently used scene should be kept.", cache.get( first ) );
+        assertNotNull( "New scene should be kept.", cache.get( third ) );
+        assertTrue( "Cache should stay within budget.", cache.getSize() <= 2 * size );
+
+        cache.put( loaded( scene( "Huge" ), 10 * size ) );
+        assertEquals( "Scene larger than budget should not be cached.", 2, cache.getCount() );
+
+    }
+
+    @Test
+    public void testRemove() {
+
+        SceneCache cache = new SceneCache( 10000 );
+        Scene first = scene( "First" );
+        Scene second = scene( "Second" );
+        cache.put( loaded( first, 100 ) );
+        LoadedScene kept = loaded( second, 100 );
+        cache.put( kept );
+        cache.remove( Arrays.asList( "First", "Missing" ) );
+
+        assertNull( "Removed scene should miss.", cache.get( first ) );
+        assertSame( "Other scene should be kept.", kept, cache.get( second ) );
+        assertEquals( "Incorrect size.", kept.getSize(), cache.getSize() );
+
+    }
+
+    @Test
+    public void testMappedText() {
+
+        SceneCache cache = new SceneCache( 10000 );
+        Scene first = scene( "First" );
+        cache.put( new LoadedScene( first, ByteBuffer.allocateDirect( 200 ).asCharBuffer() ) );
+        assertNull( "Scene with mapped text should not be cached.", cache.get( first ) );
+        assertEquals( "Incorrect size.", 0, cache.getSize() );
+
+        LoadedScene copied = new LoadedScene( first, ByteBuffer.allocate( 200 ).asCharBuffer() );
+        cache.put( copied );
+        assertSame( "Scene with text in memory should be cached.", copied, cache.get( first ) );
+
+    }
+
+    @Test
+    public void testDisabled() {
+
+        SceneCache cache = new SceneCache( 0 );
+        Scene first = scene( "First" );
+        cache.put( loaded( first, 0 ) );
+        assertNull( "Disabled cache should not keep scenes.", cache.get( first ) );
+
+    }
+
+}
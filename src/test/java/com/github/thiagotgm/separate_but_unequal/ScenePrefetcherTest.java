@@ -0,0 +1,138 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.thiagotgm.separate_but_unequal.resource.Choice;
+import com.github.thiagotgm.separate_but_unequal.resource.ChoiceSceneFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.EndSceneFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource.ResourceType;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceLinker;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourcePath;
+import com.github.thiagotgm.separate_but_unequal.resource.Scene;
+
+
+public class ScenePrefetcherTest {
+
+    private Map<String, Resource> resources;
+    private List<String> loaded;
+
+    private void choiceScene( String id, String... targets ) {
+
+        List<Choice> options = new ArrayList<>();
+        for ( String target : targets ) {
+
+            options.add( new Choice( "Go to " + target, target ) );
+
+        }
+        resources.put( id, ( (ChoiceSceneFactory) ResourceFactory.newInstance( ResourceType.CHOICE_SCENE, id ) )
+                .withOptions( options ).withPath( new ResourcePath( Paths.get( id + ".txt" ), false ) ).build() );
+
+    }
+
+    private void endScene( String id ) {
+
+        resources.put( id, ( (EndSceneFactory) ResourceFactory.newInstance( ResourceType.END_SCENE, id ) )
+                .withCode( 1 ).withPath( new ResourcePath( Paths.get( id + ".txt" ), false ) ).build() );
+
+    }
+
+    private Scene scene( String id ) {
+
+        return (Scene) resources.get( id );
+
+    }
+
+    private ScenePrefetcher prefetcher( Function<Scene, LoadedScene> loader ) {
+
+        return new ScenePrefetcher( 1, Choice::getTargetScene, loader ); // One thread, so loads run in queue order.
+
+    }
+
+    @Before
+    public void setUp() {
+
+        resources = new HashMap<>();
+        loaded = Collections.synchronizedList( new ArrayList<>() );
+        choiceScene( "A", "B", "C", "Missing" );
+        choiceScene( "B", "D", "A" );
+        choiceScene( "C", "E" );
+        endScene( "D" );
+        endScene( "E" );
+        ResourceLinker.link( resources.values(), resources::get );
+
+    }
+
+    @Test
+    public void testDepth() throws Exception {
+
+        ScenePrefetcher prefetcher = prefetcher( scene -> {
+            loaded.add( scene.getID() );
+            return new LoadedScene( scene, scene.getID() );
+        } );
+        prefetcher.prefetch( scene( "A" ), 1 );
+        prefetcher.get( scene( "C" ) ).get();
+        assertEquals( "Only the next scenes should be loaded.", Arrays.asList( "B", "C" ), loaded );
+
+        prefetcher.prefetch( scene( "A" ), 2 );
+        assertEquals( "Incorrect loaded scene.", "E", prefetcher.get( scene( "E" ) ).get().getText() );
+        assertEquals( "Scenes should be loaded nearest first, and only once.", Arrays.asList( "B", "C", "D", "E" ),
+                loaded );
+
+    }
+
+    @Test
+    public void testCancelUnreachable() throws Exception {
+
+        CountDownLatch started = new CountDownLatch( 1 );
+        CountDownLatch release = new CountDownLatch( 1 );
+        ScenePrefetcher prefetcher = prefetcher( scene -> {
+            loaded.add( scene.getID() );
+            started.countDown();
+            try {
+                release.await();
+            } catch ( InterruptedException e ) {
+                return null; // Cancelled.
+            }
+            return new LoadedScene( scene, scene.getID() );
+        } );
+        prefetcher.prefetch( scene( "A" ), 2 );
+        started.await(); // B is loading, the others are queued.
+        prefetcher.prefetch( scene( "B" ), 1 ); // Only D and A are reachable now.
+        release.countDown();
+        prefetcher.get( scene( "A" ) ).get();
+        assertEquals( "Unreachable scenes should not be loaded.", Arrays.asList( "B", "D", "A" ), loaded );
+
+        assertEquals( "Cancelled scene should be loaded again when requested.", "C",
+                prefetcher.get( scene( "C" ) ).get().getText() );
+
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+
+        ScenePrefetcher prefetcher = prefetcher( scene -> {
+            loaded.add( scene.getID() );
+            return new LoadedScene( scene, scene.getID() );
+        } );
+        prefetcher.prefetch( scene( "A" ), 0 );
+        assertEquals( "Requested scene should be loaded.", "B", prefetcher.get( scene( "B" ) ).get().getText() );
+        assertEquals( "Nothing should be loaded ahead.", Arrays.asList( "B" ), loaded );
+
+    }
+
+}
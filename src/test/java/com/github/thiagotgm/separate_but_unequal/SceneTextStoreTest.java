@@ -0,0 +1,98 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.thiagotgm.separate_but_unequal.resource.EndSceneFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource.ResourceType;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourcePath;
+import com.github.thiagotgm.separate_but_unequal.resource.Scene;
+import com.github.thiagotgm.separate_but_unequal.resource.SceneTextStore;
+
+
+public class SceneTextStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path storeFile;
+    private List<Scene> scenes;
+
+    @Before
+    public void setUp() throws Exception {
+
+        Path root = folder.getRoot().toPath();
+        storeFile = root.resolve( "scenes.dat" );
+        Path first = root.resolve( "First.txt" );
+        Files.write( first, "\n  Line one.\nLine two: é中!\n\n".getBytes( StandardCharsets.UTF_8 ) );
+        Path second = root.resolve( "Second.txt" );
+        Files.write( second, "Short".getBytes( StandardCharsets.UTF_8 ) );
+
+        scenes = Arrays.asList( scene( "First", first ), scene( "Second", second ),
+                scene( "Missing", root.resolve( "Missing.txt" ) ) );
+
+    }
+
+    private static Scene scene( String id, Path text ) {
+
+        return (Scene) ( (EndSceneFactory) ResourceFactory.newInstance( ResourceType.END_SCENE, id ) ).withCode( 1 )
+                .withPath( new ResourcePath( text, false ) ).build();
+
+    }
+
+    @Test
+    public void testText() throws Exception {
+
+        SceneTextStore store = SceneTextStore.openOrBuild( storeFile, scenes, 0 );
+        assertEquals( "Incorrect amount of scenes.", 3, store.size() );
+        for ( Scene scene : scenes.subList( 0, 2 ) ) {
+
+            assertEquals( "Stored text should match the text file.", SceneTextStore.readText( scene.getPath() ),
+                    store.getText( scene.getID() ).toString() );
+
+        }
+        assertNull( "Scene without a text file should have no text.", store.getText( "Missing" ) );
+        assertNull( "Unknown scene should have no text.", store.getText( "Unknown" ) );
+
+    }
+
+    @Test
+    public void testReopen() throws Exception {
+
+        SceneTextStore.openOrBuild( storeFile, scenes, 0 );
+        long written = Files.getLastModifiedTime( storeFile ).toMillis();
+        SceneTextStore store = SceneTextStore.openOrBuild( storeFile, scenes, 0 );
+        assertEquals( "Up to date store should not be rebuilt.", written,
+                Files.getLastModifiedTime( storeFile ).toMillis() );
+        assertEquals( "Incorrect text after reopening.", "Short", store.getText( "Second" ).toString() );
+
+    }
+
+    @Test
+    public void testRebuild() throws Exception {
+
+        SceneTextStore old = SceneTextStore.openOrBuild( storeFile, scenes, 0 );
+        long written = Files.getLastModifiedTime( storeFile ).toMillis();
+        Path second = scenes.get( 1 ).getPath().getPath();
+        Files.write( second, "Changed".getBytes( StandardCharsets.UTF_8 ) );
+        Files.setLastModifiedTime( second, FileTime.fromMillis( written + 2000 ) );
+
+        SceneTextStore store = SceneTextStore.openOrBuild( storeFile, scenes, 0 );
+        assertEquals( "Out of date store should be rebuilt.", "Changed", store.getText( "Second" ).toString() );
+        assertEquals( "Previously opened store should keep its text.", "Short", old.getText( "Second" ).toString() );
+
+    }
+
+}
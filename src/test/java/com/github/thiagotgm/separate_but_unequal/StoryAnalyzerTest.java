@@ -0,0 +1,168 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.thiagotgm.separate_but_unequal.resource.AchievementFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.Choice;
+import com.github.thiagotgm.separate_but_unequal.resource.ChoiceSceneFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.EndSceneFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource.ResourceType;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceFactory;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourcePath;
+import com.github.thiagotgm.separate_but_unequal.resource.Story;
+import com.github.thiagotgm.separate_but_unequal.resource.StoryAnalyzer;
+import com.github.thiagotgm.separate_but_unequal.resource.StoryFactory;
+
+
+public class StoryAnalyzerTest {
+
+    private Map<String, Resource> resources;
+    private ForkJoinPool pool;
+
+    private void add( Resource res ) {
+
+        resources.put( res.getID(), res );
+
+    }
+
+    private void choiceScene( String id, String... targets ) {
+
+        List<Choice> options = new ArrayList<>();
+        for ( String target : targets ) {
+
+            options.add( new Choice( "Go to " + target, target ) );
+
+        }
+        add( ( (ChoiceSceneFactory) ResourceFactory.newInstance( ResourceType.CHOICE_SCENE, id ) )
+                .withOptions( options ).withPath( new ResourcePath( Paths.get( id + ".txt" ), false ) ).build() );
+
+    }
+
+    private void endScene( String id, int code ) {
+
+        add( ( (EndSceneFactory) ResourceFactory.newInstance( ResourceType.END_SCENE, id ) ).withCode( code )
+                .withPath( new ResourcePath( Paths.get( id + ".txt" ), false ) ).build() );
+
+    }
+
+    private void story( char code, String start ) {
+
+        add( ( (StoryFactory) ResourceFactory.newInstance( ResourceType.STORY, "Story " + code ) ).withCode( code )
+                .withName( "Name" ).withDescription( "Description" ).withStart( start ).build() );
+
+    }
+
+    private void achievement( char storyCode, int endCode ) {
+
+        add( ( (AchievementFactory) ResourceFactory.newInstance( ResourceType.ACHIEVEMENT,
+                storyCode + "-" + endCode ) ).withStoryCode( storyCode ).withEndCode( endCode )
+                .withTitle( "Title" ).withText( "Text" ).build() );
+
+    }
+
+    private StoryAnalyzer.Report analyze( char code ) {
+
+        return new StoryAnalyzer( resources.values(), resources::get, pool )
+                .analyze( (Story) resources.get( "Story " + code ) );
+
+    }
+
+    @Before
+    public void setUp() {
+
+        resources = new HashMap<>();
+        pool = new ForkJoinPool( 4 );
+
+    }
+
+    @After
+    public void tearDown() {
+
+        pool.shutdown();
+
+    }
+
+    @Test
+    public void testSmallStory() {
+
+        choiceScene( "Start", "Middle", "Short End", "Missing" );
+        choiceScene( "Middle", "Start", "Long End" );
+        choiceScene( "Orphan", "Lost End" );
+        endScene( "Short End", 1 );
+        endScene( "Long End", 2 );
+        endScene( "Lost End", 3 );
+        story( 'A', "Start" );
+        achievement( 'A', 1 );
+        achievement( 'A', 3 );
+        achievement( 'B', 3 );
+
+        StoryAnalyzer.Report report = analyze( 'A' );
+        assertTrue( "Start should be valid.", report.isStartValid() );
+        assertEquals( "Incorrect amount of reachable scenes.", 4, report.getReachableCount() );
+        assertTrue( "Cycle should be found.", report.hasCycle() );
+        assertEquals( "Incorrect amount of endings.", 2, report.getEndingDistances().size() );
+        assertEquals( "Incorrect distance.", Integer.valueOf( 1 ), report.getEndingDistances().get( 1 ) );
+        assertEquals( "Incorrect distance.", Integer.valueOf( 2 ), report.getEndingDistances().get( 2 ) );
+        assertEquals( "Incorrect amount of unreachable achievements.", 1,
+                report.getUnreachableAchievements().size() );
+        assertEquals( "Incorrect unreachable achievement.", 3,
+                report.getUnreachableAchievements().get( 0 ).getEndCode() );
+
+    }
+
+    @Test
+    public void testInvalidStart() {
+
+        endScene( "End", 1 );
+        story( 'A', "Missing" );
+        achievement( 'A', 1 );
+
+        StoryAnalyzer.Report report = analyze( 'A' );
+        assertFalse( "Start should be invalid.", report.isStartValid() );
+        assertEquals( "Nothing should be reachable.", 0, report.getReachableCount() );
+        assertEquals( "Achievement should be unreachable.", 1, report.getUnreachableAchievements().size() );
+
+    }
+
+    @Test
+    public void testLargeTree() {
+
+        int depth = 14; // Large enough for the levels to be split among tasks.
+        int leaves = 1 << depth;
+        for ( int i = 1; i < leaves; i++ ) { // Binary tree, with scene i leading to 2i and 2i + 1.
+
+            choiceScene( "S" + i, "S" + ( 2 * i ), "S" + ( 2 * i + 1 ) );
+
+        }
+        for ( int i = leaves; i < 2 * leaves; i++ ) {
+
+            endScene( "S" + i, 1 + ( i % 8 ) );
+
+        }
+        story( 'A', "S1" );
+
+        StoryAnalyzer.Report report = analyze( 'A' );
+        assertEquals( "Incorrect amount of reachable scenes.", 2 * leaves - 1, report.getReachableCount() );
+        assertFalse( "Tree should have no cycle.", report.hasCycle() );
+        assertEquals( "Incorrect amount of endings.", 8, report.getEndingDistances().size() );
+        for ( int distance : report.getEndingDistances().values() ) {
+
+            assertEquals( "Incorrect distance.", depth, distance );
+
+        }
+
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.github.thiagotgm.separate_but_unequal;
+
+import static org.junit.Assert.*;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.thiagotgm.separate_but_unequal.fixture.StoryPackGenerator;
+import com.github.thiagotgm.separate_but_unequal.resource.Achievement;
+import com.github.thiagotgm.separate_but_unequal.resource.Choice;
+import com.github.thiagotgm.separate_but_unequal.resource.ChoiceScene;
+import com.github.thiagotgm.separate_but_unequal.resource.EndScene;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceLoader;
+import com.github.thiagotgm.separate_but_unequal.resource.Story;
+
+
+public class StoryPackGeneratorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testGenerate() throws Exception {
+
+        StoryPackGenerator generator = new StoryPackGenerator().withStories( 3 ).withBranching( 3 ).withDepth( 2 )
+                .withEndings( 4 ).withTextLength( 300 );
+        assertEquals( "Incorrect amount of scenes.", 13, generator.getScenesPerStory() );
+        assertEquals( "Incorrect amount of endings.", 4, generator.getEndingsPerStory() );
+
+        Path root = folder.getRoot().toPath().resolve( "resources" );
+        generator.generate( root );
+        Map<String, Resource> resources = new ResourceLoader( 1 ).load( root.toUri() );
+        assertEquals( "Incorrect amount of resources.", generator.getResourceCount(), resources.size() );
+
+        int ends = 0;
+        for ( Resource res : resources.values() ) {
+
+            switch ( res.getType() ) {
+
+                case STORY:
+                    assertNotNull( "Story start does not exist.", resources.get( ( (Story) res ).getStart() ) );
+                    break;
+                case CHOICE_SCENE:
+                    for ( Choice option : ( (ChoiceScene) res ).getOptions() ) {
+
+                        assertNotNull( "Choice target does not exist.", resources.get( option.getTarget() ) );
+
+                    }
+                    break;
+                case END_SCENE:
+                    assertTrue( "End code out of range.", ( (EndScene) res ).getCode() <= 4 );
+                    ends++;
+                    break;
+                case ACHIEVEMENT:
+                    assertTrue( "End code out of range.", ( (Achievement) res ).getEndCode() <= 4 );
+                    break;
+                default:
+                    fail( "Unexpected resource type." );
+
+            }
+
+        }
+        assertEquals( "Incorrect amount of end scenes.", 3 * 9, ends );
+
+    }
+
+    @Test
+    public void testGenerateJar() throws Exception {
+
+        StoryPackGenerator generator = new StoryPackGenerator().withStories( 2 ).withDepth( 2 );
+        Path jar = folder.getRoot().toPath().resolve( "pack.jar" );
+        generator.generateJar( jar );
+        URI root = URI.create( "jar:" + jar.toUri() + "!/" + StoryPackGenerator.JAR_ROOT );
+        assertEquals( "Incorrect amount of resource files in jar.", generator.getResourceCount(),
+                new ResourceLoader( 1 ).findResourceFiles( root ).size() );
+
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.github.thiagotgm.separate_but_unequal.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.thiagotgm.separate_but_unequal.CompletionManager;
+import com.github.thiagotgm.separate_but_unequal.fixture.StoryPackGenerator;
+import com.github.thiagotgm.separate_but_unequal.resource.EndScene;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceManager;
+import com.github.thiagotgm.separate_but_unequal.resource.Story;
+
+/**
+ * Measures the time taken to look up the player's progress, as done when the story and achievement menus are
+ * shown.<br>
+ * Uses the game's own resources, with half of the endings of each story marked as reached. The progress is saved
+ * to a temporary save folder, so the player's own save is not touched.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class CompletionManagerBenchmark {
+
+    private Path saveFolder;
+    private CompletionManager manager;
+    private char[] codes;
+
+    @Setup( Level.Trial )
+    public void setUp() throws IOException {
+
+        saveFolder = Files.createTempDirectory( "sbu-bench" );
+        System.setProperty( ResourceManager.SAVE_FOLDER_PROPERTY, saveFolder.toString() );
+        List<Story> stories = ResourceManager.getInstance().getStories();
+        manager = CompletionManager.getInstance();
+        codes = new char[stories.size()];
+        for ( int i = 0; i < codes.length; i++ ) {
+
+            codes[i] = stories.get( i ).getCode();
+            for ( int code = EndScene.MIN_CODE; code <= EndScene.MAX_CODE; code += 2 ) {
+
+                manager.setReached( codes[i], code );
+
+            }
+
+        }
+
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown() throws IOException {
+
+        ResourceManager.getInstance().save(); // Finishes writing before the folder is deleted.
+        StoryPackGenerator.delete( saveFolder );
+
+    }
+
+    /**
+     * Checks every ending of every story.
+     *
+     * @return The amount of endings reached.
+     */
+    @Benchmark
+    public int isReached() {
+
+        int reached = 0;
+        for ( char story : codes ) {
+
+            for ( int code = EndScene.MIN_CODE; code <= EndScene.MAX_CODE; code++ ) {
+
+                if ( manager.isReached( story, code ) ) {
+                    reached++;
+                }
+
+            }
+
+        }
+        return reached;
+
+    }
+
+    /**
+     * Checks whether every story was played.
+     *
+     * @return The amount of stories played.
+     */
+    @Benchmark
+    public int isPlayed() {
+
+        int played = 0;
+        for ( char story : codes ) {
+
+            if ( manager.isPlayed( story ) ) {
+                played++;
+            }
+
+        }
+        return played;
+
+    }
+
+}
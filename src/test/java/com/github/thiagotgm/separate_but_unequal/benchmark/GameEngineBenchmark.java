@@ -0,0 +1,92 @@
+package com.github.thiagotgm.separate_but_unequal.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.thiagotgm.separate_but_unequal.GameEngine;
+import com.github.thiagotgm.separate_but_unequal.fixture.StoryPackGenerator;
+import com.github.thiagotgm.separate_but_unequal.resource.Choice;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceLinker;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceLoader;
+
+/**
+ * Measures the time taken to play a story from start to an ending through the game engine, choosing options at
+ * random, on a generated story pack. Endings are not recorded.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class GameEngineBenchmark {
+
+    /** Depth of the story in the pack (with branching factor 2). */
+    @Param( { "5", "10" } )
+    public int depth;
+
+    private Path root;
+    private GameEngine engine;
+    private SplittableRandom random;
+
+    @Setup( Level.Trial )
+    public void setUp() throws IOException {
+
+        root = Files.createTempDirectory( "sbu-bench" );
+        new StoryPackGenerator().withStories( 1 ).withDepth( depth ).generate( root );
+        Map<String, Resource> resources = new ResourceLoader( 0 ).load( root.toUri() );
+        ResourceLinker.link( resources.values(), resources::get );
+        engine = new GameEngine( resources::get, Choice::getTargetScene, false );
+        random = new SplittableRandom( 42 );
+
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown() throws IOException {
+
+        StoryPackGenerator.delete( root );
+
+    }
+
+    /**
+     * Plays the story once.
+     *
+     * @return The ending reached.
+     */
+    @Benchmark
+    public int playthrough() {
+
+        engine.start( StoryPackGenerator.sceneID( 'A', 0 ), 'A' );
+        while ( !engine.isEnded() ) {
+
+            engine.choose( random.nextInt( engine.getOptions().size() ) );
+
+        }
+        return engine.getEndCode();
+
+    }
+
+}
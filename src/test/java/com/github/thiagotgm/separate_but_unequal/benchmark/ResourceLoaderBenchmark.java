@@ -0,0 +1,121 @@
+package com.github.thiagotgm.separate_but_unequal.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.thiagotgm.separate_but_unequal.fixture.StoryPackGenerator;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceCatalog;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceLoader;
+
+/**
+ * Measures the time taken to load a whole resource library, the way the ResourceManager does on startup, from
+ * a generated story pack.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.SingleShotTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class ResourceLoaderBenchmark {
+
+    /** Amount of stories in the pack. */
+    @Param( { "4", "26" } )
+    public int stories;
+
+    /** Depth of each story in the pack (with branching factor 2). */
+    @Param( { "5" } )
+    public int depth;
+
+    /** Amount of loader threads (0 uses one per processor). */
+    @Param( { "1", "0" } )
+    public int threads;
+
+    private Path root;
+    private URI rootURI;
+    private Path indexFile;
+    private ResourceLoader loader;
+
+    @Setup( Level.Trial )
+    public void setUp() throws IOException {
+
+        root = Files.createTempDirectory( "sbu-bench" );
+        Path pack = root.resolve( "resources" );
+        new StoryPackGenerator().withStories( stories ).withDepth( depth ).generate( pack );
+        rootURI = pack.toUri();
+        indexFile = root.resolve( "resources.idx" );
+        loader = new ResourceLoader( threads );
+        loader.load( rootURI, indexFile ); // Builds the index.
+
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown() throws IOException {
+
+        StoryPackGenerator.delete( root );
+
+    }
+
+    /**
+     * Loads by parsing every resource file.
+     *
+     * @return The loaded resources.
+     * @throws IOException if the resource files could not be found.
+     */
+    @Benchmark
+    public Map<String, Resource> loadXML() throws IOException {
+
+        return loader.load( rootURI );
+
+    }
+
+    /**
+     * Loads from an up-to-date resource index.
+     *
+     * @return The loaded resources.
+     * @throws IOException if the resource files could not be found.
+     */
+    @Benchmark
+    public Map<String, Resource> loadIndexed() throws IOException {
+
+        return loader.load( rootURI, indexFile );
+
+    }
+
+    /**
+     * Only catalogs the resources, to be read on demand.
+     *
+     * @return The catalog of the resources.
+     * @throws IOException if the resource files could not be found.
+     */
+    @Benchmark
+    public ResourceCatalog catalog() throws IOException {
+
+        return loader.catalog( loader.findResourceFiles( rootURI ).keySet() );
+
+    }
+
+}
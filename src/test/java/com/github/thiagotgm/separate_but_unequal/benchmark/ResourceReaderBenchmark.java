@@ -0,0 +1,91 @@
+package com.github.thiagotgm.separate_but_unequal.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.thiagotgm.separate_but_unequal.fixture.StoryPackGenerator;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource.ResourceType;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceLoader;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourcePath;
+import com.github.thiagotgm.separate_but_unequal.resource.reader.ResourceReader;
+
+/**
+ * Measures the time taken to read a single resource file of each type.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class ResourceReaderBenchmark {
+
+    @Param( { "CHOICE_SCENE", "END_SCENE", "STORY", "ACHIEVEMENT" } )
+    public ResourceType type;
+
+    private Path root;
+    private ResourcePath path;
+
+    @Setup( Level.Trial )
+    public void setUp() throws IOException {
+
+        root = Files.createTempDirectory( "sbu-bench" );
+        new StoryPackGenerator().withStories( 1 ).withBranching( 3 ).withDepth( 1 ).generate( root );
+        Path folder = root.resolve( "Story A" );
+        switch ( type ) { // Picks a file of the type being measured.
+
+            case CHOICE_SCENE:
+                folder = folder.resolve( "Scene 0" );
+                break;
+            case END_SCENE:
+                folder = folder.resolve( "Scene 1" );
+                break;
+            case ACHIEVEMENT:
+                folder = folder.resolve( "A-1" );
+                break;
+            default:
+                break;
+
+        }
+        path = new ResourcePath( folder.resolve( ResourceLoader.RESOURCE_IDENTIFIER ), false );
+
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown() throws IOException {
+
+        StoryPackGenerator.delete( root );
+
+    }
+
+    @Benchmark
+    public Resource readResource() throws XMLStreamException {
+
+        return ResourceReader.readResource( path );
+
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.github.thiagotgm.separate_but_unequal.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.thiagotgm.separate_but_unequal.fixture.StoryPackGenerator;
+import com.github.thiagotgm.separate_but_unequal.resource.Resource;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceLoader;
+import com.github.thiagotgm.separate_but_unequal.resource.Scene;
+import com.github.thiagotgm.separate_but_unequal.resource.SceneTextStore;
+
+/**
+ * Measures the time taken to obtain the text of a Scene when it is entered, going through the Scenes of a
+ * generated story pack in turn.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class SceneTextBenchmark {
+
+    /** Amount of characters in the text of each Scene. */
+    @Param( { "200", "5000" } )
+    public int textLength;
+
+    private Path root;
+    private List<Scene> scenes;
+    private SceneTextStore store;
+    private int next;
+
+    @Setup( Level.Trial )
+    public void setUp() throws IOException {
+
+        root = Files.createTempDirectory( "sbu-bench" );
+        Path pack = root.resolve( "resources" );
+        new StoryPackGenerator().withTextLength( textLength ).generate( pack );
+        scenes = new ArrayList<>();
+        for ( Resource res : new ResourceLoader( 0 ).load( pack.toUri() ).values() ) {
+
+            if ( res instanceof Scene ) {
+                scenes.add( (Scene) res );
+            }
+
+        }
+        store = SceneTextStore.openOrBuild( root.resolve( "scenes.dat" ), scenes, 0 );
+
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown() throws IOException {
+
+        store = null; // The mapping is only released once the store is collected.
+        StoryPackGenerator.delete( root );
+
+    }
+
+    /**
+     * Reads the text from the Scene's own text file.
+     *
+     * @return The text of the next Scene.
+     */
+    @Benchmark
+    public String readFile() {
+
+        return SceneTextStore.readText( nextScene().getPath() );
+
+    }
+
+    /**
+     * Takes the text from the scene text store, then copies it into a String as the displayer does.
+     *
+     * @return The text of the next Scene.
+     */
+    @Benchmark
+    public String readStore() {
+
+        return store.getText( nextScene().getID() ).toString();
+
+    }
+
+    /**
+     * Retrieves the next Scene to be entered.
+     *
+     * @return The Scene.
+     */
+    private Scene nextScene() {
+
+        Scene scene = scenes.get( next );
+        next = ( next + 1 ) % scenes.size();
+        return scene;
+
+    }
+
+}
@@ -0,0 +1,490 @@
+package com.github.thiagotgm.separate_but_unequal.fixture;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import com.github.thiagotgm.separate_but_unequal.resource.EndScene;
+import com.github.thiagotgm.separate_but_unequal.resource.ResourceLoader;
+import com.github.thiagotgm.separate_but_unequal.resource.Story;
+
+/**
+ * Generator that writes synthetic resource file trees, in the same format as the game's own resources.<p>
+ * Each story is a complete tree of Scenes: every Scene above the maximum depth is a ChoiceScene with one option
+ * for each branch, and every Scene at the maximum depth is an EndScene. The EndScenes cycle through the ending
+ * codes of the story, and each ending code also gets an Achievement.<p>
+ * The tree can be written to a folder or packed into a jar, under the same root folder as the game's resources.
+ * It can also be generated from the command line; run with no arguments for the usage.
+ *
+ * @version 1.0
+ * @author Thiago
+ * @since 2026-10-17
+ */
+public class StoryPackGenerator {
+
+    /** Name of the text file of each Scene. */
+    public static final String SCENE_FILE = "Scene.txt";
+    /** Folder that the tree is placed in when packed into a jar. */
+    public static final String JAR_ROOT = "resources";
+
+    /** Command line usage. */
+    public static final String USAGE = "Usage: StoryPackGenerator <output> [--stories N] [--branching N] "
+            + "[--depth N] [--endings N] [--text N] [--jar]";
+
+    private static final int MAX_ENDINGS = EndScene.MAX_CODE - EndScene.MIN_CODE + 1;
+    private static final String FILLER = "The quick brown fox jumps over the lazy dog. ";
+    private static final int LINE_LENGTH = 80;
+
+    private int stories;
+    private int branching;
+    private int depth;
+    private int endings;
+    private int textLength;
+
+    /**
+     * Creates a new generator with 4 stories, each with branching factor 2, depth 5, as many endings as possible,
+     * and scene text of 1000 characters.
+     */
+    public StoryPackGenerator() {
+
+        stories = 4;
+        branching = 2;
+        depth = 5;
+        endings = MAX_ENDINGS;
+        textLength = 1000;
+
+    }
+
+    /**
+     * Generates a resource file tree from the command line.
+     *
+     * @param args The output path, followed by the options. See {@link #USAGE}.
+     * @throws IOException if an error occurred while writing the files.
+     */
+    public static void main( String[] args ) throws IOException {
+
+        if ( args.length == 0 ) {
+            System.err.println( USAGE );
+            System.exit( 1 );
+        }
+        StoryPackGenerator generator = new StoryPackGenerator();
+        boolean jar = false;
+        try {
+            for ( int i = 1; i < args.length; i++ ) { // Reads each option.
+
+                switch ( args[i] ) {
+
+                    case "--jar":
+                        jar = true;
+                        break;
+                    case "--stories":
+                        generator.withStories( Integer.parseInt( args[++i] ) );
+                        break;
+                    case "--branching":
+                        generator.withBranching( Integer.parseInt( args[++i] ) );
+                        break;
+                    case "--depth":
+                        generator.withDepth( Integer.parseInt( args[++i] ) );
+                        break;
+                    case "--endings":
+                        generator.withEndings( Integer.parseInt( args[++i] ) );
+                        break;
+                    case "--text":
+                        generator.withTextLength( Integer.parseInt( args[++i] ) );
+                        break;
+                    default:
+                        throw new IllegalArgumentException( "Unrecognized option " + args[i] + "." );
+
+                }
+
+            }
+        } catch ( IllegalArgumentException | ArrayIndexOutOfBoundsException e ) {
+            System.err.println( ( e instanceof ArrayIndexOutOfBoundsException ) ? "Missing option value." :
+                    e.getMessage() );
+            System.err.println( USAGE );
+            System.exit( 1 );
+        }
+
+        Path output = Paths.get( args[0] );
+        if ( jar ) {
+            generator.generateJar( output );
+        } else {
+            generator.generate( output );
+        }
+        System.out.println( "Generated " + generator.getResourceCount() + " resources in '" + output + "'." );
+
+    }
+
+    /**
+     * Sets the amount of stories to generate.
+     *
+     * @param stories The amount of stories. Must be between 1 and the amount of available story codes.
+     * @return This generator.
+     * @throws IllegalArgumentException if the amount is out of range.
+     */
+    public StoryPackGenerator withStories( int stories ) throws IllegalArgumentException {
+
+        if ( ( stories < 1 ) || ( stories > Story.MAX_CODE - Story.MIN_CODE + 1 ) ) {
+            throw new IllegalArgumentException( "Amount of stories out of range." );
+        }
+        this.stories = stories;
+        return this;
+
+    }
+
+    /**
+     * Sets the amount of options in each ChoiceScene.
+     *
+     * @param branching The amount of options. Must be positive.
+     * @return This generator.
+     * @throws IllegalArgumentException if the amount is not positive.
+     */
+    public StoryPackGenerator withBranching( int branching ) throws IllegalArgumentException {
+
+        if ( branching < 1 ) {
+            throw new IllegalArgumentException( "Branching factor must be positive." );
+        }
+        this.branching = branching;
+        return this;
+
+    }
+
+    /**
+     * Sets the amount of choices made from the start of a story until an ending is reached.
+     *
+     * @param depth The depth of each story. Must not be negative.
+     * @return This generator.
+     * @throws IllegalArgumentException if the depth is negative.
+     */
+    public StoryPackGenerator withDepth( int depth ) throws IllegalArgumentException {
+
+        if ( depth < 0 ) {
+            throw new IllegalArgumentException( "Depth cannot be negative." );
+        }
+        this.depth = depth;
+        return this;
+
+    }
+
+    /**
+     * Sets the amount of distinct endings in each story.<br>
+     * If there are less EndScenes than that in a story, the story only has as many endings as EndScenes.
+     *
+     * @param endings The amount of endings. Must be between 1 and the amount of available ending codes.
+     * @return This generator.
+     * @throws IllegalArgumentException if the amount is out of range.
+     */
+    public StoryPackGenerator withEndings( int endings ) throws IllegalArgumentException {
+
+        if ( ( endings < 1 ) || ( endings > MAX_ENDINGS ) ) {
+            throw new IllegalArgumentException( "Amount of endings out of range." );
+        }
+        this.endings = endings;
+        return this;
+
+    }
+
+    /**
+     * Sets the length of the text of each Scene.
+     *
+     * @param textLength The amount of characters in each scene text. Must not be negative.
+     * @return This generator.
+     * @throws IllegalArgumentException if the length is negative.
+     */
+    public StoryPackGenerator withTextLength( int textLength ) throws IllegalArgumentException {
+
+        if ( textLength < 0 ) {
+            throw new IllegalArgumentException( "Text length cannot be negative." );
+        }
+        this.textLength = textLength;
+        return this;
+
+    }
+
+    /**
+     * Calculates the amount of Scenes in each generated story.
+     *
+     * @return The amount of Scenes per story.
+     */
+    public int getScenesPerStory() {
+
+        return countScenes( depth );
+
+    }
+
+    /**
+     * Calculates the amount of distinct endings in each generated story.
+     *
+     * @return The amount of endings per story.
+     */
+    public int getEndingsPerStory() {
+
+        int leaves = countScenes( depth ) - countScenes( depth - 1 );
+        return Math.min( leaves, endings );
+
+    }
+
+    /**
+     * Calculates the total amount of resource files generated.
+     *
+     * @return The amount of resource files.
+     */
+    public int getResourceCount() {
+
+        return stories * ( 1 + getScenesPerStory() + getEndingsPerStory() );
+
+    }
+
+    /**
+     * Retrieves the ID of a generated Scene.
+     *
+     * @param storyCode The code of the story the Scene is in.
+     * @param index The index of the Scene in the story. The start of the story has index 0, and the options of
+     *              the Scene with index i lead to the Scenes with indices i * branching + 1 to
+     *              i * branching + branching.
+     * @return The ID of that Scene.
+     */
+    public static String sceneID( char storyCode, int index ) {
+
+        return storyCode + " Scene " + index;
+
+    }
+
+    /**
+     * Writes the resource file tree in the given folder.
+     *
+     * @param root The folder to place the tree in. It is created if it doesn't exist.
+     * @throws IOException if an error occurred while writing the files.
+     */
+    public void generate( Path root ) throws IOException {
+
+        Files.createDirectories( root );
+        String text = makeText();
+        for ( int i = 0; i < stories; i++ ) {
+
+            generateStory( root, (char) ( Story.MIN_CODE + i ), text );
+
+        }
+
+    }
+
+    /**
+     * Writes the resource file tree into a jar, under the {@value #JAR_ROOT} folder.
+     *
+     * @param jar The jar file to be written. It is replaced if it already exists.
+     * @throws IOException if an error occurred while writing the files.
+     */
+    public void generateJar( Path jar ) throws IOException {
+
+        Path temp = Files.createTempDirectory( "sbu-pack" );
+        try {
+            generate( temp );
+            Path parent = jar.toAbsolutePath().getParent();
+            if ( parent != null ) {
+                Files.createDirectories( parent );
+            }
+            try ( JarOutputStream out = new JarOutputStream( Files.newOutputStream( jar ) );
+                  Stream<Path> walk = Files.walk( temp ) ) {
+
+                for ( Iterator<Path> it = walk.iterator(); it.hasNext(); ) { // Parents come before children.
+
+                    Path next = it.next();
+                    StringBuilder name = new StringBuilder( JAR_ROOT );
+                    if ( !next.equals( temp ) ) { // Relative path of the root would be empty.
+                        for ( Path part : temp.relativize( next ) ) {
+
+                            name.append( '/' ).append( part );
+
+                        }
+                    }
+                    if ( Files.isDirectory( next ) ) {
+                        out.putNextEntry( new JarEntry( name + "/" ) );
+                    } else {
+                        out.putNextEntry( new JarEntry( name.toString() ) );
+                        Files.copy( next, out );
+                    }
+                    out.closeEntry();
+
+                }
+
+            }
+        } finally {
+            delete( temp );
+        }
+
+    }
+
+    /**
+     * Deletes a resource file tree, including the given root folder.
+     *
+     * @param root The root folder of the tree.
+     * @throws IOException if an error occurred while deleting the files.
+     */
+    public static void delete( Path root ) throws IOException {
+
+        if ( !Files.exists( root ) ) {
+            return;
+        }
+        try ( Stream<Path> walk = Files.walk( root ) ) {
+
+            for ( Iterator<Path> it = walk.sorted( Comparator.reverseOrder() ).iterator(); it.hasNext(); ) {
+
+                Files.delete( it.next() ); // Children are deleted before their folders.
+
+            }
+
+        }
+
+    }
+
+    /**
+     * Writes the files of a single story.
+     *
+     * @param root The root folder of the tree.
+     * @param code The code of the story.
+     * @param text The text of each Scene.
+     * @throws IOException if an error occurred while writing the files.
+     */
+    private void generateStory( Path root, char code, String text ) throws IOException {
+
+        Path storyFolder = root.resolve( "Story " + code );
+        write( storyFolder, "<story>\n"
+                + element( "code", String.valueOf( code ) )
+                + element( "name", "Story " + code )
+                + element( "description", "Generated story " + code + "." )
+                + element( "start", sceneID( code, 0 ) )
+                + "    </story>\n", "Story " + code );
+
+        int scenes = getScenesPerStory();
+        int firstLeaf = countScenes( depth - 1 ); // Scenes above the last level.
+        int endings = getEndingsPerStory();
+        for ( int i = 0; i < scenes; i++ ) { // Writes each Scene.
+
+            Path sceneFolder = storyFolder.resolve( "Scene " + i );
+            StringBuilder scene = new StringBuilder();
+            if ( i < firstLeaf ) { // Choice.
+                scene.append( "<scene type=\"choice\">\n" );
+                scene.append( element( "filename", SCENE_FILE ) );
+                scene.append( "        <options>\n" );
+                for ( int j = 1; j <= branching; j++ ) {
+
+                    scene.append( "            <option>\n" );
+                    scene.append( "                <text>Option " + j + "</text>\n" );
+                    scene.append( "                <target>" + sceneID( code, i * branching + j ) + "</target>\n" );
+                    scene.append( "            </option>\n" );
+
+                }
+                scene.append( "        </options>\n" );
+            } else { // Ending.
+                scene.append( "<scene type=\"end\">\n" );
+                scene.append( element( "filename", SCENE_FILE ) );
+                scene.append( element( "code", String.valueOf( ( i - firstLeaf ) % endings + EndScene.MIN_CODE ) ) );
+            }
+            scene.append( "    </scene>\n" );
+            write( sceneFolder, scene.toString(), sceneID( code, i ) );
+            Files.write( sceneFolder.resolve( SCENE_FILE ), text.getBytes( StandardCharsets.UTF_8 ) );
+
+        }
+
+        for ( int i = 0; i < endings; i++ ) { // Writes an Achievement for each ending.
+
+            int endCode = i + EndScene.MIN_CODE;
+            write( storyFolder.resolve( code + "-" + endCode ), "<achievement>\n"
+                    + element( "storyCode", String.valueOf( code ) )
+                    + element( "endCode", String.valueOf( endCode ) )
+                    + element( "title", "Ending " + code + "-" + endCode )
+                    + element( "text", "Reached ending " + endCode + " of story " + code + "." )
+                    + "    </achievement>\n", code + "-" + endCode );
+
+        }
+
+    }
+
+    /**
+     * Calculates the amount of Scenes in a story of the given depth.
+     *
+     * @param depth The depth of the story. If negative, the story is empty.
+     * @return The amount of Scenes.
+     */
+    private int countScenes( int depth ) {
+
+        int scenes = 0;
+        int level = 1;
+        for ( int i = 0; i <= depth; i++ ) {
+
+            scenes += level;
+            level *= branching;
+
+        }
+        return scenes;
+
+    }
+
+    /**
+     * Makes the text used for each Scene, broken into lines.
+     *
+     * @return The text.
+     */
+    private String makeText() {
+
+        StringBuilder text = new StringBuilder( textLength );
+        int lineStart = 0;
+        while ( text.length() < textLength ) {
+
+            if ( text.length() - lineStart + FILLER.length() > LINE_LENGTH ) { // Line is full.
+                text.append( '\n' );
+                lineStart = text.length();
+            }
+            text.append( FILLER );
+
+        }
+        text.setLength( textLength );
+        return text.toString();
+
+    }
+
+    /**
+     * Makes a single-value element of a resource type element.
+     *
+     * @param name The name of the element.
+     * @param value The value of the element.
+     * @return The element.
+     */
+    private static String element( String name, String value ) {
+
+        return "        <" + name + ">" + value + "</" + name + ">\n";
+
+    }
+
+    /**
+     * Writes a resource file.
+     *
+     * @param folder The folder to place the file in. It is created if it doesn't exist.
+     * @param typeElement The resource type element.
+     * @param id The ID of the resource.
+     * @throws IOException if an error occurred while writing.
+     */
+    private static void write( Path folder, String typeElement, String id ) throws IOException {
+
+        Files.createDirectories( folder );
+        try ( Writer out = Files.newBufferedWriter( folder.resolve( ResourceLoader.RESOURCE_IDENTIFIER ),
+                StandardCharsets.UTF_8 ) ) {
+
+            out.write( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n\n" );
+            out.write( "<resource id=\"" + id + "\">\n\n    " );
+            out.write( typeElement );
+            out.write( "\n</resource>\n" );
+
+        }
+
+    }
+
+}